@@ -64,4 +64,10 @@ gulp.task('default', function () {
   .pipe(uglify())
   .pipe(concat('pjax.min.js'))
   .pipe(gulp.dest('./src/main/webapp/js/lib/compress/'));
+
+  // min admin js
+  gulp.src('./src/main/webapp/js/admin/latkeAdmin.js')
+  .pipe(uglify({mangle: false}))
+  .pipe(concat('latkeAdmin.min.js'))
+  .pipe(gulp.dest('./src/main/webapp/js/admin/'));
 });
\ No newline at end of file
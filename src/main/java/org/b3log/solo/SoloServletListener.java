@@ -32,12 +32,15 @@ import org.b3log.latke.servlet.AbstractServletListener;
 import org.b3log.latke.util.Requests;
 import org.b3log.latke.util.Stopwatchs;
 import org.b3log.latke.util.Strings;
-import org.b3log.latke.util.freemarker.Templates;
+import org.b3log.solo.event.AsyncEventListener;
+import org.b3log.solo.event.EventTypes;
 import org.b3log.solo.event.comment.ArticleCommentReplyNotifier;
 import org.b3log.solo.event.comment.PageCommentReplyNotifier;
+import org.b3log.solo.event.feed.FeedCacheCleaner;
 import org.b3log.solo.event.plugin.PluginRefresher;
 import org.b3log.solo.event.rhythm.ArticleSender;
 import org.b3log.solo.event.rhythm.ArticleUpdater;
+import org.b3log.solo.event.sitemap.SitemapUpdater;
 import org.b3log.solo.event.symphony.CommentSender;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Skin;
@@ -52,7 +55,6 @@ import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletRequestEvent;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionEvent;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
@@ -62,7 +64,7 @@ import java.util.concurrent.locks.ReentrantLock;
  * Solo Servlet listener.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.9.3.35, Jul 31, 2018
+ * @version 1.9.4.1, Oct 19, 2026
  * @since 0.3.1
  */
 public final class SoloServletListener extends AbstractServletListener {
@@ -83,9 +85,10 @@ public final class SoloServletListener extends AbstractServletListener {
     private LatkeBeanManager beanManager;
 
     /**
-     * Request lock.
+     * Request lock, requests changing data (methods other than GET and HEAD) are handled one at a time, reading
+     * requests are handled concurrently.
      */
-    private Lock requestLock = new ReentrantLock();
+    private final Lock requestLock = new ReentrantLock();
 
     @Override
     public void contextInitialized(final ServletContextEvent servletContextEvent) {
@@ -127,6 +130,10 @@ public final class SoloServletListener extends AbstractServletListener {
         final PluginManager pluginManager = beanManager.getReference(PluginManager.class);
         pluginManager.load();
 
+        // Warms the sitemap cache up
+        final SitemapMgmtService sitemapMgmtService = beanManager.getReference(SitemapMgmtService.class);
+        sitemapMgmtService.buildAsync();
+
         LOGGER.info("Solo is running [" + Latkes.getServePath() + "]");
 
         Stopwatchs.end();
@@ -137,6 +144,8 @@ public final class SoloServletListener extends AbstractServletListener {
     public void contextDestroyed(final ServletContextEvent servletContextEvent) {
         super.contextDestroyed(servletContextEvent);
 
+        AsyncEventListener.shutdown();
+
         LOGGER.info("Destroyed the context");
     }
 
@@ -151,9 +160,11 @@ public final class SoloServletListener extends AbstractServletListener {
 
     @Override
     public void requestInitialized(final ServletRequestEvent servletRequestEvent) {
-        requestLock.lock();
-
         final HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequestEvent.getServletRequest();
+        if (isSerialized(httpServletRequest)) {
+            requestLock.lock();
+        }
+
         Requests.log(httpServletRequest, Level.DEBUG, LOGGER);
 
         final String requestURI = httpServletRequest.getRequestURI();
@@ -162,11 +173,10 @@ public final class SoloServletListener extends AbstractServletListener {
             LOGGER.log(Level.DEBUG, "Request made from a search engine[User-Agent={0}]", httpServletRequest.getHeader("User-Agent"));
             httpServletRequest.setAttribute(Keys.HttpRequest.IS_SEARCH_ENGINE_BOT, true);
         } else {
-            // Gets the session of this request
-            final HttpSession session = httpServletRequest.getSession();
-
-            LOGGER.log(Level.DEBUG, "Gets a session[id={0}, remoteAddr={1}, User-Agent={2}, isNew={3}]", session.getId(),
-                    httpServletRequest.getRemoteAddr(), httpServletRequest.getHeader("User-Agent"), session.isNew());
+            // Do not create sessions for anonymous readers, sessions are created only on login, article view password
+            // submits and so on, online visitors and skin preference are tracked without session
+            LOGGER.log(Level.DEBUG, "Visitor [remoteAddr={0}, User-Agent={1}]",
+                    httpServletRequest.getRemoteAddr(), httpServletRequest.getHeader("User-Agent"));
             // Online visitor count
             final StatisticMgmtService statisticMgmtService = beanManager.getReference(StatisticMgmtService.class);
 
@@ -186,10 +196,24 @@ public final class SoloServletListener extends AbstractServletListener {
 
             super.requestDestroyed(servletRequestEvent);
         } finally {
-            requestLock.unlock();
+            if (isSerialized((HttpServletRequest) servletRequestEvent.getServletRequest())) {
+                requestLock.unlock();
+            }
         }
     }
 
+    /**
+     * Determines whether the specified request should be handled under the request lock.
+     *
+     * @param request the specified request
+     * @return {@code true} if the request may change data, returns {@code false} otherwise
+     */
+    private static boolean isSerialized(final HttpServletRequest request) {
+        final String method = request.getMethod();
+
+        return !"GET".equals(method) && !"HEAD".equals(method);
+    }
+
     /**
      * Loads preference.
      * <p>
@@ -236,18 +260,25 @@ public final class SoloServletListener extends AbstractServletListener {
         try {
             final EventManager eventManager = beanManager.getReference(EventManager.class);
 
-            // Comment
+            // Comment, delivered synchronously since the notifiers write the outbox in the caller's transaction
             eventManager.registerListener(new ArticleCommentReplyNotifier());
             eventManager.registerListener(new PageCommentReplyNotifier());
 
             // Article
             // eventManager.registerListener(new AddArticleGoogleBlogSearchPinger());
             // eventManager.registerListener(new UpdateArticleGoogleBlogSearchPinger());
+            eventManager.registerListener(new SitemapUpdater(EventTypes.ADD_ARTICLE));
+            eventManager.registerListener(new SitemapUpdater(EventTypes.UPDATE_ARTICLE));
+            eventManager.registerListener(new SitemapUpdater(EventTypes.REMOVE_ARTICLE));
+            eventManager.registerListener(new FeedCacheCleaner(EventTypes.ADD_ARTICLE));
+            eventManager.registerListener(new FeedCacheCleaner(EventTypes.UPDATE_ARTICLE));
+            eventManager.registerListener(new FeedCacheCleaner(EventTypes.REMOVE_ARTICLE));
             // Plugin
             eventManager.registerListener(new PluginRefresher());
             eventManager.registerListener(new ViewLoadEventHandler());
 
-            // Sync
+            // Sync, delivered synchronously since these listeners only queue the pushes into the bounded and debounced
+            // queue of SyncMgmtService, which sends them in background, see AsyncEventListener for the slow listeners
             eventManager.registerListener(new ArticleSender());
             eventManager.registerListener(new ArticleUpdater());
             eventManager.registerListener(new CommentSender());
@@ -276,8 +307,6 @@ public final class SoloServletListener extends AbstractServletListener {
                     final Set<String> skinDirNames = Skins.getSkinDirNames();
 
                     if (skinDirNames.contains(skin)) {
-                        Templates.MAIN_CFG.setServletContextForTemplateLoading(SoloServletListener.getServletContext(),
-                                "/skins/" + skin);
                         httpServletRequest.setAttribute(Keys.TEMAPLTE_DIR_NAME, skin);
 
                         return;
@@ -304,7 +333,6 @@ public final class SoloServletListener extends AbstractServletListener {
                 LOGGER.log(Level.DEBUG, "The request [URI={0}] via mobile device", requestURI);
             }
 
-            Templates.MAIN_CFG.setServletContextForTemplateLoading(SoloServletListener.getServletContext(), "/skins/" + desiredView);
             httpServletRequest.setAttribute(Keys.TEMAPLTE_DIR_NAME, desiredView);
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Resolves skin failed", e);
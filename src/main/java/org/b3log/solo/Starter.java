@@ -22,14 +22,21 @@ import org.b3log.latke.Latkes;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.util.Strings;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.BlockingArrayQueue;
 import org.eclipse.jetty.util.log.Log;
 import org.eclipse.jetty.util.log.Slf4jLog;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.webapp.WebAppContext;
 
 import java.awt.*;
 import java.io.File;
 import java.net.URI;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
 
 /**
  * Solo with embedded Jetty, <a href="https://github.com/b3log/solo/issues/12037">standalone mode</a>.
@@ -37,9 +44,17 @@ import java.net.URI;
  * <li>Windows: java -cp "WEB-INF/lib/*;WEB-INF/classes" org.b3log.solo.Starter</li>
  * <li>Unix-like: java -cp "WEB-INF/lib/*:WEB-INF/classes" org.b3log.solo.Starter</li>
  * </ul>
+ * <p>
+ * The worker thread pool, connector and timeouts of Jetty could be tuned by command line options, the options not
+ * specified fall back to the jetty.* configurations in solo.properties, then Jetty defaults.
+ * </p>
+ * <p>
+ * Reading requests (GET and HEAD) are handled concurrently by the worker threads, requests changing data are
+ * serialized by {@link SoloServletListener}.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.12, Apr 5, 2018
+ * @version 1.2.0.2, Oct 19, 2026
  * @since 1.2.0
  */
 public final class Starter {
@@ -100,6 +115,38 @@ public final class Starter {
                 .hasArg().desc("runtime mode (DEVELOPMENT/PRODUCTION), default is DEVELOPMENT").build();
         options.addOption(runtimeModeOpt);
 
+        final Option minThreadsOpt = Option.builder("mint").longOpt("min_threads").argName("MIN_THREADS")
+                .hasArg().desc("min worker threads, default is 8").build();
+        options.addOption(minThreadsOpt);
+
+        final Option maxThreadsOpt = Option.builder("maxt").longOpt("max_threads").argName("MAX_THREADS")
+                .hasArg().desc("max worker threads, default is 200").build();
+        options.addOption(maxThreadsOpt);
+
+        final Option maxQueuedOpt = Option.builder("mq").longOpt("max_queued").argName("MAX_QUEUED")
+                .hasArg().desc("max queued jobs of worker threads, 0 is unbounded, default is 0").build();
+        options.addOption(maxQueuedOpt);
+
+        final Option threadIdleTimeoutOpt = Option.builder("tit").longOpt("thread_idle_timeout").argName("THREAD_IDLE_TIMEOUT")
+                .hasArg().desc("idle timeout (ms) of worker threads, default is 60000").build();
+        options.addOption(threadIdleTimeoutOpt);
+
+        final Option acceptorsOpt = Option.builder("ac").longOpt("acceptors").argName("ACCEPTORS")
+                .hasArg().desc("acceptor threads, default is decided by CPU cores").build();
+        options.addOption(acceptorsOpt);
+
+        final Option selectorsOpt = Option.builder("se").longOpt("selectors").argName("SELECTORS")
+                .hasArg().desc("selector threads, default is decided by CPU cores").build();
+        options.addOption(selectorsOpt);
+
+        final Option acceptQueueSizeOpt = Option.builder("aqs").longOpt("accept_queue_size").argName("ACCEPT_QUEUE_SIZE")
+                .hasArg().desc("backlog of pending connections, default is decided by OS").build();
+        options.addOption(acceptQueueSizeOpt);
+
+        final Option idleTimeoutOpt = Option.builder("it").longOpt("idle_timeout").argName("IDLE_TIMEOUT")
+                .hasArg().desc("idle timeout (ms) of connections, default is 30000").build();
+        options.addOption(idleTimeoutOpt);
+
         options.addOption("h", "help", false, "print help for the command");
         options.addOption("no", "not_open", false, "not auto open in the browser");
 
@@ -158,7 +205,40 @@ public final class Starter {
 
         final int port = Integer.valueOf(portArg);
 
-        final Server server = new Server(port);
+        final ResourceBundle solo = getSoloBundle();
+        final int minThreads = getIntOption(commandLine, "min_threads", solo, "jetty.minThreads", 8);
+        final int maxThreads = Math.max(minThreads, getIntOption(commandLine, "max_threads", solo, "jetty.maxThreads", 200));
+        final int maxQueued = getIntOption(commandLine, "max_queued", solo, "jetty.maxQueued", 0);
+        final int threadIdleTimeout = getIntOption(commandLine, "thread_idle_timeout", solo, "jetty.threadIdleTimeout", 60000);
+        final int acceptors = getIntOption(commandLine, "acceptors", solo, "jetty.acceptors", -1);
+        final int selectors = getIntOption(commandLine, "selectors", solo, "jetty.selectors", -1);
+        final int acceptQueueSize = getIntOption(commandLine, "accept_queue_size", solo, "jetty.acceptQueueSize", 0);
+        final int idleTimeout = getIntOption(commandLine, "idle_timeout", solo, "jetty.idleTimeout", 30000);
+
+        // A bounded queue rejects jobs when full, so overload sheds requests instead of piling up latency. The initial
+        // capacity must not exceed the max capacity
+        final QueuedThreadPool threadPool = 0 < maxQueued
+                ? new QueuedThreadPool(maxThreads, minThreads, threadIdleTimeout,
+                new BlockingArrayQueue<>(Math.min(minThreads, maxQueued), minThreads, maxQueued))
+                : new QueuedThreadPool(maxThreads, minThreads, threadIdleTimeout);
+        threadPool.setName("solo-http");
+        final Server server = new Server(threadPool);
+
+        final HttpConfiguration httpConfiguration = new HttpConfiguration();
+        httpConfiguration.setSendServerVersion(false);
+        final ServerConnector connector = new ServerConnector(server, acceptors, selectors,
+                new HttpConnectionFactory(httpConfiguration));
+        connector.setPort(port);
+        connector.setIdleTimeout(idleTimeout);
+        connector.setAcceptQueueSize(acceptQueueSize);
+        server.addConnector(connector);
+
+        logger.log(Level.INFO, "Jetty [port={0}, threads={1}-{2}, maxQueued={3}, threadIdleTimeout={4}ms, acceptors={5}, "
+                        + "selectors={6}, acceptQueueSize={7}, idleTimeout={8}ms]", port, minThreads, maxThreads,
+                0 < maxQueued ? maxQueued : "unbounded", threadIdleTimeout, connector.getAcceptors(),
+                connector.getSelectorManager().getSelectorCount(), 0 < acceptQueueSize ? acceptQueueSize : "OS default",
+                idleTimeout);
+
         final WebAppContext root = new WebAppContext();
         root.setParentLoaderPriority(true); // Use parent class loader
         root.setContextPath("/");
@@ -199,4 +279,50 @@ public final class Starter {
 
         server.join();
     }
+
+    /**
+     * Gets the int value of the specified option, falls back to the specified configuration key in solo.properties,
+     * then the specified default value.
+     *
+     * @param commandLine  the specified command line
+     * @param option       the specified option long name
+     * @param solo         the specified solo.properties bundle, may be {@code null}
+     * @param key          the specified configuration key
+     * @param defaultValue the specified default value
+     * @return int value
+     */
+    private static int getIntOption(final CommandLine commandLine, final String option, final ResourceBundle solo,
+                                    final String key, final int defaultValue) {
+        String value = commandLine.getOptionValue(option);
+        if (null == value && null != solo && solo.containsKey(key)) {
+            value = solo.getString(key);
+        }
+
+        if (null == value || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+
+        value = value.trim();
+        try {
+            return Integer.parseInt(value);
+        } catch (final NumberFormatException e) {
+            Logger.getLogger(Starter.class).log(Level.WARN, "Invalid value [{0}] of option [{1}], uses default [{2}]",
+                    value, option, defaultValue);
+
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets the solo.properties bundle.
+     *
+     * @return solo.properties bundle, returns {@code null} if not found
+     */
+    private static ResourceBundle getSoloBundle() {
+        try {
+            return ResourceBundle.getBundle("solo");
+        } catch (final MissingResourceException e) {
+            return null;
+        }
+    }
 }
@@ -68,7 +68,7 @@ import java.util.List;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.17, Aug 2, 2018
+ * @version 1.0.0.18, Oct 19, 2026
  * @since 0.4.0
  */
 @RequestProcessor
@@ -178,6 +178,12 @@ public class MetaWeblogAPI {
     @Inject
     private ArticleMgmtService articleMgmtService;
 
+    /**
+     * Sitemap management service.
+     */
+    @Inject
+    private SitemapMgmtService sitemapMgmtService;
+
     /**
      * Article repository.
      */
@@ -307,8 +313,10 @@ public class MetaWeblogAPI {
     private void addArticle(final JSONObject article) throws Exception {
         final Transaction transaction = articleRepository.beginTransaction();
         try {
-            articleMgmtService.addArticleInternal(article);
+            final String articleId = articleMgmtService.addArticleInternal(article);
             transaction.commit();
+
+            sitemapMgmtService.articleCommitted(articleId);
         } catch (final ServiceException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -40,6 +40,7 @@ import org.b3log.solo.repository.ArticleRepository;
 import org.b3log.solo.repository.CommentRepository;
 import org.b3log.solo.service.ArticleMgmtService;
 import org.b3log.solo.service.CommentMgmtService;
+import org.b3log.solo.service.OutboxMgmtService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.StatisticMgmtService;
 import org.b3log.solo.util.Comments;
@@ -55,7 +56,7 @@ import java.util.Date;
  * Comment receiver (from B3log Symphony).
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.15, Aug 2, 2018
+ * @version 1.1.2.0, Oct 19, 2026
  * @since 0.5.5
  */
 @RequestProcessor
@@ -108,6 +109,12 @@ public class CommentReceiver {
     @Inject
     private StatisticMgmtService statisticMgmtService;
 
+    /**
+     * Outbox management service.
+     */
+    @Inject
+    private OutboxMgmtService outboxMgmtService;
+
     /**
      * Adds a comment with the specified request.
      * <p>
@@ -252,6 +259,7 @@ public class CommentReceiver {
             eventManager.fireEventSynchronously(new Event<JSONObject>(EventTypes.ADD_COMMENT_TO_ARTICLE_FROM_SYMPHONY, eventData));
 
             transaction.commit();
+            outboxMgmtService.dispatchAsync();
             ret.put(Keys.STATUS_CODE, true);
             ret.put(Keys.OBJECT_ID, commentId);
 
@@ -0,0 +1,84 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.solo.util.CachedContent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feed cache, holds the serialized Atom/RSS feeds (the blog feeds and the per-tag feeds).
+ * <p>
+ * Feeds are cleared whenever an article is published, updated or unpublished, or the preference or users change,
+ * see {@link org.b3log.solo.event.feed.FeedCacheCleaner}. The feeds of a tag are removed when the tag is removed.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+@Named
+@Singleton
+public class FeedCache {
+
+    /**
+     * Feeds, &lt;key, feed&gt;.
+     */
+    private final Map<String, CachedContent> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a feed by the specified key.
+     *
+     * @param key the specified key, for example "/blog-articles-feed.do", "/tag-articles-rss.do?oId=xxx"
+     * @return feed, returns {@code null} if not cached
+     */
+    public CachedContent getFeed(final String key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Adds or updates the specified feed with the specified key.
+     *
+     * @param key  the specified key
+     * @param feed the specified feed
+     */
+    public void putFeed(final String key, final CachedContent feed) {
+        cache.put(key, feed);
+    }
+
+    /**
+     * Removes the feeds of the tag specified by the given tag id.
+     *
+     * @param tagId the given tag id
+     */
+    public void removeTagFeeds(final String tagId) {
+        final String suffix = "?" + Keys.OBJECT_ID + "=" + tagId;
+        cache.keySet().removeIf(key -> key.endsWith(suffix));
+    }
+
+    /**
+     * Clears all feeds.
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
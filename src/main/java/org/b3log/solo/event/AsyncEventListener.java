@@ -0,0 +1,384 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.event;
+
+import org.b3log.latke.event.AbstractEventListener;
+import org.b3log.latke.event.Event;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous event listener wrapper.
+ * <p>
+ * Listeners registered directly to the event manager are delivered synchronously in the caller's thread (and
+ * transaction). Wrapping a listener with this class hands the event to a per-listener worker thread through a
+ * bounded queue, so slow listeners (outbound HTTP for example) no longer add to write latency. The event data is
+ * snapshotted before the handoff, the wrapped listener must not rely on the caller's transaction or mutate the
+ * caller's objects.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class AsyncEventListener extends AbstractEventListener<JSONObject> {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(AsyncEventListener.class);
+
+    /**
+     * Registered asynchronous listeners.
+     */
+    private static final List<AsyncEventListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Watchdog interrupting listener actions which run out of time.
+     */
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread ret = new Thread(r, "EventListenerWatchdog");
+        ret.setDaemon(true);
+
+        return ret;
+    });
+
+    /**
+     * Backpressure policy applied when the queue of a listener is full.
+     */
+    public enum Backpressure {
+
+        /**
+         * Drops the incoming event.
+         */
+        DISCARD_NEWEST,
+
+        /**
+         * Drops the oldest queued event and enqueues the incoming one.
+         */
+        DISCARD_OLDEST,
+
+        /**
+         * Runs the incoming event synchronously in the caller's thread.
+         */
+        CALLER_RUNS
+    }
+
+    /**
+     * Wrapped listener.
+     */
+    private final AbstractEventListener<JSONObject> listener;
+
+    /**
+     * Action timeout in milliseconds.
+     */
+    private final long timeout;
+
+    /**
+     * Backpressure policy.
+     */
+    private final Backpressure backpressure;
+
+    /**
+     * Worker.
+     */
+    private final ThreadPoolExecutor worker;
+
+    /**
+     * Count of accepted events.
+     */
+    private final AtomicLong submitted = new AtomicLong();
+
+    /**
+     * Count of completed actions.
+     */
+    private final AtomicLong completed = new AtomicLong();
+
+    /**
+     * Count of failed actions.
+     */
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Count of dropped events.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Count of timed out actions.
+     */
+    private final AtomicLong timedOut = new AtomicLong();
+
+    /**
+     * Count of events run in the caller's thread because of backpressure.
+     */
+    private final AtomicLong callerRuns = new AtomicLong();
+
+    /**
+     * Constructs an asynchronous listener with the specified wrapped listener, queue capacity, timeout and
+     * backpressure policy.
+     *
+     * @param listener      the specified wrapped listener
+     * @param queueCapacity the specified queue capacity
+     * @param timeout       the specified action timeout in milliseconds
+     * @param backpressure  the specified backpressure policy
+     */
+    public AsyncEventListener(final AbstractEventListener<JSONObject> listener, final int queueCapacity,
+                              final long timeout, final Backpressure backpressure) {
+        this.listener = listener;
+        this.timeout = timeout;
+        this.backpressure = backpressure;
+
+        final String name = "EventListener-" + listener.getClass().getSimpleName();
+        worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), r -> {
+            final Thread ret = new Thread(r, name);
+            ret.setDaemon(true);
+
+            return ret;
+        }, this::reject);
+
+        LISTENERS.add(this);
+    }
+
+    @Override
+    public void action(final Event<JSONObject> event) {
+        final Event<JSONObject> snapshot = new Event<>(event.getType(), copy(event.getData()));
+
+        submitted.incrementAndGet();
+        worker.execute(new Action(snapshot, true));
+    }
+
+    @Override
+    public String getEventType() {
+        return listener.getEventType();
+    }
+
+    /**
+     * Gets the metrics of this listener.
+     *
+     * @return metrics, for example <pre>
+     * {
+     *     "listener": "ArticleSender",
+     *     "eventType": "Add Article",
+     *     "queued": 0,
+     *     "submitted": 12,
+     *     "completed": 11,
+     *     "failed": 0,
+     *     "dropped": 1,
+     *     "timedOut": 0,
+     *     "callerRuns": 0
+     * }
+     * </pre>
+     */
+    public JSONObject getMetrics() {
+        return new JSONObject().
+                put("listener", listener.getClass().getSimpleName()).
+                put("eventType", getEventType()).
+                put("queued", worker.getQueue().size()).
+                put("submitted", submitted.get()).
+                put("completed", completed.get()).
+                put("failed", failed.get()).
+                put("dropped", dropped.get()).
+                put("timedOut", timedOut.get()).
+                put("callerRuns", callerRuns.get());
+    }
+
+    /**
+     * Gets the metrics of all asynchronous listeners.
+     *
+     * @return metrics array, each element see {@link #getMetrics()}
+     */
+    public static JSONArray getAllMetrics() {
+        final JSONArray ret = new JSONArray();
+        for (final AsyncEventListener asyncListener : LISTENERS) {
+            ret.put(asyncListener.getMetrics());
+        }
+
+        return ret;
+    }
+
+    /**
+     * Shutdowns all asynchronous listeners, queued events are still delivered.
+     */
+    public static void shutdown() {
+        for (final AsyncEventListener asyncListener : LISTENERS) {
+            asyncListener.worker.shutdown();
+        }
+        for (final AsyncEventListener asyncListener : LISTENERS) {
+            try {
+                if (!asyncListener.worker.awaitTermination(asyncListener.timeout, TimeUnit.MILLISECONDS)) {
+                    asyncListener.worker.shutdownNow();
+                }
+            } catch (final InterruptedException e) {
+                asyncListener.worker.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        LISTENERS.clear();
+        WATCHDOG.shutdownNow();
+    }
+
+    /**
+     * Applies the backpressure policy on the specified rejected action.
+     *
+     * @param action   the specified rejected action
+     * @param executor the worker
+     */
+    private void reject(final Runnable action, final ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            dropped.incrementAndGet();
+            LOGGER.log(Level.WARN, "Listener [{0}] has been shutdown, drops an event", listener.getClass().getName());
+
+            return;
+        }
+
+        switch (backpressure) {
+            case DISCARD_OLDEST:
+                final Runnable oldest = executor.getQueue().poll();
+                if (null != oldest) {
+                    dropped.incrementAndGet();
+                    LOGGER.log(Level.WARN, "Queue of listener [{0}] is full, drops the oldest event", listener.getClass().getName());
+                }
+                executor.execute(action);
+
+                break;
+            case CALLER_RUNS:
+                callerRuns.incrementAndGet();
+                LOGGER.log(Level.WARN, "Queue of listener [{0}] is full, runs the event in the caller thread", listener.getClass().getName());
+                new Action(((Action) action).event, false).run();
+
+                break;
+            default:
+                dropped.incrementAndGet();
+                LOGGER.log(Level.WARN, "Queue of listener [{0}] is full, drops the event", listener.getClass().getName());
+        }
+    }
+
+    /**
+     * Copies the specified event data, nested JSON objects are copied as well so the caller could go on modifying
+     * its objects. Other values (dates, arrays, etc) are shared.
+     *
+     * @param data the specified event data
+     * @return copied data
+     */
+    private static JSONObject copy(final JSONObject data) {
+        if (null == data) {
+            return null;
+        }
+
+        final JSONObject ret = new JSONObject();
+        final Iterator<String> keys = data.keys();
+        while (keys.hasNext()) {
+            final String key = keys.next();
+            final Object value = data.opt(key);
+            ret.put(key, value instanceof JSONObject ? copy((JSONObject) value) : value);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Action delivering an event to the wrapped listener.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.1, Oct 19, 2026
+     * @since 2.9.3
+     */
+    private final class Action implements Runnable {
+
+        /**
+         * Event.
+         */
+        private final Event<JSONObject> event;
+
+        /**
+         * Whether watches the timeout.
+         */
+        private final boolean watched;
+
+        /**
+         * Whether the wrapped listener is processing the event, guarded by this action. The watchdog interrupts the
+         * worker only while it is set, so a late watchdog never interrupts the next action.
+         */
+        private boolean running;
+
+        /**
+         * Constructs an action with the specified event.
+         *
+         * @param event   the specified event
+         * @param watched whether watches the timeout, the caller thread must not be interrupted
+         */
+        private Action(final Event<JSONObject> event, final boolean watched) {
+            this.event = event;
+            this.watched = watched;
+        }
+
+        @Override
+        public void run() {
+            final Thread thread = Thread.currentThread();
+            final long start = System.currentTimeMillis();
+            synchronized (this) {
+                running = true;
+            }
+            final ScheduledFuture<?> watchdog = watched
+                    ? WATCHDOG.schedule(() -> {
+                        synchronized (this) {
+                            if (!running) {
+                                return;
+                            }
+
+                            timedOut.incrementAndGet();
+                            LOGGER.log(Level.WARN, "Listener [{0}] runs out of time [{1}ms], interrupts it",
+                                    listener.getClass().getName(), timeout);
+                            thread.interrupt();
+                        }
+                    }, timeout, TimeUnit.MILLISECONDS)
+                    : null;
+            try {
+                listener.action(event);
+                completed.incrementAndGet();
+            } catch (final Exception e) {
+                failed.incrementAndGet();
+                LOGGER.log(Level.ERROR, "Listener [" + listener.getClass().getName() + "] processes event failed", e);
+            } finally {
+                synchronized (this) {
+                    running = false;
+                }
+
+                if (null != watchdog) {
+                    watchdog.cancel(false);
+                    Thread.interrupted(); // Clears the interrupted status set by the watchdog if any
+
+                    // Releases the connection bound to the worker thread by the wrapped listener's repository reads
+                    JdbcRepository.dispose();
+                }
+
+                LOGGER.log(Level.DEBUG, "Listener [{0}] processed an event [type={1}] in [{2}ms]",
+                        listener.getClass().getName(), event.getType(), System.currentTimeMillis() - start);
+            }
+        }
+    }
+}
@@ -25,9 +25,7 @@ import org.b3log.latke.ioc.LatkeBeanManager;
 import org.b3log.latke.ioc.Lifecycle;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.mail.MailService;
 import org.b3log.latke.mail.MailService.Message;
-import org.b3log.latke.mail.MailServiceFactory;
 import org.b3log.latke.util.Strings;
 import org.b3log.solo.event.EventTypes;
 import org.b3log.solo.model.Article;
@@ -35,6 +33,7 @@ import org.b3log.solo.model.Comment;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.repository.CommentRepository;
 import org.b3log.solo.repository.impl.CommentRepositoryImpl;
+import org.b3log.solo.service.OutboxMgmtService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.util.Mails;
 import org.json.JSONObject;
@@ -44,7 +43,7 @@ import org.json.JSONObject;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://www.wanglay.com">Lei Wang</a>
- * @version 1.2.2.10, Aug 2, 2018
+ * @version 1.2.3.0, Oct 19, 2026
  * @since 0.3.1
  */
 public final class ArticleCommentReplyNotifier extends AbstractEventListener<JSONObject> {
@@ -54,11 +53,6 @@ public final class ArticleCommentReplyNotifier extends AbstractEventListener<JSO
      */
     private static final Logger LOGGER = Logger.getLogger(ArticleCommentReplyNotifier.class);
 
-    /**
-     * Mail service.
-     */
-    private MailService mailService = MailServiceFactory.getMailService();
-
     @Override
     public void action(final Event<JSONObject> event) {
         final JSONObject eventData = event.getData();
@@ -86,6 +80,7 @@ public final class ArticleCommentReplyNotifier extends AbstractEventListener<JSO
 
         final LatkeBeanManager beanManager = Lifecycle.getBeanManager();
         final PreferenceQueryService preferenceQueryService = beanManager.getReference(PreferenceQueryService.class);
+        final OutboxMgmtService outboxMgmtService = beanManager.getReference(OutboxMgmtService.class);
         final CommentRepository commentRepository = beanManager.getReference(CommentRepositoryImpl.class);
 
         try {
@@ -152,7 +147,7 @@ public final class ArticleCommentReplyNotifier extends AbstractEventListener<JSO
             LOGGER.log(Level.DEBUG, "Sending a mail[mailSubject={0}, mailBody=[{1}] to [{2}]",
                     mailSubject, mailBody, originalCommentEmail);
 
-            mailService.send(message);
+            outboxMgmtService.addMail(message); // Sends after the comment transaction committed
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, e.getMessage(), e);
         }
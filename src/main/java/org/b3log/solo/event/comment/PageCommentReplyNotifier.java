@@ -26,9 +26,7 @@ import org.b3log.latke.ioc.LatkeBeanManager;
 import org.b3log.latke.ioc.Lifecycle;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.mail.MailService;
 import org.b3log.latke.mail.MailService.Message;
-import org.b3log.latke.mail.MailServiceFactory;
 import org.b3log.latke.util.Strings;
 import org.b3log.solo.event.EventTypes;
 import org.b3log.solo.model.Comment;
@@ -36,6 +34,7 @@ import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Page;
 import org.b3log.solo.repository.CommentRepository;
 import org.b3log.solo.repository.impl.CommentRepositoryImpl;
+import org.b3log.solo.service.OutboxMgmtService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.util.Mails;
 import org.json.JSONObject;
@@ -44,7 +43,7 @@ import org.json.JSONObject;
  * This listener is responsible for processing page comment reply.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.2.5, Apr 15, 2018
+ * @version 1.0.3.0, Oct 19, 2026
  * @since 0.3.1
  */
 public final class PageCommentReplyNotifier extends AbstractEventListener<JSONObject> {
@@ -54,11 +53,6 @@ public final class PageCommentReplyNotifier extends AbstractEventListener<JSONOb
      */
     private static final Logger LOGGER = Logger.getLogger(PageCommentReplyNotifier.class);
 
-    /**
-     * Mail service.
-     */
-    private MailService mailService = MailServiceFactory.getMailService();
-
     @Override
     public void action(final Event<JSONObject> event) throws EventException {
         final JSONObject eventData = event.getData();
@@ -80,6 +74,7 @@ public final class PageCommentReplyNotifier extends AbstractEventListener<JSONOb
 
         final LatkeBeanManager beanManager = Lifecycle.getBeanManager();
         final PreferenceQueryService preferenceQueryService = beanManager.getReference(PreferenceQueryService.class);
+        final OutboxMgmtService outboxMgmtService = beanManager.getReference(OutboxMgmtService.class);
         final CommentRepository commentRepository = beanManager.getReference(CommentRepositoryImpl.class);
 
         try {
@@ -132,7 +127,7 @@ public final class PageCommentReplyNotifier extends AbstractEventListener<JSONOb
             LOGGER.log(Level.DEBUG, "Sending a mail[mailSubject={0}, mailBody=[{1}] to [{2}]",
                     mailSubject, mailBody, originalCommentEmail);
 
-            mailService.send(message);
+            outboxMgmtService.addMail(message); // Sends after the comment transaction committed
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, e.getMessage(), e);
 
@@ -0,0 +1,77 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.event.feed;
+
+import org.b3log.latke.event.AbstractEventListener;
+import org.b3log.latke.event.Event;
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.solo.cache.FeedCache;
+import org.b3log.solo.event.EventTypes;
+import org.json.JSONObject;
+
+/**
+ * This listener is responsible for clearing the cached feeds while adding, updating or removing an article.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @see FeedCache
+ * @since 2.9.3
+ */
+public final class FeedCacheCleaner extends AbstractEventListener<JSONObject> {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(FeedCacheCleaner.class);
+
+    /**
+     * Event type, one of {@link EventTypes#ADD_ARTICLE}, {@link EventTypes#UPDATE_ARTICLE} and
+     * {@link EventTypes#REMOVE_ARTICLE}.
+     */
+    private final String eventType;
+
+    /**
+     * Constructs a feed cache cleaner with the specified event type.
+     *
+     * @param eventType the specified event type
+     */
+    public FeedCacheCleaner(final String eventType) {
+        this.eventType = eventType;
+    }
+
+    @Override
+    public void action(final Event<JSONObject> event) {
+        LOGGER.log(Level.DEBUG, "Processing an event [type={0}] in listener [className={1}]",
+                event.getType(), FeedCacheCleaner.class.getName());
+
+        final FeedCache feedCache = Lifecycle.getBeanManager().getReference(FeedCache.class);
+        feedCache.clear();
+    }
+
+    /**
+     * Gets the event type.
+     *
+     * @return event type
+     */
+    @Override
+    public String getEventType() {
+        return eventType;
+    }
+}
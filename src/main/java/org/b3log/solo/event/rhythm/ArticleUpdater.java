@@ -17,7 +17,6 @@
  */
 package org.b3log.solo.event.rhythm;
 
-import jodd.http.HttpRequest;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.event.AbstractEventListener;
@@ -34,6 +33,7 @@ import org.b3log.solo.model.Article;
 import org.b3log.solo.model.Common;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.service.PreferenceQueryService;
+import org.b3log.solo.service.SyncMgmtService;
 import org.b3log.solo.util.Solos;
 import org.json.JSONObject;
 
@@ -46,7 +46,7 @@ import java.util.Date;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.3, Aug 2, 2018
+ * @version 1.0.2.0, Oct 19, 2026
  * @since 0.6.0
  */
 public final class ArticleUpdater extends AbstractEventListener<JSONObject> {
@@ -116,12 +116,14 @@ public final class ArticleUpdater extends AbstractEventListener<JSONObject> {
             requestJSONObject.put("clientAdminEmail", preference.optString(Option.ID_C_ADMIN_EMAIL));
             requestJSONObject.put("clientRuntimeEnv", "LOCAL");
 
-            HttpRequest.put(UPDATE_ARTICLE_URL).bodyText(requestJSONObject.toString()).contentTypeJson().sendAsync();
+            final SyncMgmtService syncMgmtService = beanManager.getReference(SyncMgmtService.class);
+            syncMgmtService.push("article-" + article.optString(Keys.OBJECT_ID), "PUT", UPDATE_ARTICLE_URL,
+                    requestJSONObject.toString(), SyncMgmtService.ARTICLE_DEBOUNCE);
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Sends an article to Rhythm error: {0}", e.getMessage());
         }
 
-        LOGGER.log(Level.DEBUG, "Sent an article to Rhythm");
+        LOGGER.log(Level.DEBUG, "Queued an article to Rhythm");
     }
 
     /**
@@ -0,0 +1,92 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.event.sitemap;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.event.AbstractEventListener;
+import org.b3log.latke.event.Event;
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.solo.event.EventTypes;
+import org.b3log.solo.model.Article;
+import org.b3log.solo.service.SitemapMgmtService;
+import org.json.JSONObject;
+
+/**
+ * This listener is responsible for updating the cached sitemaps while adding, updating or removing an article.
+ * <p>
+ * The add and update events are fired inside the saving transaction, they only mark the article changed, the sitemaps
+ * are rebuilt after commit by {@link SitemapMgmtService#articleCommitted(String)}.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @see SitemapMgmtService
+ * @since 2.9.3
+ */
+public final class SitemapUpdater extends AbstractEventListener<JSONObject> {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SitemapUpdater.class);
+
+    /**
+     * Event type, one of {@link EventTypes#ADD_ARTICLE}, {@link EventTypes#UPDATE_ARTICLE} and
+     * {@link EventTypes#REMOVE_ARTICLE}.
+     */
+    private final String eventType;
+
+    /**
+     * Constructs a sitemap updater with the specified event type.
+     *
+     * @param eventType the specified event type
+     */
+    public SitemapUpdater(final String eventType) {
+        this.eventType = eventType;
+    }
+
+    @Override
+    public void action(final Event<JSONObject> event) {
+        final JSONObject article = event.getData().optJSONObject(Article.ARTICLE);
+        if (null == article) {
+            return;
+        }
+
+        LOGGER.log(Level.DEBUG, "Processing an event [type={0}, articleId={1}] in listener [className={2}]",
+                event.getType(), article.optString(Keys.OBJECT_ID), SitemapUpdater.class.getName());
+
+        final SitemapMgmtService sitemapMgmtService = Lifecycle.getBeanManager().getReference(SitemapMgmtService.class);
+        if (EventTypes.REMOVE_ARTICLE.equals(eventType)) {
+            sitemapMgmtService.articleRemoved(article.optString(Keys.OBJECT_ID));
+        } else {
+            sitemapMgmtService.articleChanged(article.optString(Keys.OBJECT_ID));
+        }
+    }
+
+    /**
+     * Gets the event type.
+     *
+     * @return event type
+     */
+    @Override
+    public String getEventType() {
+        return eventType;
+    }
+}
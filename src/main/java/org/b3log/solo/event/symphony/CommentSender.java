@@ -17,7 +17,6 @@
  */
 package org.b3log.solo.event.symphony;
 
-import jodd.http.HttpRequest;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.event.AbstractEventListener;
@@ -34,6 +33,7 @@ import org.b3log.solo.event.rhythm.ArticleSender;
 import org.b3log.solo.model.Comment;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.service.PreferenceQueryService;
+import org.b3log.solo.service.SyncMgmtService;
 import org.b3log.solo.util.Solos;
 import org.json.JSONObject;
 
@@ -41,7 +41,7 @@ import org.json.JSONObject;
  * This listener is responsible for sending comment to B3log Symphony.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.2, Aug 2, 2018
+ * @version 1.0.2.0, Oct 19, 2026
  * @since 0.5.5
  */
 public final class CommentSender extends AbstractEventListener<JSONObject> {
@@ -96,12 +96,14 @@ public final class CommentSender extends AbstractEventListener<JSONObject> {
             requestJSONObject.put("clientAdminEmail", preference.optString(Option.ID_C_ADMIN_EMAIL));
             requestJSONObject.put("userB3Key", preference.optString(Option.ID_C_KEY_OF_SOLO));
 
-            HttpRequest.post(ADD_COMMENT_URL).bodyText(requestJSONObject.toString()).contentTypeJson().sendAsync();
+            final SyncMgmtService syncMgmtService = beanManager.getReference(SyncMgmtService.class);
+            syncMgmtService.push("comment-" + comment.optString("commentId"), "POST", ADD_COMMENT_URL,
+                    requestJSONObject.toString(), 0);
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Sends a comment to Symphony error: {0}", e.getMessage());
         }
 
-        LOGGER.log(Level.DEBUG, "Sent a comment to Symphony");
+        LOGGER.log(Level.DEBUG, "Queued a comment to Symphony");
     }
 
     /**
@@ -0,0 +1,130 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.filter;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.util.Strings;
+import org.b3log.solo.util.CachedContent;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * Response compression filter, compresses dynamic responses (HTML, JSON, feeds, sitemap) with gzip.
+ * <p>
+ * Init parameters:
+ * <ul>
+ * <li>mimeTypes: comma separated MIME types to compress</li>
+ * <li>minSize: minimum response size in bytes to compress, default is 1024</li>
+ * <li>level: deflate compression level (1 - 9), default is 6</li>
+ * </ul>
+ * A response is compressed only if the request accepts gzip and the response is not encoded already, so a response
+ * written from precompressed bytes (with its own Content-Encoding) is never compressed again.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class CompressionFilter implements Filter {
+
+    /**
+     * MIME types to compress.
+     */
+    private final Set<String> mimeTypes = new HashSet<>();
+
+    /**
+     * Minimum response size to compress.
+     */
+    private int minSize = 1024;
+
+    /**
+     * Compression level.
+     */
+    private int level = 6;
+
+    @Override
+    public void init(final FilterConfig filterConfig) throws ServletException {
+        final String mimeTypesParam = filterConfig.getInitParameter("mimeTypes");
+        final String types = StringUtils.isBlank(mimeTypesParam)
+                ? "text/html,text/xml,text/plain,application/json,application/xml,application/rss+xml,application/atom+xml"
+                : mimeTypesParam;
+        for (final String type : types.split(",")) {
+            if (StringUtils.isNotBlank(type)) {
+                mimeTypes.add(type.trim().toLowerCase());
+            }
+        }
+
+        final String minSizeParam = filterConfig.getInitParameter("minSize");
+        if (Strings.isNumeric(minSizeParam)) {
+            minSize = Integer.parseInt(minSizeParam);
+        }
+
+        final String levelParam = filterConfig.getInitParameter("level");
+        if (Strings.isNumeric(levelParam)) {
+            level = Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, Integer.parseInt(levelParam)));
+        }
+    }
+
+    /**
+     * Wraps the response with a compression response wrapper if the request accepts gzip.
+     * <p>
+     * The response is finished only if the chain completes normally. If the chain throws, the content not sent yet
+     * is discarded and the exception is rethrown, so the container could still send an error instead of committing a
+     * partial body.
+     * </p>
+     *
+     * @param request  the specified request
+     * @param response the specified response
+     * @param chain    filter chain
+     * @throws IOException      io exception
+     * @throws ServletException servlet exception
+     */
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        final HttpServletRequest httpServletRequest = (HttpServletRequest) request;
+        if ("HEAD".equals(httpServletRequest.getMethod())
+                || !CachedContent.isAccepted(httpServletRequest.getHeader("Accept-Encoding"), "gzip")) {
+            chain.doFilter(request, response);
+
+            return;
+        }
+
+        final CompressionResponseWrapper wrapper =
+                new CompressionResponseWrapper((HttpServletResponse) response, mimeTypes, minSize, level);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (final IOException | ServletException | RuntimeException e) {
+            wrapper.discard();
+
+            throw e;
+        }
+
+        wrapper.finish();
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
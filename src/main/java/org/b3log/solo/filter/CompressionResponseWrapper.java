@@ -0,0 +1,440 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.filter;
+
+import org.apache.commons.lang.StringUtils;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression response wrapper, buffers the response until the minimum size to compress is reached, then decides
+ * whether to compress by the response status, content type and content encoding.
+ * <p>
+ * A flush before the decision (early head flush for example) decides immediately by the response status and content
+ * type alone, the content is streamed from then on so its size does not matter. The compressed stream is sync flushed,
+ * so flushing still pushes the content written so far to the client.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 19, 2026
+ * @since 2.9.3
+ */
+final class CompressionResponseWrapper extends HttpServletResponseWrapper {
+
+    /**
+     * MIME types to compress.
+     */
+    private final Set<String> mimeTypes;
+
+    /**
+     * Minimum response size to compress.
+     */
+    private final int minSize;
+
+    /**
+     * Compression level.
+     */
+    private final int level;
+
+    /**
+     * Content length set by the application, {@code -1} if not set.
+     */
+    private long contentLength = -1;
+
+    /**
+     * Compression output stream.
+     */
+    private CompressionOutputStream stream;
+
+    /**
+     * Writer.
+     */
+    private PrintWriter writer;
+
+    /**
+     * Constructs a compression response wrapper with the specified arguments.
+     *
+     * @param response  the specified response
+     * @param mimeTypes the specified MIME types to compress
+     * @param minSize   the specified minimum response size to compress
+     * @param level     the specified compression level
+     */
+    CompressionResponseWrapper(final HttpServletResponse response, final Set<String> mimeTypes, final int minSize,
+                               final int level) {
+        super(response);
+        this.mimeTypes = mimeTypes;
+        this.minSize = minSize;
+        this.level = level;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (null == stream) {
+            if (isPassThrough()) {
+                return super.getOutputStream();
+            }
+
+            stream = new CompressionOutputStream();
+        }
+
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (null == writer) {
+            if (null == stream && isPassThrough()) {
+                return super.getWriter();
+            }
+
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(final int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(final long len) {
+        if (isPassThrough()) {
+            super.setContentLengthLong(len);
+
+            return;
+        }
+
+        contentLength = len;
+    }
+
+    @Override
+    public void setHeader(final String name, final String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+
+            return;
+        }
+
+        super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(final String name, final String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+
+            return;
+        }
+
+        super.addHeader(name, value);
+    }
+
+    @Override
+    public void setIntHeader(final String name, final int value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+
+            return;
+        }
+
+        super.setIntHeader(name, value);
+    }
+
+    @Override
+    public void sendError(final int sc, final String msg) throws IOException {
+        discard();
+
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(final int sc) throws IOException {
+        discard();
+
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(final String location) throws IOException {
+        discard();
+
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (null != writer) {
+            writer.flush();
+        } else if (null != stream) {
+            stream.flush();
+        }
+
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+
+        if (null != stream) {
+            stream.resetBuffer();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+
+        contentLength = -1;
+        if (null != stream) {
+            stream.resetBuffer();
+        }
+    }
+
+    /**
+     * Discards the content not sent yet, the response is completed by an error, a redirect or an exception.
+     */
+    void discard() {
+        if (null != stream) {
+            stream.discard();
+        }
+    }
+
+    /**
+     * Finishes the response, writes the buffered content and the compression trailer.
+     *
+     * @throws IOException io exception
+     */
+    void finish() throws IOException {
+        if (null != writer) {
+            writer.close();
+        } else if (null != stream) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Determines whether the response should pass through without compressing, judges by what is known now.
+     *
+     * @return {@code true} if it should pass through, returns {@code false} if it may be compressed
+     */
+    private boolean isPassThrough() {
+        if (null != stream) {
+            return false;
+        }
+
+        final String contentType = getContentType();
+
+        return containsHeader("Content-Encoding") || null != contentType && !isCompressibleType(contentType);
+    }
+
+    /**
+     * Determines whether the response should be compressed.
+     *
+     * @return {@code true} if it should be compressed, returns {@code false} otherwise
+     */
+    private boolean isCompressible() {
+        final int status = getStatus();
+        if (SC_NO_CONTENT == status || SC_PARTIAL_CONTENT == status || SC_NOT_MODIFIED == status || SC_OK > status) {
+            return false;
+        }
+
+        return !containsHeader("Content-Encoding") && isCompressibleType(getContentType());
+    }
+
+    /**
+     * Determines whether the specified content type is compressible.
+     *
+     * @param contentType the specified content type, for example "text/html;charset=UTF-8"
+     * @return {@code true} if it is compressible, returns {@code false} otherwise
+     */
+    private boolean isCompressibleType(final String contentType) {
+        if (StringUtils.isBlank(contentType)) {
+            return false;
+        }
+
+        return mimeTypes.contains(StringUtils.substringBefore(contentType, ";").trim().toLowerCase());
+    }
+
+    /**
+     * Compression output stream.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.1, Oct 19, 2026
+     * @since 2.9.3
+     */
+    private final class CompressionOutputStream extends ServletOutputStream {
+
+        /**
+         * Buffer before the decision.
+         */
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(minSize);
+
+        /**
+         * Output stream after the decision, {@code null} if not decided yet.
+         */
+        private OutputStream out;
+
+        /**
+         * Whether closed.
+         */
+        private boolean closed;
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (closed) {
+                return;
+            }
+
+            if (null != out) {
+                out.write(b);
+
+                return;
+            }
+
+            buffer.write(b);
+            if (buffer.size() >= minSize) {
+                decide(true, false);
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (closed) {
+                return;
+            }
+
+            if (null != out) {
+                out.write(b, off, len);
+
+                return;
+            }
+
+            buffer.write(b, off, len);
+            if (buffer.size() >= minSize) {
+                decide(true, false);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (null == out) {
+                if (closed || 0 == buffer.size()) {
+                    return;
+                }
+
+                // Streams from now on, decides by the content type alone
+                decide(true, false);
+            }
+
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            if (null == out) {
+                decide(buffer.size() >= minSize, true);
+            }
+            closed = true;
+
+            out.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            // Writes never block on this stream
+            try {
+                writeListener.onWritePossible();
+            } catch (final IOException e) {
+                writeListener.onError(e);
+            }
+        }
+
+        /**
+         * Discards the buffered content if not decided yet.
+         */
+        private void resetBuffer() {
+            if (null == out) {
+                buffer.reset();
+            }
+        }
+
+        /**
+         * Discards the buffered content and closes this stream if not decided yet.
+         */
+        private void discard() {
+            if (null == out) {
+                buffer.reset();
+                closed = true;
+            }
+        }
+
+        /**
+         * Decides whether to compress, then writes the buffered content.
+         *
+         * @param large    whether the content reaches the minimum size to compress or is streamed
+         * @param complete whether the buffered content is the whole content
+         * @throws IOException io exception
+         */
+        private void decide(final boolean large, final boolean complete) throws IOException {
+            if (isCompressibleType(getContentType())) {
+                CompressionResponseWrapper.super.addHeader("Vary", "Accept-Encoding");
+            }
+
+            if (large && isCompressible()) {
+                CompressionResponseWrapper.super.setHeader("Content-Encoding", "gzip");
+                out = new GZIPOutputStream(CompressionResponseWrapper.super.getOutputStream(), 8192, true) {
+                    {
+                        def.setLevel(level);
+                    }
+                };
+            } else {
+                if (-1 < contentLength) {
+                    CompressionResponseWrapper.super.setContentLengthLong(contentLength);
+                } else if (complete) {
+                    CompressionResponseWrapper.super.setContentLengthLong(buffer.size());
+                }
+                out = CompressionResponseWrapper.super.getOutputStream();
+            }
+
+            buffer.writeTo(out);
+            buffer.reset();
+        }
+    }
+}
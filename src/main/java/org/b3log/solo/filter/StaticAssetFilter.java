@@ -0,0 +1,135 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.filter;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.solo.util.CachedContent;
+import org.b3log.solo.util.StaticAssets;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Static asset filter, serves fingerprinted static assets (see {@link StaticAssets}).
+ * <p>
+ * A fingerprinted asset is served from memory with immutable caching, the precompressed content is selected by
+ * negotiating the Accept-Encoding header. Each encoding has its own entity tag ("${hash}", "${hash}-gz" and
+ * "${hash}-br"), and a conditional request with any of them is answered with 304 since they carry the same content.
+ * Requests for unfingerprinted resources pass through to the static resource handler.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class StaticAssetFilter implements Filter {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(StaticAssetFilter.class);
+
+    @Override
+    public void init(final FilterConfig filterConfig) throws ServletException {
+    }
+
+    /**
+     * Serves the fingerprinted static asset if the request is for one.
+     *
+     * @param request  the specified request
+     * @param response the specified response
+     * @param chain    filter chain
+     * @throws IOException      io exception
+     * @throws ServletException servlet exception
+     */
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        final HttpServletRequest httpServletRequest = (HttpServletRequest) request;
+        final String method = httpServletRequest.getMethod();
+        final String path = StringUtils.substringAfter(httpServletRequest.getRequestURI(), Latkes.getContextPath());
+        final String[] fingerprinted = StaticAssets.parseFingerprinted(path);
+        if (null == fingerprinted || !"GET".equals(method) && !"HEAD".equals(method)) {
+            chain.doFilter(request, response);
+
+            return;
+        }
+
+        final StaticAssets.Asset asset = StaticAssets.getAsset(fingerprinted[0]);
+        if (null == asset) {
+            chain.doFilter(request, response);
+
+            return;
+        }
+
+        final HttpServletResponse httpServletResponse = (HttpServletResponse) response;
+        final String acceptEncoding = httpServletRequest.getHeader("Accept-Encoding");
+        byte[] content = asset.content;
+        String encoding = null;
+        String etagSuffix = "";
+        if (null != asset.brotli && CachedContent.isAccepted(acceptEncoding, "br")) {
+            content = asset.brotli;
+            encoding = "br";
+            etagSuffix = "-br";
+        } else if (null != asset.gzip && CachedContent.isAccepted(acceptEncoding, "gzip")) {
+            content = asset.gzip;
+            encoding = "gzip";
+            etagSuffix = "-gz";
+        }
+
+        if (asset.hash.equals(fingerprinted[1])) {
+            httpServletResponse.setHeader("Cache-Control", "public, max-age=31536000, immutable");
+        } else {
+            // Referenced by a stale page, serves the current content but must not cache it as the fingerprinted one
+            LOGGER.log(Level.DEBUG, "Static asset [{0}] changed, requested hash [{1}]", fingerprinted[0], fingerprinted[1]);
+            httpServletResponse.setHeader("Cache-Control", "no-cache");
+        }
+        httpServletResponse.setHeader("ETag", "\"" + asset.hash + etagSuffix + "\"");
+        httpServletResponse.setHeader("Vary", "Accept-Encoding");
+        httpServletResponse.setContentType((path.endsWith(".css") ? "text/css" : "application/javascript") + ";charset=UTF-8");
+
+        final String ifNoneMatch = httpServletRequest.getHeader("If-None-Match");
+        if (StringUtils.contains(ifNoneMatch, "\"" + asset.hash + "\"") || StringUtils.contains(ifNoneMatch, "\"" + asset.hash + "-gz\"")
+                || StringUtils.contains(ifNoneMatch, "\"" + asset.hash + "-br\"") || "*".equals(StringUtils.trim(ifNoneMatch))) {
+            httpServletResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+
+            return;
+        }
+
+        if (null != encoding) {
+            httpServletResponse.setHeader("Content-Encoding", encoding);
+        }
+        httpServletResponse.setContentLength(content.length);
+        if ("HEAD".equals(method)) {
+            return;
+        }
+
+        final ServletOutputStream output = httpServletResponse.getOutputStream();
+        output.write(content);
+        output.flush();
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -22,7 +22,7 @@ package org.b3log.solo.model;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="mailto:dongxu.wang@acm.org">Dongxu Wang</a>
- * @version 1.6.0.0, Sep 12, 2017
+ * @version 1.6.2.0, Oct 19, 2026
  * @since 0.3.1
  */
 public final class Common {
@@ -137,6 +137,11 @@ public final class Common {
      */
     public static final String STATIC_RESOURCE_VERSION = "staticResourceVersion";
 
+    /**
+     * Key of static asset method, gets the fingerprinted path of a static asset.
+     */
+    public static final String STATIC_ASSET = "staticAsset";
+
     /**
      * Year.
      */
@@ -342,6 +347,11 @@ public final class Common {
      */
     public static final String GRAVATAR = "gravatar";
 
+    /**
+     * Key of article table of contents.
+     */
+    public static final String ARTICLE_TOC = "articleToC";
+
     /**
      * Private default constructor.
      */
@@ -27,7 +27,7 @@ import org.json.JSONObject;
  * This class defines option model relevant keys.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.0.7, Aug 10, 2018
+ * @version 1.3.1.0, Oct 19, 2026
  * @since 0.6.0
  */
 public final class Option {
@@ -306,6 +306,21 @@ public final class Option {
      */
     public static final String ID_C_STATISTIC_PUBLISHED_ARTICLE_COUNT = "statisticPublishedBlogArticleCount";
 
+    /**
+     * Key of statistic daily unique visitor series.
+     */
+    public static final String ID_C_STATISTIC_UNIQUE_VISITOR_DAILY = "statisticUniqueVisitorDaily";
+
+    /**
+     * Key of statistic monthly unique visitor series.
+     */
+    public static final String ID_C_STATISTIC_UNIQUE_VISITOR_MONTHLY = "statisticUniqueVisitorMonthly";
+
+    /**
+     * Key of statistic unique visitor sketches of the current day and month.
+     */
+    public static final String ID_C_STATISTIC_UNIQUE_VISITOR_SKETCH = "statisticUniqueVisitorSketch";
+
     // Category constants
     /**
      * Broadcast.
@@ -327,6 +342,11 @@ public final class Option {
      */
     public static final String CATEGORY_C_STATISTIC = "statistic";
 
+    /**
+     * Unique visitor.
+     */
+    public static final String CATEGORY_C_UNIQUE_VISITOR = "uniqueVisitor";
+
     /**
      * Private constructor.
      */
@@ -0,0 +1,90 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.model;
+
+/**
+ * This class defines all mail outbox model relevant keys.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class Outbox {
+
+    /**
+     * Outbox.
+     */
+    public static final String OUTBOX = "outbox";
+
+    /**
+     * Key of from.
+     */
+    public static final String OUTBOX_FROM = "outboxFrom";
+
+    /**
+     * Key of to (recipients, separated by ",").
+     */
+    public static final String OUTBOX_TO = "outboxTo";
+
+    /**
+     * Key of subject.
+     */
+    public static final String OUTBOX_SUBJECT = "outboxSubject";
+
+    /**
+     * Key of body (HTML).
+     */
+    public static final String OUTBOX_BODY = "outboxBody";
+
+    /**
+     * Key of status.
+     */
+    public static final String OUTBOX_STATUS = "outboxStatus";
+
+    /**
+     * Key of retry count.
+     */
+    public static final String OUTBOX_RETRY_CNT = "outboxRetryCnt";
+
+    /**
+     * Key of next sending time.
+     */
+    public static final String OUTBOX_NEXT_TIME = "outboxNextTime";
+
+    /**
+     * Key of the latest error.
+     */
+    public static final String OUTBOX_ERROR = "outboxError";
+
+    //// constants
+    /**
+     * Outbox status - pending.
+     */
+    public static final int OUTBOX_STATUS_C_PENDING = 0;
+
+    /**
+     * Outbox status - failed, will not be retried.
+     */
+    public static final int OUTBOX_STATUS_C_FAILED = 1;
+
+    /**
+     * Private constructor.
+     */
+    private Outbox() {
+    }
+}
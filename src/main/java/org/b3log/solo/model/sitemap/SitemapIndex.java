@@ -0,0 +1,80 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.model.sitemap;
+
+import org.apache.commons.lang.StringEscapeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sitemap index, lists the child sitemaps of a site which has more URLs than one sitemap could hold.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class SitemapIndex {
+
+    /**
+     * Start document.
+     */
+    private static final String START_DOCUMENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+    /**
+     * Start sitemap index element.
+     */
+    private static final String START_SITEMAP_INDEX_ELEMENT = "<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">";
+
+    /**
+     * End sitemap index element.
+     */
+    private static final String END_SITEMAP_INDEX_ELEMENT = "</sitemapindex>";
+
+    /**
+     * Child sitemaps, each is {@code [loc, lastMod]}.
+     */
+    private List<String[]> sitemaps = new ArrayList<>();
+
+    /**
+     * Adds a child sitemap with the specified location and last modified time.
+     *
+     * @param loc     the specified location
+     * @param lastMod the specified last modified time (W3C Datetime)
+     */
+    public void addSitemap(final String loc, final String lastMod) {
+        sitemaps.add(new String[]{loc, lastMod});
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append(START_DOCUMENT);
+        stringBuilder.append(START_SITEMAP_INDEX_ELEMENT);
+
+        for (final String[] sitemap : sitemaps) {
+            stringBuilder.append("<sitemap><loc>").append(StringEscapeUtils.escapeXml(sitemap[0])).append("</loc>");
+            stringBuilder.append("<lastmod>").append(sitemap[1]).append("</lastmod></sitemap>");
+        }
+
+        stringBuilder.append(END_SITEMAP_INDEX_ELEMENT);
+
+        return stringBuilder.toString();
+    }
+}
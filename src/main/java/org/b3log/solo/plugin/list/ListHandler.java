@@ -26,6 +26,8 @@ import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.solo.event.EventTypes;
 import org.b3log.solo.model.Article;
+import org.b3log.solo.model.Common;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -35,10 +37,15 @@ import org.jsoup.select.Elements;
 
 /**
  * List (table of contents of an article) handler.
+ * <p>
+ * The table of contents of a markdown article is collected while rendering (see
+ * {@link org.b3log.solo.util.Markdowns#getToC(String)}) and cached with the rendered HTML, only articles of other
+ * editors are parsed here.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://www.annpeter.cn">Ann Peter</a>
- * @version 1.0.2.0, Feb 6, 2018
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 0.6.7
  */
 public class ListHandler extends AbstractEventListener<JSONObject> {
@@ -64,14 +71,31 @@ public class ListHandler extends AbstractEventListener<JSONObject> {
             return;
         }
 
+        final StringBuilder listBuilder = new StringBuilder();
+        listBuilder.append("<link rel=\"stylesheet\" type=\"text/css\" href=\"" + Latkes.getStaticServePath() + "/plugins/list/style.css\" />");
+        listBuilder.append("<ul class='b3-solo-list'>");
+
+        final JSONArray toc = article.optJSONArray(Common.ARTICLE_TOC);
+        if (null != toc) {
+            // Markdown content, heading ids have been assigned while rendering
+            for (int i = 0; i < toc.length(); i++) {
+                final JSONObject heading = toc.optJSONObject(i);
+                final String tagName = heading.optString("level");
+
+                listBuilder.append("<li class='b3-solo-list-").append(tagName).append("'><a href='#").
+                        append(heading.optString("id")).append("'>").append(heading.optString("text")).append("</a></li>");
+            }
+            listBuilder.append("</ul>");
+
+            article.put(Article.ARTICLE_CONTENT, listBuilder.toString() + content);
+
+            return;
+        }
 
         final Document doc = Jsoup.parse(content, StringUtils.EMPTY, Parser.htmlParser());
         doc.outputSettings().prettyPrint(false);
 
-        final StringBuilder listBuilder = new StringBuilder();
-        listBuilder.append("<link rel=\"stylesheet\" type=\"text/css\" href=\"" + Latkes.getStaticServePath() + "/plugins/list/style.css\" />");
         final Elements hs = doc.select("h1, h2, h3, h4, h5");
-        listBuilder.append("<ul class='b3-solo-list'>");
         for (int i = 0; i < hs.size(); i++) {
             final Element element = hs.get(i);
             final String tagName = element.tagName().toLowerCase();
@@ -47,6 +47,7 @@ import org.b3log.solo.processor.renderer.ConsoleRenderer;
 import org.b3log.solo.processor.renderer.SkinRenderer;
 import org.b3log.solo.processor.util.Filler;
 import org.b3log.solo.service.*;
+import org.b3log.solo.util.LayeredHashModel;
 import org.b3log.solo.util.Skins;
 import org.b3log.solo.util.Thumbnails;
 import org.b3log.solo.util.comparator.Comparators;
@@ -67,7 +68,7 @@ import java.util.*;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 1.4.4.2, Jun 22, 2018
+ * @version 1.4.4.7, Oct 19, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -323,7 +324,7 @@ public class ArticleProcessor {
         }
 
         final Map<String, String> langs = langPropsService.getAll(Latkes.getLocale());
-        dataModel.putAll(langs);
+        LayeredHashModel.addLayer(dataModel, langs);
 
         final JSONObject preference = preferenceQueryService.getPreference();
         dataModel.put(Option.ID_C_BLOG_TITLE, preference.getString(Option.ID_C_BLOG_TITLE));
@@ -353,18 +354,16 @@ public class ArticleProcessor {
             final JSONObject article = articleQueryService.getArticleById(articleId);
 
             if (article.getString(Article.ARTICLE_VIEW_PWD).equals(pwdTyped)) {
-                final HttpSession session = request.getSession(false);
-                if (null != session) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, String> viewPwds = (Map<String, String>) session.getAttribute(Common.ARTICLES_VIEW_PWD);
-                    if (null == viewPwds) {
-                        viewPwds = new HashMap<String, String>();
-                    }
-
-                    viewPwds.put(articleId, pwdTyped);
-                    session.setAttribute(Common.ARTICLES_VIEW_PWD, viewPwds);
+                final HttpSession session = request.getSession(); // Password submit path, the only place creating a session for a reader
+                @SuppressWarnings("unchecked")
+                Map<String, String> viewPwds = (Map<String, String>) session.getAttribute(Common.ARTICLES_VIEW_PWD);
+                if (null == viewPwds) {
+                    viewPwds = new HashMap<String, String>();
                 }
 
+                viewPwds.put(articleId, pwdTyped);
+                session.setAttribute(Common.ARTICLES_VIEW_PWD, viewPwds);
+
                 response.sendRedirect(Latkes.getServePath() + article.getString(Article.ARTICLE_PERMALINK));
 
                 return;
@@ -811,10 +810,12 @@ public class ArticleProcessor {
             final Map<String, Object> dataModel = renderer.getDataModel();
 
             prepareShowAuthorArticles(pageNums, dataModel, pageCount, currentPageNum, articles, author);
-            filler.fillBlogHeader(request, response, dataModel, preference);
+            final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+            filler.fillConcurrently(dataModel,
+                    dm -> filler.fillBlogHeader(request, response, dm, preference),
+                    dm -> filler.fillSide(skinDirName, dm, preference),
+                    dm -> Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dm));
             filler.fillBlogFooter(request, dataModel, preference);
-            filler.fillSide(request, dataModel, preference);
-            Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel);
 
             statisticMgmtService.incBlogViewCount(request, response);
         } catch (final ServiceException e) {
@@ -897,12 +898,14 @@ public class ArticleProcessor {
 
             final Map<String, Object> dataModel = renderer.getDataModel();
 
-            Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel);
+            final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+            Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dataModel);
 
             prepareShowArchiveArticles(preference, dataModel, articles, currentPageNum, pageCount, archiveDateString, archiveDate);
-            filler.fillBlogHeader(request, response, dataModel, preference);
+            filler.fillConcurrently(dataModel,
+                    dm -> filler.fillBlogHeader(request, response, dm, preference),
+                    dm -> filler.fillSide(skinDirName, dm, preference));
             filler.fillBlogFooter(request, dataModel, preference);
-            filler.fillSide(request, dataModel, preference);
 
             statisticMgmtService.incBlogViewCount(request, response);
         } catch (final Exception e) {
@@ -1010,10 +1013,12 @@ public class ArticleProcessor {
 
             prepareShowArticle(preference, dataModel, article);
 
-            filler.fillBlogHeader(request, response, dataModel, preference);
+            final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+            filler.fillConcurrently(dataModel,
+                    dm -> filler.fillBlogHeader(request, response, dm, preference),
+                    dm -> filler.fillSide(skinDirName, dm, preference),
+                    dm -> Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dm));
             filler.fillBlogFooter(request, dataModel, preference);
-            filler.fillSide(request, dataModel, preference);
-            Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel);
 
             if (!StatisticMgmtService.hasBeenServed(request, response)) {
                 articleMgmtService.incViewCount(articleId);
@@ -1186,7 +1191,7 @@ public class ArticleProcessor {
             ret = Dates.EN_MONTHS.get(month) + " " + year;
         } else {
             archiveDate.put(ArchiveDate.ARCHIVE_DATE_MONTH, month);
-            ret = year + " " + dataModel.get("yearLabel") + " " + month + " " + dataModel.get("monthLabel");
+            ret = year + " " + LayeredHashModel.get(dataModel, "yearLabel") + " " + month + " " + LayeredHashModel.get(dataModel, "monthLabel");
         }
         dataModel.put(ArchiveDate.ARCHIVE_DATE, archiveDate);
 
@@ -36,14 +36,14 @@ import javax.servlet.http.HttpServletResponse;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Captcha processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.0.2, Aug 2, 2018
+ * @version 2.0.0.3, Oct 19, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -62,7 +62,7 @@ public class CaptchaProcessor {
     /**
      * Captchas.
      */
-    private static final Set<String> CAPTCHAS = new HashSet<>();
+    private static final Set<String> CAPTCHAS = ConcurrentHashMap.newKeySet();
 
     /**
      * Captcha length.
@@ -132,11 +132,6 @@ public class CaptchaProcessor {
             return true;
         }
 
-        boolean ret = !CaptchaProcessor.CAPTCHAS.contains(captcha);
-        if (!ret) {
-            CaptchaProcessor.CAPTCHAS.remove(captcha);
-        }
-
-        return ret;
+        return !CaptchaProcessor.CAPTCHAS.remove(captcha);
     }
 }
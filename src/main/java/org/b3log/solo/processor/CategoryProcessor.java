@@ -55,7 +55,7 @@ import java.util.Map;
  * Category processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.3, Jun 22, 2018
+ * @version 1.0.1.6, Oct 19, 2026
  * @since 2.0.0
  */
 @RequestProcessor
@@ -198,7 +198,8 @@ public class CategoryProcessor {
                 return;
             }
 
-            Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel);
+            final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+            Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dataModel);
 
             final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
             if (hasMultipleUsers) {
@@ -215,8 +216,9 @@ public class CategoryProcessor {
             fillPagination(dataModel, pageCount, currentPageNum, articles, pageNums);
             dataModel.put(Common.PATH, "/category/" + URLEncoder.encode(categoryURI, "UTF-8"));
 
-            filler.fillSide(request, dataModel, preference);
-            filler.fillBlogHeader(request, response, dataModel, preference);
+            filler.fillConcurrently(dataModel,
+                    dm -> filler.fillBlogHeader(request, response, dm, preference),
+                    dm -> filler.fillSide(skinDirName, dm, preference));
             filler.fillBlogFooter(request, dataModel, preference);
 
             statisticMgmtService.incBlogViewCount(request, response);
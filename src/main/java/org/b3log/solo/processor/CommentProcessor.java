@@ -29,13 +29,13 @@ import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.JSONRenderer;
-import org.b3log.latke.util.freemarker.Templates;
 import org.b3log.solo.model.*;
 import org.b3log.solo.service.CommentMgmtService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.UserMgmtService;
 import org.b3log.solo.service.UserQueryService;
 import org.b3log.solo.util.Emotions;
+import org.b3log.solo.util.LayeredHashModel;
 import org.b3log.solo.util.Skins;
 import org.json.JSONObject;
 
@@ -50,7 +50,7 @@ import java.util.Map;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author ArmstrongCN
- * @version 1.3.3.1, Mar 3, 2018
+ * @version 1.3.3.3, Oct 19, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -160,12 +160,12 @@ public class CommentProcessor {
             // https://github.com/b3log/solo/issues/12246
             try {
                 final String skinDirName = (String) httpServletRequest.getAttribute(Keys.TEMAPLTE_DIR_NAME);
-                final Template template = Templates.MAIN_CFG.getTemplate("common-comment.ftl");
+                final Template template = Skins.getTemplate(skinDirName, "common-comment.ftl");
                 final JSONObject preference = preferenceQueryService.getPreference();
                 Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dataModel);
                 Keys.fillServer(dataModel);
                 final StringWriter stringWriter = new StringWriter();
-                template.process(dataModel, stringWriter);
+                template.process(LayeredHashModel.wrap(dataModel, template.getObjectWrapper()), stringWriter);
                 stringWriter.close();
                 String cmtTpl = stringWriter.toString();
                 cmtTpl = Emotions.convert(cmtTpl);
@@ -255,12 +255,12 @@ public class CommentProcessor {
             // https://github.com/b3log/solo/issues/12246
             try {
                 final String skinDirName = (String) httpServletRequest.getAttribute(Keys.TEMAPLTE_DIR_NAME);
-                final Template template = Templates.MAIN_CFG.getTemplate("common-comment.ftl");
+                final Template template = Skins.getTemplate(skinDirName, "common-comment.ftl");
                 final JSONObject preference = preferenceQueryService.getPreference();
                 Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dataModel);
                 Keys.fillServer(dataModel);
                 final StringWriter stringWriter = new StringWriter();
-                template.process(dataModel, stringWriter);
+                template.process(LayeredHashModel.wrap(dataModel, template.getObjectWrapper()), stringWriter);
                 stringWriter.close();
                 String cmtTpl = stringWriter.toString();
 
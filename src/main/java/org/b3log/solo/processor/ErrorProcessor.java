@@ -32,6 +32,7 @@ import org.b3log.solo.processor.renderer.ConsoleRenderer;
 import org.b3log.solo.processor.util.Filler;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.UserQueryService;
+import org.b3log.solo.util.LayeredHashModel;
 import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletRequest;
@@ -43,7 +44,7 @@ import java.util.Map;
  * Error processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.2, Oct 9, 2016
+ * @version 1.0.1.3, Oct 19, 2026
  * @since 0.4.5
  */
 @RequestProcessor
@@ -105,7 +106,7 @@ public class ErrorProcessor {
         try {
             final Map<String, String> langs = langPropsService.getAll(Locales.getLocale(request));
 
-            dataModel.putAll(langs);
+            LayeredHashModel.addLayer(dataModel, langs);
             final JSONObject preference = preferenceQueryService.getPreference();
 
             filler.fillBlogHeader(request, response, dataModel, preference);
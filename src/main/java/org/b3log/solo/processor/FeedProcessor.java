@@ -24,15 +24,13 @@ import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.User;
 import org.b3log.latke.repository.*;
-import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
-import org.b3log.latke.servlet.renderer.AtomRenderer;
-import org.b3log.latke.servlet.renderer.RssRenderer;
 import org.b3log.latke.util.Locales;
 import org.b3log.latke.util.Strings;
 import org.b3log.solo.SoloServletListener;
+import org.b3log.solo.cache.FeedCache;
 import org.b3log.solo.model.Article;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Tag;
@@ -47,6 +45,7 @@ import org.b3log.solo.repository.TagRepository;
 import org.b3log.solo.service.ArticleQueryService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.UserQueryService;
+import org.b3log.solo.util.CachedContent;
 import org.b3log.solo.util.Emotions;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -57,14 +56,21 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * Feed (Atom/RSS) processor.
+ * <p>
+ * Feeds are serialized once and served from {@link FeedCache} until an article is published, updated or
+ * unpublished. The last modified time of a feed is the later of the updated time of its newest entry and the time
+ * it is generated, so removing the newest entry still moves it forward. Conditional requests are answered with 304
+ * and HEAD requests with the headers only, see {@link CachedContent} for details.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="https://github.com/feroozkhanchintu">feroozkhanchintu</a>
  * @author <a href="https://github.com/nanolikeyou">nanolikeyou</a>
- * @version 1.1.1.0, May 18, 2018
+ * @version 1.2.0.1, Oct 19, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -75,6 +81,16 @@ public class FeedProcessor {
      */
     private static final Logger LOGGER = Logger.getLogger(FeedProcessor.class);
 
+    /**
+     * Atom content type.
+     */
+    private static final String ATOM_CONTENT_TYPE = "application/atom+xml;charset=UTF-8";
+
+    /**
+     * RSS content type.
+     */
+    private static final String RSS_CONTENT_TYPE = "application/rss+xml;charset=UTF-8";
+
     /**
      * Article query service.
      */
@@ -111,67 +127,75 @@ public class FeedProcessor {
     @Inject
     private TagArticleRepository tagArticleRepository;
 
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
     /**
      * Blog articles Atom output.
      *
-     * @param context the specified context
+     * @param request  the specified request
+     * @param response the specified response
+     * @throws IOException io exception
      */
     @RequestProcessing(value = {"/blog-articles-feed.do"}, method = {HTTPRequestMethod.GET, HTTPRequestMethod.HEAD})
-    public void blogArticlesAtom(final HTTPRequestContext context) {
-        final AtomRenderer renderer = new AtomRenderer();
-
-        context.setRenderer(renderer);
+    public void blogArticlesAtom(final HttpServletRequest request, final HttpServletResponse response)
+            throws IOException {
+        writeFeed(request, response, "/blog-articles-feed.do", this::genBlogArticlesAtom);
+    }
 
+    /**
+     * Generates the blog articles Atom feed.
+     *
+     * @return feed
+     * @throws Exception exception
+     */
+    private CachedContent genBlogArticlesAtom() throws Exception {
         final Feed feed = new Feed();
 
-        try {
-            final JSONObject preference = preferenceQueryService.getPreference();
-
-            final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-            final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE);
-            final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
-
-            feed.setTitle(blogTitle);
-            feed.setSubtitle(blogSubtitle);
-            feed.setUpdated(new Date());
-            feed.setAuthor(blogTitle);
-            feed.setLink(Latkes.getServePath() + "/blog-articles-feed.do");
-            feed.setId(Latkes.getServePath() + "/");
+        final JSONObject preference = preferenceQueryService.getPreference();
 
-            final List<Filter> filters = new ArrayList<>();
+        final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
+        final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE);
+        final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
 
-            filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
-            filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
-            final Query query = new Query().setCurrentPageNum(1).setPageSize(outputCnt).setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).addSort(Article.ARTICLE_UPDATE_DATE, SortDirection.DESCENDING).setPageCount(
-                    1);
+        feed.setTitle(blogTitle);
+        feed.setSubtitle(blogSubtitle);
+        feed.setAuthor(blogTitle);
+        feed.setLink(Latkes.getServePath() + "/blog-articles-feed.do");
+        feed.setId(Latkes.getServePath() + "/");
 
-            final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
-            String authorName = "";
+        final List<Filter> filters = new ArrayList<>();
 
-            final JSONObject articleResult = articleRepository.get(query);
-            final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
+        filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
+        filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
+        final Query query = new Query().setCurrentPageNum(1).setPageSize(outputCnt).setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).addSort(Article.ARTICLE_UPDATE_DATE, SortDirection.DESCENDING).setPageCount(
+                1);
 
-            if (!hasMultipleUsers && 0 != articles.length()) {
-                authorName = articleQueryService.getAuthor(articles.getJSONObject(0)).getString(User.USER_NAME);
-            }
+        final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
+        String authorName = "";
 
-            final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+        final JSONObject articleResult = articleRepository.get(query);
+        final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
 
-            for (int i = 0; i < articles.length(); i++) {
-                Entry entry = getEntry(hasMultipleUsers, authorName, articles, isFullContent, i);
-                feed.addEntry(entry);
-            }
+        if (!hasMultipleUsers && 0 != articles.length()) {
+            authorName = articleQueryService.getAuthor(articles.getJSONObject(0)).getString(User.USER_NAME);
+        }
 
-            renderer.setContent(feed.toString());
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get blog article feed error", e);
+        final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
 
-            try {
-                context.getResponse().sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-            } catch (final IOException ex) {
-                throw new RuntimeException(ex);
-            }
+        long lastModified = 0;
+        for (int i = 0; i < articles.length(); i++) {
+            Entry entry = getEntry(hasMultipleUsers, authorName, articles, isFullContent, i);
+            feed.addEntry(entry);
+            lastModified = Math.max(lastModified, entry.getUpdated().getTime());
         }
+        lastModified = getLastModified(lastModified);
+        feed.setUpdated(new Date(lastModified));
+
+        return new CachedContent(ATOM_CONTENT_TYPE, feed.toString(), lastModified);
     }
 
     private Entry getEntry(final boolean hasMultipleUsers, String authorName, final JSONArray articles,
@@ -207,17 +231,13 @@ public class FeedProcessor {
     /**
      * Tag articles Atom output.
      *
-     * @param context the specified context
+     * @param request  the specified request
+     * @param response the specified response
      * @throws IOException io exception
      */
     @RequestProcessing(value = {"/tag-articles-feed.do"}, method = {HTTPRequestMethod.GET, HTTPRequestMethod.HEAD})
-    public void tagArticlesAtom(final HTTPRequestContext context) throws IOException {
-        final AtomRenderer renderer = new AtomRenderer();
-        context.setRenderer(renderer);
-
-        final HttpServletRequest request = context.getRequest();
-        final HttpServletResponse response = context.getResponse();
-
+    public void tagArticlesAtom(final HttpServletRequest request, final HttpServletResponse response)
+            throws IOException {
         final String tagId = request.getParameter(Keys.OBJECT_ID);
         if (Strings.isEmptyOrNull(tagId)) {
             response.sendError(HttpServletResponse.SC_NOT_FOUND);
@@ -225,80 +245,67 @@ public class FeedProcessor {
             return;
         }
 
-        final Feed feed = new Feed();
-
-        try {
-            final JSONObject tag = tagRepository.get(tagId);
-            if (null == tag) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
-
-            final String tagTitle = tag.getString(Tag.TAG_TITLE);
-
-            final JSONObject preference = preferenceQueryService.getPreference();
-
-            if (null == preference) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
-
-            final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-            final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE) + ", " + tagTitle;
-            final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
+        writeFeed(request, response, "/tag-articles-feed.do?" + Keys.OBJECT_ID + "=" + tagId,
+                () -> genTagArticlesAtom(tagId));
+    }
 
-            feed.setTitle(blogTitle);
-            feed.setSubtitle(blogSubtitle);
-            feed.setUpdated(new Date());
-            feed.setAuthor(blogTitle);
-            feed.setLink(Latkes.getServePath() + "/tag-articles-feed.do");
-            feed.setId(Latkes.getServePath() + "/");
+    /**
+     * Generates the Atom feed of the tag articles specified by the given tag id.
+     *
+     * @param tagId the given tag id
+     * @return feed, returns {@code null} if not found
+     * @throws Exception exception
+     */
+    private CachedContent genTagArticlesAtom(final String tagId) throws Exception {
+        final Feed feed = new Feed();
 
-            final JSONObject tagArticleResult = tagArticleRepository.getByTagId(tagId, 1, outputCnt);
-            final JSONArray tagArticleRelations = tagArticleResult.getJSONArray(Keys.RESULTS);
+        final JSONObject tag = tagRepository.get(tagId);
+        if (null == tag) {
+            return null;
+        }
 
-            if (0 == tagArticleRelations.length()) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
+        final String tagTitle = tag.getString(Tag.TAG_TITLE);
 
-            final List<JSONObject> articles = new ArrayList<>();
+        final JSONObject preference = preferenceQueryService.getPreference();
 
-            for (int i = 0; i < tagArticleRelations.length(); i++) {
-                final JSONObject tagArticleRelation = tagArticleRelations.getJSONObject(i);
-                final String articleId = tagArticleRelation.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
-                final JSONObject article = articleRepository.get(articleId);
+        if (null == preference) {
+            return null;
+        }
 
-                if (article.getBoolean(Article.ARTICLE_IS_PUBLISHED) // Skips the unpublished article
-                        && Strings.isEmptyOrNull(article.optString(Article.ARTICLE_VIEW_PWD))) { // Skips article with password
-                    articles.add(article);
-                }
-            }
+        final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
+        final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE) + ", " + tagTitle;
+        final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
 
-            final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
-            String authorName = "";
+        feed.setTitle(blogTitle);
+        feed.setSubtitle(blogSubtitle);
+        feed.setAuthor(blogTitle);
+        feed.setLink(Latkes.getServePath() + "/tag-articles-feed.do");
+        feed.setId(Latkes.getServePath() + "/");
 
-            if (!hasMultipleUsers && !articles.isEmpty()) {
-                authorName = articleQueryService.getAuthor(articles.get(0)).getString(User.USER_NAME);
-            }
+        final List<JSONObject> articles = getTagArticles(tagId, outputCnt);
+        if (null == articles) {
+            return null;
+        }
 
-            final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+        final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
+        String authorName = "";
 
-            for (int i = 0; i < articles.size(); i++) {
-                Entry entry = getEntryForArticle(articles, hasMultipleUsers, authorName, isFullContent, i);
-                feed.addEntry(entry);
-            }
+        if (!hasMultipleUsers && !articles.isEmpty()) {
+            authorName = articleQueryService.getAuthor(articles.get(0)).getString(User.USER_NAME);
+        }
 
-            renderer.setContent(feed.toString());
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get tag article feed error", e);
+        final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
 
-            try {
-                context.getResponse().sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-            } catch (final IOException ex) {
-                throw new RuntimeException(ex);
-            }
+        long lastModified = 0;
+        for (int i = 0; i < articles.size(); i++) {
+            Entry entry = getEntryForArticle(articles, hasMultipleUsers, authorName, isFullContent, i);
+            feed.addEntry(entry);
+            lastModified = Math.max(lastModified, entry.getUpdated().getTime());
         }
+        lastModified = getLastModified(lastModified);
+        feed.setUpdated(new Date(lastModified));
+
+        return new CachedContent(ATOM_CONTENT_TYPE, feed.toString(), lastModified);
     }
 
     private Entry getEntryForArticle(final List<JSONObject> articles, final boolean hasMultipleUsers, String authorName,
@@ -334,73 +341,74 @@ public class FeedProcessor {
     /**
      * Blog articles RSS output.
      *
-     * @param context the specified context
+     * @param request  the specified request
+     * @param response the specified response
+     * @throws IOException io exception
      */
     @RequestProcessing(value = {"/blog-articles-rss.do"}, method = {HTTPRequestMethod.GET, HTTPRequestMethod.HEAD})
-    public void blogArticlesRSS(final HTTPRequestContext context) {
-        final HttpServletResponse response = context.getResponse();
-        final RssRenderer renderer = new RssRenderer();
-        context.setRenderer(renderer);
+    public void blogArticlesRSS(final HttpServletRequest request, final HttpServletResponse response)
+            throws IOException {
+        writeFeed(request, response, "/blog-articles-rss.do", this::genBlogArticlesRSS);
+    }
 
+    /**
+     * Generates the blog articles RSS feed.
+     *
+     * @return feed, returns {@code null} if not found
+     * @throws Exception exception
+     */
+    private CachedContent genBlogArticlesRSS() throws Exception {
         final Channel channel = new Channel();
 
-        try {
-            final JSONObject preference = preferenceQueryService.getPreference();
-            if (null == preference) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
-
-            final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-            final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE);
-            final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
-
-            channel.setTitle(blogTitle);
-            channel.setLastBuildDate(new Date());
-            channel.setLink(Latkes.getServePath());
-            channel.setAtomLink(Latkes.getServePath() + "/blog-articles-rss.do");
-            channel.setGenerator("Solo, ver " + SoloServletListener.VERSION);
-            final String localeString = preference.getString(Option.ID_C_LOCALE_STRING);
-            final String country = Locales.getCountry(localeString).toLowerCase();
-            final String language = Locales.getLanguage(localeString).toLowerCase();
+        final JSONObject preference = preferenceQueryService.getPreference();
+        if (null == preference) {
+            return null;
+        }
 
-            channel.setLanguage(language + '-' + country);
-            channel.setDescription(blogSubtitle);
+        final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
+        final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE);
+        final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
 
-            final List<Filter> filters = new ArrayList<>();
+        channel.setTitle(blogTitle);
+        channel.setLink(Latkes.getServePath());
+        channel.setAtomLink(Latkes.getServePath() + "/blog-articles-rss.do");
+        channel.setGenerator("Solo, ver " + SoloServletListener.VERSION);
+        final String localeString = preference.getString(Option.ID_C_LOCALE_STRING);
+        final String country = Locales.getCountry(localeString).toLowerCase();
+        final String language = Locales.getLanguage(localeString).toLowerCase();
 
-            filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
-            filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
-            final Query query = new Query().setCurrentPageNum(1).setPageSize(outputCnt).setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).addSort(Article.ARTICLE_UPDATE_DATE, SortDirection.DESCENDING).setPageCount(
-                    1);
+        channel.setLanguage(language + '-' + country);
+        channel.setDescription(blogSubtitle);
 
-            final JSONObject articleResult = articleRepository.get(query);
-            final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
+        final List<Filter> filters = new ArrayList<>();
 
-            final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
-            String authorName = "";
+        filters.add(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true));
+        filters.add(new PropertyFilter(Article.ARTICLE_VIEW_PWD, FilterOperator.EQUAL, ""));
+        final Query query = new Query().setCurrentPageNum(1).setPageSize(outputCnt).setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).addSort(Article.ARTICLE_UPDATE_DATE, SortDirection.DESCENDING).setPageCount(
+                1);
 
-            if (!hasMultipleUsers && 0 != articles.length()) {
-                authorName = articleQueryService.getAuthor(articles.getJSONObject(0)).getString(User.USER_NAME);
-            }
+        final JSONObject articleResult = articleRepository.get(query);
+        final JSONArray articles = articleResult.getJSONArray(Keys.RESULTS);
 
-            final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+        final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
+        String authorName = "";
 
-            for (int i = 0; i < articles.length(); i++) {
-                Item item = getItem(articles, hasMultipleUsers, authorName, isFullContent, i);
-                channel.addItem(item);
-            }
+        if (!hasMultipleUsers && 0 != articles.length()) {
+            authorName = articleQueryService.getAuthor(articles.getJSONObject(0)).getString(User.USER_NAME);
+        }
 
-            renderer.setContent(channel.toString());
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get blog article rss error", e);
+        final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
 
-            try {
-                context.getResponse().sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-            } catch (final IOException ex) {
-                throw new RuntimeException(ex);
-            }
+        long lastModified = 0;
+        for (int i = 0; i < articles.length(); i++) {
+            Item item = getItem(articles, hasMultipleUsers, authorName, isFullContent, i);
+            channel.addItem(item);
+            lastModified = Math.max(lastModified, item.getPubDate().getTime());
         }
+        lastModified = getLastModified(lastModified);
+        channel.setLastBuildDate(new Date(lastModified));
+
+        return new CachedContent(RSS_CONTENT_TYPE, channel.toString(), lastModified);
     }
 
     private Item getItem(final JSONArray articles, final boolean hasMultipleUsers, String authorName,
@@ -439,17 +447,13 @@ public class FeedProcessor {
     /**
      * Tag articles RSS output.
      *
-     * @param context the specified context
+     * @param request  the specified request
+     * @param response the specified response
      * @throws IOException io exception
      */
     @RequestProcessing(value = {"/tag-articles-rss.do"}, method = {HTTPRequestMethod.GET, HTTPRequestMethod.HEAD})
-    public void tagArticlesRSS(final HTTPRequestContext context) throws IOException {
-        final HttpServletResponse response = context.getResponse();
-        final HttpServletRequest request = context.getRequest();
-
-        final RssRenderer renderer = new RssRenderer();
-        context.setRenderer(renderer);
-
+    public void tagArticlesRSS(final HttpServletRequest request, final HttpServletResponse response)
+            throws IOException {
         final String tagId = request.getParameter(Keys.OBJECT_ID);
         if (Strings.isEmptyOrNull(tagId)) {
             response.sendError(HttpServletResponse.SC_NOT_FOUND);
@@ -457,85 +461,72 @@ public class FeedProcessor {
             return;
         }
 
-        final Channel channel = new Channel();
-
-        try {
-            final JSONObject tag = tagRepository.get(tagId);
-            if (null == tag) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
-
-            final String tagTitle = tag.getString(Tag.TAG_TITLE);
-
-            final JSONObject preference = preferenceQueryService.getPreference();
-
-            if (null == preference) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
-
-            final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
-            final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE) + ", " + tagTitle;
-            final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
+        writeFeed(request, response, "/tag-articles-rss.do?" + Keys.OBJECT_ID + "=" + tagId,
+                () -> genTagArticlesRSS(tagId));
+    }
 
-            channel.setTitle(blogTitle);
-            channel.setLastBuildDate(new Date());
-            channel.setLink(Latkes.getServePath());
-            channel.setAtomLink(Latkes.getServePath() + "/tag-articles-rss.do");
-            channel.setGenerator("Solo, ver " + SoloServletListener.VERSION);
-            final String localeString = preference.getString(Option.ID_C_LOCALE_STRING);
-            final String country = Locales.getCountry(localeString).toLowerCase();
-            final String language = Locales.getLanguage(localeString).toLowerCase();
+    /**
+     * Generates the RSS feed of the tag articles specified by the given tag id.
+     *
+     * @param tagId the given tag id
+     * @return feed, returns {@code null} if not found
+     * @throws Exception exception
+     */
+    private CachedContent genTagArticlesRSS(final String tagId) throws Exception {
+        final Channel channel = new Channel();
 
-            channel.setLanguage(language + '-' + country);
-            channel.setDescription(blogSubtitle);
+        final JSONObject tag = tagRepository.get(tagId);
+        if (null == tag) {
+            return null;
+        }
 
-            final JSONObject tagArticleResult = tagArticleRepository.getByTagId(tagId, 1, outputCnt);
-            final JSONArray tagArticleRelations = tagArticleResult.getJSONArray(Keys.RESULTS);
+        final String tagTitle = tag.getString(Tag.TAG_TITLE);
 
-            if (0 == tagArticleRelations.length()) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
+        final JSONObject preference = preferenceQueryService.getPreference();
 
-            final List<JSONObject> articles = new ArrayList<>();
+        if (null == preference) {
+            return null;
+        }
 
-            for (int i = 0; i < tagArticleRelations.length(); i++) {
-                final JSONObject tagArticleRelation = tagArticleRelations.getJSONObject(i);
-                final String articleId = tagArticleRelation.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
-                final JSONObject article = articleRepository.get(articleId);
+        final String blogTitle = preference.getString(Option.ID_C_BLOG_TITLE);
+        final String blogSubtitle = preference.getString(Option.ID_C_BLOG_SUBTITLE) + ", " + tagTitle;
+        final int outputCnt = preference.getInt(Option.ID_C_FEED_OUTPUT_CNT);
 
-                if (article.getBoolean(Article.ARTICLE_IS_PUBLISHED) // Skips the unpublished article
-                        && Strings.isEmptyOrNull(article.optString(Article.ARTICLE_VIEW_PWD))) { // Skips article with password
-                    articles.add(article);
-                }
-            }
+        channel.setTitle(blogTitle);
+        channel.setLink(Latkes.getServePath());
+        channel.setAtomLink(Latkes.getServePath() + "/tag-articles-rss.do");
+        channel.setGenerator("Solo, ver " + SoloServletListener.VERSION);
+        final String localeString = preference.getString(Option.ID_C_LOCALE_STRING);
+        final String country = Locales.getCountry(localeString).toLowerCase();
+        final String language = Locales.getLanguage(localeString).toLowerCase();
 
-            final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
-            String authorName = "";
+        channel.setLanguage(language + '-' + country);
+        channel.setDescription(blogSubtitle);
 
-            if (!hasMultipleUsers && !articles.isEmpty()) {
-                authorName = articleQueryService.getAuthor(articles.get(0)).getString(User.USER_NAME);
-            }
+        final List<JSONObject> articles = getTagArticles(tagId, outputCnt);
+        if (null == articles) {
+            return null;
+        }
 
-            final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
+        final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
+        String authorName = "";
 
-            for (int i = 0; i < articles.size(); i++) {
-                Item item = getItemForArticles(articles, hasMultipleUsers, authorName, isFullContent, i);
-                channel.addItem(item);
-            }
+        if (!hasMultipleUsers && !articles.isEmpty()) {
+            authorName = articleQueryService.getAuthor(articles.get(0)).getString(User.USER_NAME);
+        }
 
-            renderer.setContent(channel.toString());
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get tag article rss error", e);
+        final boolean isFullContent = "fullContent".equals(preference.getString(Option.ID_C_FEED_OUTPUT_MODE));
 
-            try {
-                context.getResponse().sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-            } catch (final IOException ex) {
-                throw new RuntimeException(ex);
-            }
+        long lastModified = 0;
+        for (int i = 0; i < articles.size(); i++) {
+            Item item = getItemForArticles(articles, hasMultipleUsers, authorName, isFullContent, i);
+            channel.addItem(item);
+            lastModified = Math.max(lastModified, item.getPubDate().getTime());
         }
+        lastModified = getLastModified(lastModified);
+        channel.setLastBuildDate(new Date(lastModified));
+
+        return new CachedContent(RSS_CONTENT_TYPE, channel.toString(), lastModified);
     }
 
     private Item getItemForArticles(final List<JSONObject> articles, final boolean hasMultipleUsers, String authorName,
@@ -569,4 +560,85 @@ public class FeedProcessor {
 
         return ret;
     }
+
+    /**
+     * Gets the published articles without password of the tag specified by the given tag id.
+     *
+     * @param tagId     the given tag id
+     * @param outputCnt the specified maximum count of the tag-article relations to fetch
+     * @return articles, returns {@code null} if the tag has no articles
+     * @throws Exception exception
+     */
+    private List<JSONObject> getTagArticles(final String tagId, final int outputCnt) throws Exception {
+        final JSONObject tagArticleResult = tagArticleRepository.getByTagId(tagId, 1, outputCnt);
+        final JSONArray tagArticleRelations = tagArticleResult.getJSONArray(Keys.RESULTS);
+
+        if (0 == tagArticleRelations.length()) {
+            return null;
+        }
+
+        final List<JSONObject> ret = new ArrayList<>();
+
+        for (int i = 0; i < tagArticleRelations.length(); i++) {
+            final JSONObject tagArticleRelation = tagArticleRelations.getJSONObject(i);
+            final String articleId = tagArticleRelation.getString(Article.ARTICLE + "_" + Keys.OBJECT_ID);
+            final JSONObject article = articleRepository.get(articleId);
+
+            if (article.getBoolean(Article.ARTICLE_IS_PUBLISHED) // Skips the unpublished article
+                    && Strings.isEmptyOrNull(article.optString(Article.ARTICLE_VIEW_PWD))) { // Skips article with password
+                ret.add(article);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the last modified time of a feed being generated with the specified updated time of its newest entry.
+     * <p>
+     * The feed cache is cleared on every change, so the generation time covers the changes not moving the newest
+     * entry forward (deleting or unpublishing the newest article for example).
+     * </p>
+     *
+     * @param newestEntryUpdated the specified updated time of the newest entry, {@code 0} if the feed has no entries
+     * @return last modified time, the later of the specified updated time and the current time
+     */
+    private static long getLastModified(final long newestEntryUpdated) {
+        return Math.max(newestEntryUpdated, System.currentTimeMillis());
+    }
+
+    /**
+     * Writes the feed specified by the given key to the specified response, generates and caches it with the
+     * specified generator if not cached.
+     *
+     * @param request   the specified request
+     * @param response  the specified response
+     * @param key       the given key
+     * @param generator the specified generator, returns {@code null} if the feed is not found
+     * @throws IOException io exception
+     */
+    private void writeFeed(final HttpServletRequest request, final HttpServletResponse response, final String key,
+                           final Callable<CachedContent> generator) throws IOException {
+        CachedContent feed = feedCache.getFeed(key);
+        if (null == feed) {
+            try {
+                feed = generator.call();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Generates feed [" + key + "] failed", e);
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+                return;
+            }
+
+            if (null == feed) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+
+                return;
+            }
+
+            feedCache.putFeed(key, feed);
+        }
+
+        feed.write(request, response);
+    }
 }
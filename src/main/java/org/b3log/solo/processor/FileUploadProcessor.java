@@ -23,39 +23,54 @@ import com.qiniu.util.Auth;
 import jodd.io.FileUtil;
 import jodd.io.upload.FileUpload;
 import jodd.io.upload.MultipartStreamParser;
-import jodd.io.upload.impl.MemoryFileUploadFactory;
+import jodd.io.upload.impl.AdaptiveFileUpload;
+import jodd.io.upload.impl.AdaptiveFileUploadFactory;
 import jodd.net.MimeTypes;
-import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.LatkeBeanManager;
 import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
+import org.b3log.latke.servlet.renderer.DoNothingRenderer;
 import org.b3log.latke.util.URLs;
 import org.b3log.solo.SoloServletListener;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.service.OptionQueryService;
+import org.b3log.solo.service.UploadMgmtService;
+import org.b3log.solo.util.ImageVariants;
 import org.b3log.solo.util.Solos;
+import org.b3log.solo.util.Uploads;
+import org.eclipse.jetty.server.HttpOutput;
 import org.json.JSONObject;
 
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * File upload processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.2, Aug 2, 2018
+ * @version 1.4.0.2, Oct 19, 2026
  * @since 2.8.0
  */
 @RequestProcessor
@@ -66,11 +81,43 @@ public class FileUploadProcessor {
      */
     private static final Logger LOGGER = Logger.getLogger(FileUploadProcessor.class);
 
+    /**
+     * Upload management service.
+     */
+    @Inject
+    private UploadMgmtService uploadMgmtService;
+
     /**
      * Qiniu enabled.
      */
     private static final Boolean QN_ENABLED = StringUtils.isBlank(Solos.UPLOAD_DIR_PATH);
 
+    /**
+     * Max size of an uploaded file.
+     */
+    private static final int MAX_FILE_SIZE = 1024 * 1024 * 100;
+
+    /**
+     * Uploaded files larger than this size are spilled into temporary files instead of being held in memory.
+     */
+    private static final int MEMORY_THRESHOLD = 1024 * 64;
+
+    /**
+     * Uploader executor, writes (or pushes) uploaded files concurrently.
+     */
+    private static final ThreadPoolExecutor UPLOADER;
+
+    static {
+        final AtomicInteger threadNum = new AtomicInteger();
+        UPLOADER = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(64), r -> {
+            final Thread ret = new Thread(r, "FileUploader-" + threadNum.incrementAndGet());
+            ret.setDaemon(true);
+
+            return ret;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        UPLOADER.allowCoreThreadTimeOut(true);
+    }
+
     static {
         if (!QN_ENABLED) {
             final File file = new File(Solos.UPLOAD_DIR_PATH);
@@ -90,6 +137,14 @@ public class FileUploadProcessor {
 
     /**
      * Gets file by the specified URL.
+     * <p>
+     * Supports conditional requests (If-None-Match, If-Modified-Since) and single byte range requests (Range,
+     * If-Range). The content is transferred from file channels without buffering the file in heap.
+     * </p>
+     * <p>
+     * A resized variant of an image is served if the request has a width parameter (w) which is one of
+     * {@link Solos#IMAGE_VARIANT_WIDTHS}, see {@link ImageVariants} for details.
+     * </p>
      *
      * @param req  the specified request
      * @param resp the specified response
@@ -105,40 +160,103 @@ public class FileUploadProcessor {
         String key = StringUtils.substringAfter(uri, "/upload/");
         key = StringUtils.substringBeforeLast(key, "?"); // Erase Qiniu template
         key = StringUtils.substringBeforeLast(key, "?"); // Erase Qiniu template
+        key = URLs.decode(key);
 
-        String path = Solos.UPLOAD_DIR_PATH + key;
-        path = URLs.decode(path);
-
-        if (!FileUtil.isExistingFile(new File(path))) {
+        final File file = Uploads.getFile(key);
+        if (null == file) {
             resp.sendError(HttpServletResponse.SC_NOT_FOUND);
 
             return;
         }
 
-        final byte[] data = IOUtils.toByteArray(new FileInputStream(path));
+        final JSONObject meta = Uploads.getMeta(key, file);
+        String etag = "\"" + meta.optString(Uploads.ETAG) + "\"";
+        long lastModified = meta.optLong(Uploads.LAST_MODIFIED);
+        long length = meta.optLong(Uploads.LENGTH);
 
-        final String ifNoneMatch = req.getHeader("If-None-Match");
-        final String etag = "\"" + DigestUtils.md5Hex(new String(data)) + "\"";
+        File content = file;
+        final int width = NumberUtils.toInt(req.getParameter("w"));
+        if (Solos.IMAGE_VARIANT_WIDTHS.contains(width) && ImageVariants.isImage(key)) {
+            content = ImageVariants.getVariant(key, file, width);
+            if (content != file) {
+                etag = "\"" + meta.optString(Uploads.ETAG) + "-w" + width + "\"";
+                lastModified = content.lastModified();
+                length = content.length();
+            }
+        }
 
-        resp.addHeader("Cache-Control", "public, max-age=31536000");
+        final boolean blob = Uploads.BLOB_NAME_PATTERN.matcher(key).matches(); // Content-addressed, never changes
+        resp.addHeader("Cache-Control", "public, max-age=31536000" + (blob ? ", immutable" : ""));
         resp.addHeader("ETag", etag);
+        resp.setDateHeader("Last-Modified", lastModified);
+        resp.setHeader("Accept-Ranges", "bytes");
         resp.setHeader("Server", "Latke Static Server (v" + SoloServletListener.VERSION + ")");
-        final String ext = StringUtils.substringAfterLast(path, ".");
+        final String ext = StringUtils.substringAfterLast(key, ".");
         final String mimeType = MimeTypes.getMimeType(ext);
         resp.addHeader("Content-Type", mimeType);
 
-        if (etag.equals(ifNoneMatch)) {
+        if (isNotModified(req, etag, lastModified)) {
             resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
 
             return;
         }
 
-        try (final OutputStream output = resp.getOutputStream()) {
-            IOUtils.write(data, output);
+        long start = 0;
+        long count = length;
+        final String range = req.getHeader("Range");
+        if (StringUtils.isNotBlank(range) && isRangeFresh(req, etag, lastModified)) {
+            final long[] byteRange = parseRange(range, length);
+            if (null == byteRange) {
+                resp.setHeader("Content-Range", "bytes */" + length);
+                resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+
+                return;
+            }
+
+            if (2 == byteRange.length) {
+                start = byteRange[0];
+                count = byteRange[1] - byteRange[0] + 1;
+                resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                resp.setHeader("Content-Range", "bytes " + byteRange[0] + "-" + byteRange[1] + "/" + length);
+            }
+        }
+
+        resp.setContentLengthLong(count);
+        try (final FileChannel channel = FileChannel.open(content.toPath(), StandardOpenOption.READ)) {
+            final ServletOutputStream output = resp.getOutputStream();
+            if (output instanceof HttpOutput && count <= Integer.MAX_VALUE) {
+                // Jetty writes the mapped buffer to the socket directly, the content is never copied into heap
+                ((HttpOutput) output).sendContent(channel.map(FileChannel.MapMode.READ_ONLY, start, count));
+
+                return;
+            }
+
+            final WritableByteChannel target = Channels.newChannel(output);
+            long position = start;
+            final long end = start + count;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, target);
+            }
             output.flush();
         }
     }
 
+    /**
+     * Collects garbage of the local uploads, sweeps the blobs referenced by nothing.
+     *
+     * @param context the specified context
+     */
+    @RequestProcessing(value = "/console/upload/gc", method = HTTPRequestMethod.GET)
+    public void gc(final HTTPRequestContext context) {
+        context.setRenderer(new DoNothingRenderer());
+
+        if (QN_ENABLED) {
+            return;
+        }
+
+        uploadMgmtService.gcAsync();
+    }
+
     /**
      * Uploads file.
      *
@@ -149,17 +267,23 @@ public class FileUploadProcessor {
     public void uploadFile(final HTTPRequestContext context, final HttpServletRequest req) throws IOException {
         context.renderJSON();
 
-        final int maxSize = 1024 * 1024 * 100;
-        final MultipartStreamParser parser = new MultipartStreamParser(new MemoryFileUploadFactory().setMaxFileSize(maxSize));
-        parser.parseRequestStream(req.getInputStream(), "UTF-8");
+        final MultipartStreamParser parser = new MultipartStreamParser(new AdaptiveFileUploadFactory().
+                setMemoryThreshold(MEMORY_THRESHOLD).setMaxFileSize(MAX_FILE_SIZE));
+        try {
+            parser.parseRequestStream(req.getInputStream(), "UTF-8");
+        } catch (final IOException | RuntimeException e) {
+            // The files parsed before the failure are spilled already
+            for (final String fileParameterName : parser.getFileParameterNames()) {
+                deleteAll(parser.getFiles(fileParameterName));
+            }
+
+            throw e;
+        }
         final List<String> errFiles = new ArrayList();
         final Map<String, String> succMap = new LinkedHashMap<>();
-        final FileUpload[] files = parser.getFiles("file[]");
+        final FileUpload[] files = null == parser.getFiles("file[]") ? new FileUpload[0] : parser.getFiles("file[]");
         final String[] names = parser.getParameterValues("name[]");
-        String fileName;
 
-        Auth auth;
-        UploadManager uploadManager = null;
         String uploadToken = null;
         JSONObject qiniu = null;
         final String date = DateFormatUtils.format(System.currentTimeMillis(), "yyyy/MM");
@@ -172,57 +296,50 @@ public class FileUploadProcessor {
                     final String msg = "Qiniu settings failed, please visit https://hacpai.com/article/1442418791213 for more details";
                     LOGGER.log(Level.ERROR, msg);
                     context.renderMsg(msg);
+                    deleteAll(files);
 
                     return;
                 }
 
-                auth = Auth.create(qiniu.optString(Option.ID_C_QINIU_ACCESS_KEY), qiniu.optString(Option.ID_C_QINIU_SECRET_KEY));
+                final Auth auth = Auth.create(qiniu.optString(Option.ID_C_QINIU_ACCESS_KEY), qiniu.optString(Option.ID_C_QINIU_SECRET_KEY));
                 uploadToken = auth.uploadToken(qiniu.optString(Option.ID_C_QINIU_BUCKET), null, 3600 * 6, null);
-                uploadManager = new UploadManager(new Configuration());
             } catch (final Exception e) {
                 final String msg = "Qiniu settings failed, please visit https://hacpai.com/article/1442418791213 for more details";
                 LOGGER.log(Level.ERROR, msg);
                 context.renderMsg(msg);
+                deleteAll(files);
 
                 return;
             }
         }
 
-        for (int i = 0; i < files.length; i++) {
-            final FileUpload file = files[i];
-            String originalName = fileName = file.getHeader().getFileName();
-            originalName = originalName.replaceAll("\\W", "");
-            try {
-                String suffix = StringUtils.substringAfterLast(fileName, ".");
-                final String contentType = file.getHeader().getContentType();
-                if (StringUtils.isBlank(suffix)) {
-                    String[] exts = MimeTypes.findExtensionsByMimeTypes(contentType, false);
-                    if (null != exts && 0 < exts.length) {
-                        suffix = exts[0];
-                    } else {
-                        suffix = StringUtils.substringAfter(contentType, "/");
-                    }
-                }
+        // Writes (or pushes) the files concurrently, the results are collected in the order of the files
+        final List<Future<String>> futures = new ArrayList<>();
+        final List<String> originalNames = new ArrayList<>();
+        int submitted = 0;
+        try {
+            for (int i = 0; i < files.length; i++) {
+                final FileUpload file = files[i];
+                final String fileName = file.getHeader().getFileName();
+                originalNames.add(fileName.replaceAll("\\W", ""));
 
-                final String name = StringUtils.substringBeforeLast(fileName, ".");
-                final String processName = name.replaceAll("\\W", "");
-                final String uuid = UUID.randomUUID().toString().replaceAll("-", "");
-                fileName = uuid + '_' + processName + "." + suffix;
-
-                if (QN_ENABLED) {
-                    fileName = "file/" + date + "/" + fileName;
-                    if (!ArrayUtils.isEmpty(names)) {
-                        fileName = names[i];
-                    }
-                    uploadManager.put(file.getFileInputStream(), fileName, uploadToken, null, contentType);
-                    succMap.put(originalName, qiniu.optString(Option.ID_C_QINIU_DOMAIN) + "/" + fileName);
-                } else {
-                    try (final OutputStream output = new FileOutputStream(Solos.UPLOAD_DIR_PATH + fileName);
-                         final InputStream input = file.getFileInputStream()) {
-                        IOUtils.copy(input, output);
-                    }
-                    succMap.put(originalName, Latkes.getServePath() + "/upload/" + fileName);
-                }
+                final String specifiedName = null == names || i >= names.length ? null : names[i];
+                final String token = uploadToken;
+                final String qiniuDomain = null == qiniu ? null : qiniu.optString(Option.ID_C_QINIU_DOMAIN);
+                futures.add(UPLOADER.submit(() -> saveFile(file, fileName, specifiedName, date, token, qiniuDomain)));
+                submitted++;
+            }
+        } finally {
+            // The submitted files are deleted by the uploader, deletes the rest on the error path
+            if (submitted < files.length) {
+                deleteAll(Arrays.copyOfRange(files, submitted, files.length));
+            }
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            final String originalName = originalNames.get(i);
+            try {
+                succMap.put(originalName, futures.get(i).get());
             } catch (final Exception e) {
                 LOGGER.log(Level.WARN, "Uploads file failed", e);
 
@@ -235,4 +352,200 @@ public class FileUploadProcessor {
         data.put("succMap", succMap);
         context.renderJSONValue("data", data).renderTrueResult();
     }
+
+    /**
+     * Saves the specified uploaded file into the upload directory as a content-addressed blob or pushes it to Qiniu,
+     * and deletes the spilled temporary file of it.
+     *
+     * @param file          the specified uploaded file
+     * @param fileName      the specified file name
+     * @param specifiedName the specified Qiniu key, may be {@code null}
+     * @param date          the specified date path, for example "2018/08"
+     * @param uploadToken   the specified Qiniu upload token, {@code null} if saves into the upload directory
+     * @param qiniuDomain   the specified Qiniu domain, {@code null} if saves into the upload directory
+     * @return URL of the saved file
+     * @throws Exception exception
+     */
+    private static String saveFile(final FileUpload file, final String fileName, final String specifiedName,
+                                   final String date, final String uploadToken, final String qiniuDomain) throws Exception {
+        final long start = System.currentTimeMillis();
+        try {
+            if (!file.isValid()) {
+                throw new IOException("Invalid file [name=" + fileName + ", size=" + file.getSize() + "]");
+            }
+
+            String suffix = StringUtils.substringAfterLast(fileName, ".");
+            final String contentType = file.getHeader().getContentType();
+            if (StringUtils.isBlank(suffix)) {
+                String[] exts = MimeTypes.findExtensionsByMimeTypes(contentType, false);
+                if (null != exts && 0 < exts.length) {
+                    suffix = exts[0];
+                } else {
+                    suffix = StringUtils.substringAfter(contentType, "/");
+                }
+            }
+
+            if (null != uploadToken) {
+                final String name = StringUtils.substringBeforeLast(fileName, ".");
+                final String processName = name.replaceAll("\\W", "");
+                final String uuid = UUID.randomUUID().toString().replaceAll("-", "");
+                String ret = "file/" + date + "/" + uuid + '_' + processName + "." + suffix;
+                if (null != specifiedName) {
+                    ret = specifiedName;
+                }
+
+                try (final InputStream input = file.getFileInputStream()) {
+                    new UploadManager(new Configuration()).put(input, ret, uploadToken, null, contentType);
+                }
+                LOGGER.log(Level.DEBUG, "Pushed file [name={0}, size={1}] to Qiniu in {2}ms",
+                        ret, file.getSize(), System.currentTimeMillis() - start);
+
+                return qiniuDomain + "/" + ret;
+            }
+
+            final String ret;
+            try (final InputStream input = file.getFileInputStream()) {
+                ret = Uploads.store(input, suffix);
+            }
+            LOGGER.log(Level.DEBUG, "Saved file [name={0}, size={1}] in {2}ms",
+                    ret, file.getSize(), System.currentTimeMillis() - start);
+
+            return Latkes.getServePath() + "/upload/" + ret;
+        } finally {
+            delete(file);
+        }
+    }
+
+    /**
+     * Deletes the spilled temporary files of the specified uploaded files.
+     *
+     * @param files the specified uploaded files
+     */
+    private static void deleteAll(final FileUpload[] files) {
+        for (final FileUpload file : files) {
+            delete(file);
+        }
+    }
+
+    /**
+     * Deletes the spilled temporary file of the specified uploaded file.
+     *
+     * @param file the specified uploaded file
+     */
+    private static void delete(final FileUpload file) {
+        if (file instanceof AdaptiveFileUpload) {
+            ((AdaptiveFileUpload) file).delete();
+        }
+    }
+
+    /**
+     * Determines whether the file requested by the specified request is not modified.
+     *
+     * @param req          the specified request
+     * @param etag         the ETag of the file
+     * @param lastModified the last modified time of the file
+     * @return {@code true} if not modified, returns {@code false} otherwise
+     */
+    private static boolean isNotModified(final HttpServletRequest req, final String etag, final long lastModified) {
+        final String ifNoneMatch = req.getHeader("If-None-Match");
+        if (null != ifNoneMatch) {
+            for (final String tag : ifNoneMatch.split(",")) {
+                final String t = StringUtils.removeStart(tag.trim(), "W/");
+                if ("*".equals(t) || etag.equals(t)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        final long ifModifiedSince = getDateHeader(req, "If-Modified-Since");
+
+        return -1 != ifModifiedSince && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * Determines whether the range of the specified request should be applied, checks the If-Range header.
+     *
+     * @param req          the specified request
+     * @param etag         the ETag of the file
+     * @param lastModified the last modified time of the file
+     * @return {@code true} if the range should be applied, returns {@code false} if the full file should be sent
+     */
+    private static boolean isRangeFresh(final HttpServletRequest req, final String etag, final long lastModified) {
+        final String ifRange = req.getHeader("If-Range");
+        if (StringUtils.isBlank(ifRange)) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etag.equals(ifRange.trim());
+        }
+
+        return lastModified / 1000 == getDateHeader(req, "If-Range") / 1000;
+    }
+
+    /**
+     * Parses the specified Range header value. Only a single byte range is supported, multiple ranges are ignored.
+     *
+     * @param range  the specified Range header value, for example "bytes=0-499", "bytes=500-", "bytes=-500"
+     * @param length the length of the file
+     * @return {@code [first, last]} of the range, returns an empty array if the range should be ignored, returns
+     * {@code null} if the range is not satisfiable
+     */
+    private static long[] parseRange(final String range, final long length) {
+        if (!range.startsWith("bytes=") || range.contains(",")) {
+            return new long[0];
+        }
+
+        final String spec = StringUtils.substringAfter(range, "bytes=").trim();
+        final String firstStr = StringUtils.substringBefore(spec, "-").trim();
+        final String lastStr = StringUtils.substringAfter(spec, "-").trim();
+        if (!spec.contains("-") || !StringUtils.isNumeric(firstStr) || !StringUtils.isNumeric(lastStr)
+                || (firstStr.isEmpty() && lastStr.isEmpty())) {
+            return new long[0];
+        }
+
+        try {
+            if (firstStr.isEmpty()) { // Suffix range, the last n bytes
+                final long suffix = Long.parseLong(lastStr);
+                if (0 == suffix || 0 == length) {
+                    return null;
+                }
+
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+
+            final long first = Long.parseLong(firstStr);
+            long last = lastStr.isEmpty() ? length - 1 : Long.parseLong(lastStr);
+            if (last < first) {
+                return new long[0];
+            }
+
+            if (first >= length) {
+                return null;
+            }
+
+            last = Math.min(last, length - 1);
+
+            return new long[]{first, last};
+        } catch (final NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    /**
+     * Gets a date header of the specified request.
+     *
+     * @param req  the specified request
+     * @param name the specified header name
+     * @return date header value, returns {@code -1} if not found or malformed
+     */
+    private static long getDateHeader(final HttpServletRequest req, final String name) {
+        try {
+            return req.getDateHeader(name);
+        } catch (final IllegalArgumentException e) {
+            return -1;
+        }
+    }
 }
@@ -34,16 +34,16 @@ import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.freemarker.AbstractFreeMarkerRenderer;
 import org.b3log.latke.util.Locales;
 import org.b3log.latke.util.Requests;
-import org.b3log.latke.util.freemarker.Templates;
-import org.b3log.solo.SoloServletListener;
 import org.b3log.solo.model.Common;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Skin;
 import org.b3log.solo.processor.renderer.ConsoleRenderer;
 import org.b3log.solo.processor.renderer.SkinRenderer;
 import org.b3log.solo.processor.util.Filler;
+import org.b3log.solo.service.ArticleQueryService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.StatisticMgmtService;
+import org.b3log.solo.util.LayeredHashModel;
 import org.b3log.solo.util.Skins;
 import org.json.JSONObject;
 
@@ -61,7 +61,7 @@ import java.util.Set;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="mailto:385321165@qq.com">DASHU</a>
- * @version 1.2.4.7, Jun 22, 2018
+ * @version 1.2.4.12, Oct 19, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -96,6 +96,12 @@ public class IndexProcessor {
     @Inject
     private StatisticMgmtService statisticMgmtService;
 
+    /**
+     * Article query service.
+     */
+    @Inject
+    private ArticleQueryService articleQueryService;
+
     /**
      * Gets the request page number from the specified request URI.
      *
@@ -144,17 +150,16 @@ public class IndexProcessor {
 
             final Set<String> skinDirNames = Skins.getSkinDirNames();
             if (skinDirNames.contains(specifiedSkin)) {
-                Templates.MAIN_CFG.setServletContextForTemplateLoading(SoloServletListener.getServletContext(),
-                        "/skins/" + specifiedSkin);
                 request.setAttribute(Keys.TEMAPLTE_DIR_NAME, specifiedSkin);
             }
 
-            Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel);
-
-            filler.fillIndexArticles(request, dataModel, currentPageNum, preference);
-
-            filler.fillSide(request, dataModel, preference);
-            filler.fillBlogHeader(request, response, dataModel, preference);
+            final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+            final Map<String, String> viewPwds = articleQueryService.getViewPwds(request);
+            filler.fillConcurrently(dataModel,
+                    dm -> filler.fillBlogHeader(request, response, dm, preference),
+                    dm -> Skins.fillLangs(preference.optString(Option.ID_C_LOCALE_STRING), skinDirName, dm),
+                    dm -> filler.fillIndexArticles(skinDirName, viewPwds, dm, currentPageNum, preference),
+                    dm -> filler.fillSide(skinDirName, dm, preference));
             filler.fillBlogFooter(request, dataModel, preference);
 
             dataModel.put(Pagination.PAGINATION_CURRENT_PAGE_NUM, currentPageNum);
@@ -205,7 +210,7 @@ public class IndexProcessor {
         try {
             final Map<String, String> langs = langPropsService.getAll(Locales.getLocale(request));
 
-            dataModel.putAll(langs);
+            LayeredHashModel.addLayer(dataModel, langs);
             final JSONObject preference = preferenceQueryService.getPreference();
 
             filler.fillBlogHeader(request, response, dataModel, preference);
@@ -244,7 +249,7 @@ public class IndexProcessor {
         try {
             final Map<String, String> langs = langPropsService.getAll(Locales.getLocale(request));
 
-            dataModel.putAll(langs);
+            LayeredHashModel.addLayer(dataModel, langs);
 
             final JSONObject preference = preferenceQueryService.getPreference();
 
@@ -290,7 +295,7 @@ public class IndexProcessor {
                 final StringWriter stringWriter = new StringWriter();
 
                 template.setOutputEncoding("UTF-8");
-                template.process(getDataModel(), stringWriter);
+                template.process(LayeredHashModel.wrap(getDataModel(), template.getObjectWrapper()), stringWriter);
 
                 final String pageContent = stringWriter.toString();
 
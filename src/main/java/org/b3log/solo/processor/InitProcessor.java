@@ -40,6 +40,7 @@ import org.b3log.solo.model.UserExt;
 import org.b3log.solo.processor.renderer.ConsoleRenderer;
 import org.b3log.solo.processor.util.Filler;
 import org.b3log.solo.service.InitService;
+import org.b3log.solo.util.LayeredHashModel;
 import org.b3log.solo.util.QueryResults;
 import org.b3log.solo.util.Thumbnails;
 import org.json.JSONObject;
@@ -54,7 +55,7 @@ import java.util.Map;
  * Solo initialization service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.0.12, Mar 3, 2018
+ * @version 1.2.0.13, Oct 19, 2026
  * @since 0.4.0
  */
 @RequestProcessor
@@ -109,7 +110,7 @@ public class InitProcessor {
 
         final Map<String, String> langs = langPropsService.getAll(Locales.getLocale(request));
 
-        dataModel.putAll(langs);
+        LayeredHashModel.addLayer(dataModel, langs);
 
         dataModel.put(Common.VERSION, SoloServletListener.VERSION);
         dataModel.put(Common.STATIC_RESOURCE_VERSION, Latkes.getStaticResourceVersion());
@@ -47,6 +47,7 @@ import org.b3log.solo.processor.renderer.ConsoleRenderer;
 import org.b3log.solo.processor.util.Filler;
 import org.b3log.solo.repository.OptionRepository;
 import org.b3log.solo.service.*;
+import org.b3log.solo.util.LayeredHashModel;
 import org.b3log.solo.util.Mails;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -64,7 +65,7 @@ import java.util.Map;
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
  * @author <a href="mailto:dongxu.wang@acm.org">Dongxu Wang</a>
  * @author <a href="https://github.com/nanolikeyou">nanolikeyou</a>
- * @version 1.1.1.12, Aug 2, 2018
+ * @version 1.1.1.13, Oct 19, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -441,7 +442,7 @@ public class LoginProcessor {
         final Map<String, String> langs = langPropsService.getAll(Latkes.getLocale());
         final JSONObject preference = preferenceQueryService.getPreference();
 
-        dataModel.putAll(langs);
+        LayeredHashModel.addLayer(dataModel, langs);
         dataModel.put(Common.GOTO, destinationURL);
         dataModel.put(Common.YEAR, String.valueOf(Calendar.getInstance().get(Calendar.YEAR)));
         dataModel.put(Common.VERSION, SoloServletListener.VERSION);
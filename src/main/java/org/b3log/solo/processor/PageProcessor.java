@@ -51,7 +51,7 @@ import java.util.Map;
  * Page processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.7, Jun 22, 2018
+ * @version 1.1.0.10, Oct 19, 2026
  * @since 0.3.1
  */
 @RequestProcessor
@@ -115,7 +115,8 @@ public class PageProcessor {
                 return;
             }
 
-            Skins.fillLangs(preference.getString(Option.ID_C_LOCALE_STRING), (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel);
+            final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+            Skins.fillLangs(preference.getString(Option.ID_C_LOCALE_STRING), skinDirName, dataModel);
 
             // See PermalinkFilter#dispatchToArticleOrPageProcessor()
             final JSONObject page = (JSONObject) request.getAttribute(Page.PAGE);
@@ -146,8 +147,9 @@ public class PageProcessor {
                 Stopwatchs.end();
             }
 
-            filler.fillSide(request, dataModel, preference);
-            filler.fillBlogHeader(request, response, dataModel, preference);
+            filler.fillConcurrently(dataModel,
+                    dm -> filler.fillBlogHeader(request, response, dm, preference),
+                    dm -> filler.fillSide(skinDirName, dm, preference));
             filler.fillBlogFooter(request, dataModel, preference);
 
             statisticMgmtService.incBlogViewCount(request, response);
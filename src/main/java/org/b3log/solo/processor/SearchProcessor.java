@@ -19,6 +19,7 @@ package org.b3log.solo.processor;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
@@ -40,6 +41,7 @@ import org.b3log.solo.processor.util.Filler;
 import org.b3log.solo.service.ArticleQueryService;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.UserQueryService;
+import org.b3log.solo.util.LayeredHashModel;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
 import org.jsoup.safety.Whitelist;
@@ -55,7 +57,7 @@ import java.util.Map;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.1.0.0, May 29, 2018
+ * @version 1.1.0.3, Oct 19, 2026
  * @since 2.4.0
  */
 @RequestProcessor
@@ -133,7 +135,7 @@ public class SearchProcessor {
 
         final Map<String, String> langs = langPropsService.getAll(Latkes.getLocale());
         final Map<String, Object> dataModel = renderer.getDataModel();
-        dataModel.putAll(langs);
+        LayeredHashModel.addLayer(dataModel, langs);
 
         final HttpServletRequest request = context.getRequest();
 
@@ -155,9 +157,11 @@ public class SearchProcessor {
         try {
             final JSONObject preference = preferenceQueryService.getPreference();
 
-            filler.fillBlogHeader(request, context.getResponse(), dataModel, preference);
+            final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+            filler.fillConcurrently(dataModel,
+                    dm -> filler.fillBlogHeader(request, context.getResponse(), dm, preference),
+                    dm -> filler.fillSide(skinDirName, dm, preference));
             filler.fillBlogFooter(request, dataModel, preference);
-            filler.fillSide(request, dataModel, preference);
 
             final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
             if (hasMultipleUsers) {
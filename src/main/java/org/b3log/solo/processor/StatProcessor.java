@@ -17,25 +17,48 @@
  */
 package org.b3log.solo.processor;
 
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.DoNothingRenderer;
+import org.b3log.solo.event.AsyncEventListener;
 import org.b3log.solo.service.StatisticMgmtService;
+import org.b3log.solo.service.SyncMgmtService;
 
 /**
  * Statistics processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.2.1, Jul 25, 2018
+ * @version 1.0.5.0, Oct 19, 2026
  * @since 0.4.0
  */
 @RequestProcessor
 public class StatProcessor {
 
     /**
-     * Online visitor count refresher.
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(StatProcessor.class);
+
+    /**
+     * Statistic management service.
+     */
+    @Inject
+    private StatisticMgmtService statisticMgmtService;
+
+    /**
+     * Sync management service.
+     */
+    @Inject
+    private SyncMgmtService syncMgmtService;
+
+    /**
+     * Online visitor count refresher, flushes unique visitor statistic and logs asynchronous event listener and sync
+     * metrics as well.
      *
      * @param context the specified context
      */
@@ -44,5 +67,9 @@ public class StatProcessor {
         context.setRenderer(new DoNothingRenderer());
 
         StatisticMgmtService.removeExpiredOnlineVisitor();
+        statisticMgmtService.flushUniqueVisitors();
+
+        LOGGER.log(Level.DEBUG, "Async event listener metrics [{0}]", AsyncEventListener.getAllMetrics());
+        LOGGER.log(Level.DEBUG, "Sync metrics [{0}]", syncMgmtService.getMetrics());
     }
 }
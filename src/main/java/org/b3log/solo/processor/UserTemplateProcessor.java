@@ -31,12 +31,12 @@ import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.freemarker.AbstractFreeMarkerRenderer;
 import org.b3log.latke.util.Locales;
-import org.b3log.latke.util.freemarker.Templates;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.processor.renderer.SkinRenderer;
 import org.b3log.solo.processor.util.Filler;
 import org.b3log.solo.service.PreferenceQueryService;
 import org.b3log.solo.service.StatisticMgmtService;
+import org.b3log.solo.util.LayeredHashModel;
 import org.b3log.solo.util.Skins;
 import org.json.JSONObject;
 
@@ -58,7 +58,7 @@ import java.util.Map;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.6, Jun 22, 2018
+ * @version 1.0.0.8, Oct 19, 2026
  * @since 0.4.5
  */
 @RequestProcessor
@@ -117,7 +117,7 @@ public class UserTemplateProcessor {
 
         final Map<String, Object> dataModel = renderer.getDataModel();
 
-        final Template template = Templates.getTemplate((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), templateName);
+        final Template template = Skins.getTemplate((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), templateName);
 
         if (null == template) {
             try {
@@ -132,7 +132,7 @@ public class UserTemplateProcessor {
         try {
             final Map<String, String> langs = langPropsService.getAll(Locales.getLocale(request));
 
-            dataModel.putAll(langs);
+            LayeredHashModel.addLayer(dataModel, langs);
             final JSONObject preference = preferenceQueryService.getPreference();
 
             filler.fillBlogHeader(request, response, dataModel, preference);
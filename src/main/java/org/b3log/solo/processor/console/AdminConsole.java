@@ -46,15 +46,20 @@ import org.b3log.latke.util.Strings;
 import org.b3log.solo.SoloServletListener;
 import org.b3log.solo.model.Common;
 import org.b3log.solo.model.Option;
+import org.b3log.solo.model.Outbox;
 import org.b3log.solo.model.Skin;
 import org.b3log.solo.model.UserExt;
 import org.b3log.solo.processor.renderer.ConsoleRenderer;
 import org.b3log.solo.processor.util.Filler;
 import org.b3log.solo.service.ExportService;
 import org.b3log.solo.service.OptionQueryService;
+import org.b3log.solo.service.OutboxQueryService;
 import org.b3log.solo.service.PreferenceQueryService;
+import org.b3log.solo.service.StatisticQueryService;
 import org.b3log.solo.service.UserQueryService;
+import org.b3log.solo.util.LayeredHashModel;
 import org.b3log.solo.util.Thumbnails;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 import javax.servlet.ServletOutputStream;
@@ -73,7 +78,7 @@ import java.util.*;
  * Admin console render processing.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.7.0.4, Aug 8, 2018
+ * @version 1.7.2.0, Oct 19, 2026
  * @since 0.4.1
  */
 @RequestProcessor
@@ -114,6 +119,18 @@ public class AdminConsole {
     @Inject
     private ExportService exportService;
 
+    /**
+     * Statistic query service.
+     */
+    @Inject
+    private StatisticQueryService statisticQueryService;
+
+    /**
+     * Outbox query service.
+     */
+    @Inject
+    private OutboxQueryService outboxQueryService;
+
     /**
      * Filler.
      */
@@ -150,7 +167,7 @@ public class AdminConsole {
         final Map<String, String> langs = langPropsService.getAll(Latkes.getLocale());
         final Map<String, Object> dataModel = renderer.getDataModel();
 
-        dataModel.putAll(langs);
+        LayeredHashModel.addLayer(dataModel, langs);
 
         final JSONObject currentUser = userQueryService.getCurrentUser(request);
         final String userName = currentUser.optString(User.USER_NAME);
@@ -228,13 +245,81 @@ public class AdminConsole {
 
         dataModel.put("supportExport", Latkes.RuntimeDatabase.MYSQL == Latkes.getRuntimeDatabase()
                 || Latkes.RuntimeDatabase.H2 == Latkes.getRuntimeDatabase());
-        dataModel.putAll(langs);
+        LayeredHashModel.addLayer(dataModel, langs);
         Keys.fillRuntime(dataModel);
         dataModel.put(Option.ID_C_LOCALE_STRING, locale.toString());
 
+        if ("admin-main.ftl".equals(templateName)) {
+            fillUniqueVisitors(dataModel);
+            fillFailedMails(dataModel);
+        }
+
         fireFreeMarkerActionEvent(templateName, dataModel);
     }
 
+    /**
+     * Fills the latest failed mails of the outbox into the specified data model.
+     *
+     * @param dataModel the specified data model
+     */
+    private void fillFailedMails(final Map<String, Object> dataModel) {
+        final List<Map<String, Object>> failedMails = new ArrayList<>();
+        dataModel.put("failedMails", failedMails);
+
+        try {
+            for (final JSONObject mail : outboxQueryService.getFailedMails(10)) {
+                final Map<String, Object> failedMail = new HashMap<>();
+                failedMail.put("time", DateFormatUtils.format(mail.optLong(Outbox.OUTBOX_NEXT_TIME), "yyyy-MM-dd HH:mm:ss"));
+                failedMail.put("to", mail.optString(Outbox.OUTBOX_TO));
+                failedMail.put("subject", mail.optString(Outbox.OUTBOX_SUBJECT));
+                failedMail.put("error", mail.optString(Outbox.OUTBOX_ERROR));
+                failedMails.add(failedMail);
+            }
+        } catch (final ServiceException e) {
+            LOGGER.log(Level.ERROR, "Gets failed mails failed", e);
+        }
+    }
+
+    /**
+     * Fills the daily and monthly unique visitor series into the specified data model.
+     *
+     * @param dataModel the specified data model
+     */
+    private void fillUniqueVisitors(final Map<String, Object> dataModel) {
+        final List<Map<String, Object>> daily = new ArrayList<>();
+        final List<Map<String, Object>> monthly = new ArrayList<>();
+        dataModel.put("uniqueVisitorsDaily", daily);
+        dataModel.put("uniqueVisitorsMonthly", monthly);
+
+        try {
+            final JSONObject series = statisticQueryService.getUniqueVisitorSeries();
+            final JSONArray dailyArray = series.optJSONArray("daily");
+            for (int i = dailyArray.length() - 1; i >= 0 && daily.size() < 30; i--) {
+                daily.add(toMap(dailyArray.optJSONObject(i)));
+            }
+            final JSONArray monthlyArray = series.optJSONArray("monthly");
+            for (int i = monthlyArray.length() - 1; i >= 0 && monthly.size() < 12; i--) {
+                monthly.add(toMap(monthlyArray.optJSONObject(i)));
+            }
+        } catch (final ServiceException e) {
+            LOGGER.log(Level.ERROR, "Gets unique visitors failed", e);
+        }
+    }
+
+    /**
+     * Converts the specified unique visitor item to a map.
+     *
+     * @param item the specified unique visitor item, {"period": "", "count": long}
+     * @return map
+     */
+    private static Map<String, Object> toMap(final JSONObject item) {
+        final Map<String, Object> ret = new HashMap<>();
+        ret.put("period", item.optString("period"));
+        ret.put("count", item.optLong("count"));
+
+        return ret;
+    }
+
     /**
      * Shows administrator preference function with the specified context.
      *
@@ -255,7 +340,7 @@ public class AdminConsole {
         final Map<String, String> langs = langPropsService.getAll(locale);
         final Map<String, Object> dataModel = renderer.getDataModel();
 
-        dataModel.putAll(langs);
+        LayeredHashModel.addLayer(dataModel, langs);
         dataModel.put(Option.ID_C_LOCALE_STRING, locale.toString());
 
         JSONObject preference = null;
@@ -535,7 +620,7 @@ public class AdminConsole {
             final ViewLoadEventData data = new ViewLoadEventData();
 
             data.setViewName(hostTemplateName);
-            data.setDataModel(dataModel);
+            data.setDataModel(LayeredHashModel.asMap(dataModel));
             eventManager.fireEventSynchronously(new Event<ViewLoadEventData>(Keys.FREEMARKER_ACTION, data));
             if (Strings.isEmptyOrNull((String) dataModel.get(Plugin.PLUGINS))) {
                 // There is no plugin for this template, fill ${plugins} with blank.
@@ -17,7 +17,9 @@
  */
 package org.b3log.solo.processor.console;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
@@ -47,14 +49,18 @@ import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Article console request processing.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.2, May 17, 2018
+ * @version 1.2.0.1, Oct 19, 2026
  * @since 0.4.0
  */
 @RequestProcessor
@@ -65,6 +71,16 @@ public class ArticleConsole {
      */
     private static final Logger LOGGER = Logger.getLogger(ArticleConsole.class);
 
+    /**
+     * Session attribute key of markdown previews, &lt;previewId, {"version": int, "hashes": [block hash]}&gt;.
+     */
+    private static final String MARKDOWN_PREVIEWS = "markdownPreviews";
+
+    /**
+     * Max markdown previews held in a session.
+     */
+    private static final int MAX_MARKDOWN_PREVIEWS = 8;
+
     /**
      * Article management service.
      */
@@ -145,10 +161,26 @@ public class ArticleConsole {
      * }
      * </pre>
      * </p>
+     * <p>
+     * In incremental mode, the server holds the block hashes of the last version of the preview in session, only
+     * the changed top-level blocks are rendered and responded as a patch, for example,
+     * <pre>
+     * {
+     *     "version": int, // version of this patch, should be sent as "previewVersion" in the next request
+     *     "full": boolean, // true if "blocks" are all blocks of the document
+     *     "start": int, // the first changed block index
+     *     "deleteCount": int, // count of the blocks replaced since "start"
+     *     "blocks": [""] // HTML of the inserted blocks
+     * }
+     * </pre>
+     * </p>
      *
      * @param request  the specified http servlet request, for example,
      *                 {
-     *                 "markdownText": ""
+     *                 "markdownText": "",
+     *                 "incremental": boolean, // optional
+     *                 "previewId": "", // optional, identifies the editor in incremental mode
+     *                 "previewVersion": int // optional, version of the last applied patch in incremental mode
      *                 }
      * @param response the specified http servlet response
      * @param context  the specified http request context
@@ -177,6 +209,12 @@ public class ArticleConsole {
         }
 
         try {
+            if (Boolean.valueOf(request.getParameter("incremental"))) {
+                markdown2HTMLIncrementally(request, Emotions.convert(markdownText), result);
+
+                return;
+            }
+
             String html = Emotions.convert(markdownText);
             html = Markdowns.toHTML(html);
 
@@ -190,6 +228,73 @@ public class ArticleConsole {
         }
     }
 
+    /**
+     * Renders the changed blocks of the specified markdown text against the last version held in session.
+     *
+     * @param request      the specified http servlet request
+     * @param markdownText the specified markdown text
+     * @param result       the specified result
+     */
+    private void markdown2HTMLIncrementally(final HttpServletRequest request, final String markdownText, final JSONObject result) {
+        final List<String> blocks = Markdowns.splitBlocks(markdownText);
+
+        // Keys of blocks, "${md5}_${n}" for the n-th occurrence of a block, also used as the heading id prefixes so
+        // the heading ids of unchanged blocks stay and do not collide with the ones of re-rendered blocks
+        final List<String> hashes = new ArrayList<>(blocks.size());
+        final Map<String, Integer> occurrences = new HashMap<>();
+        for (final String block : blocks) {
+            final String hash = DigestUtils.md5Hex(block).substring(0, 8);
+            final int occurrence = occurrences.merge(hash, 1, Integer::sum) - 1;
+            hashes.add(hash + "_" + occurrence);
+        }
+
+        final HttpSession session = request.getSession();
+        final String previewId = StringUtils.defaultString(request.getParameter("previewId"));
+        final int clientVersion = NumberUtils.toInt(request.getParameter("previewVersion"), -1);
+        synchronized (session) {
+            @SuppressWarnings("unchecked")
+            Map<String, JSONObject> previews = (Map<String, JSONObject>) session.getAttribute(MARKDOWN_PREVIEWS);
+            if (null == previews || MAX_MARKDOWN_PREVIEWS < previews.size()) {
+                previews = new HashMap<>();
+            }
+
+            final JSONObject last = previews.get(previewId);
+            final boolean full = null == last || last.optInt("version") != clientVersion;
+            int start = 0;
+            int deleteCount = 0;
+            int end = hashes.size();
+            if (!full) {
+                final JSONArray lastHashes = last.optJSONArray("hashes");
+                final int min = Math.min(lastHashes.length(), hashes.size());
+                while (start < min && lastHashes.optString(start).equals(hashes.get(start))) {
+                    start++;
+                }
+                int suffix = 0;
+                while (suffix < min - start
+                        && lastHashes.optString(lastHashes.length() - 1 - suffix).equals(hashes.get(hashes.size() - 1 - suffix))) {
+                    suffix++;
+                }
+                deleteCount = lastHashes.length() - start - suffix;
+                end = hashes.size() - suffix;
+            }
+
+            final JSONArray htmls = new JSONArray();
+            for (int i = start; i < end; i++) {
+                htmls.put(Markdowns.toBlockHTML(blocks.get(i), hashes.get(i)));
+            }
+
+            final int version = null == last ? 1 : last.optInt("version") + 1;
+            previews.put(previewId, new JSONObject().put("version", version).put("hashes", new JSONArray(hashes)));
+            session.setAttribute(MARKDOWN_PREVIEWS, previews);
+
+            result.put("version", version);
+            result.put("full", full);
+            result.put("start", start);
+            result.put("deleteCount", deleteCount);
+            result.put("blocks", htmls);
+        }
+    }
+
     /**
      * Gets an article by the specified request json object.
      * <p>
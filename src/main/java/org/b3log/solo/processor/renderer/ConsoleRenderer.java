@@ -20,20 +20,26 @@ package org.b3log.solo.processor.renderer;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateExceptionHandler;
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.Keys;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.renderer.freemarker.AbstractFreeMarkerRenderer;
 import org.b3log.solo.SoloServletListener;
+import org.b3log.solo.util.LayeredHashModel;
 
 import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
 
 /**
  * <a href="http://freemarker.org">FreeMarker</a> HTTP response renderer for administrator console and initialization
  * rendering.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.4, May 14, 2018
+ * @version 1.0.2.0, Oct 19, 2026
  * @since 0.4.1
  */
 public final class ConsoleRenderer extends AbstractFreeMarkerRenderer {
@@ -68,6 +74,31 @@ public final class ConsoleRenderer extends AbstractFreeMarkerRenderer {
         }
     }
 
+    /**
+     * Processes the specified FreeMarker template with the specified request and layered data model.
+     *
+     * @param request   the specified request
+     * @param dataModel the specified data model
+     * @param template  the specified FreeMarker template
+     * @return generated HTML
+     * @throws Exception exception
+     */
+    @Override
+    protected String genHTML(final HttpServletRequest request, final Map<String, Object> dataModel, final Template template)
+            throws Exception {
+        final StringWriter stringWriter = new StringWriter();
+
+        template.setOutputEncoding("UTF-8");
+        template.process(LayeredHashModel.wrap(dataModel, template.getObjectWrapper()), stringWriter);
+
+        final long endTimeMillis = System.currentTimeMillis();
+        final String dateString = DateFormatUtils.format(endTimeMillis, "yyyy/MM/dd HH:mm:ss");
+        final long startTimeMillis = (Long) request.getAttribute(Keys.HttpRequest.START_TIME_MILLIS);
+        final String msg = String.format("\n<!-- Generated by Latke (https://github.com/b3log/latke) in %1$dms, %2$s -->", endTimeMillis - startTimeMillis, dateString);
+
+        return stringWriter.toString() + msg;
+    }
+
     @Override
     protected void beforeRender(final HTTPRequestContext context) throws Exception {
     }
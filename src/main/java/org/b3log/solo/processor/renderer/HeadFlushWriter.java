@@ -0,0 +1,112 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.processor.renderer;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer flushes the underlying writer once the end of HTML head has been written, so the head (CSS and JavaScript
+ * links) reaches browsers early and they can start fetching assets while the body is still being rendered.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+final class HeadFlushWriter extends FilterWriter {
+
+    /**
+     * Head end matcher.
+     */
+    private final MarkerMatcher headEnd = new MarkerMatcher("</head>");
+
+    /**
+     * Whether the head has been flushed.
+     */
+    private boolean flushed;
+
+    /**
+     * Constructs a head flush writer with the specified underlying writer.
+     *
+     * @param out the specified underlying writer
+     */
+    HeadFlushWriter(final Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        out.write(c);
+        if (!flushed && headEnd.feed((char) c)) {
+            flushHead();
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        if (flushed) {
+            out.write(cbuf, off, len);
+
+            return;
+        }
+
+        for (int i = off; i < off + len; i++) {
+            if (headEnd.feed(cbuf[i])) {
+                out.write(cbuf, off, i + 1 - off);
+                flushHead();
+                out.write(cbuf, i + 1, off + len - i - 1);
+
+                return;
+            }
+        }
+
+        out.write(cbuf, off, len);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        if (flushed) {
+            out.write(str, off, len);
+
+            return;
+        }
+
+        for (int i = off; i < off + len; i++) {
+            if (headEnd.feed(str.charAt(i))) {
+                out.write(str, off, i + 1 - off);
+                flushHead();
+                out.write(str, i + 1, off + len - i - 1);
+
+                return;
+            }
+        }
+
+        out.write(str, off, len);
+    }
+
+    /**
+     * Flushes the head.
+     *
+     * @throws IOException io exception
+     */
+    private void flushHead() throws IOException {
+        flushed = true;
+        out.flush();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.processor.renderer;
+
+/**
+ * Streaming marker matcher, finds a marker in a character stream fed one by one (Knuth-Morris-Pratt).
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+final class MarkerMatcher {
+
+    /**
+     * Marker.
+     */
+    private final char[] marker;
+
+    /**
+     * Failure table, the length of the longest proper prefix of marker[0..i] which is also a suffix of it.
+     */
+    private final int[] failure;
+
+    /**
+     * Count of the marker characters matched currently.
+     */
+    private int matched;
+
+    /**
+     * Constructs a matcher with the specified marker.
+     *
+     * @param marker the specified marker, must not be empty
+     */
+    MarkerMatcher(final String marker) {
+        this.marker = marker.toCharArray();
+        failure = new int[this.marker.length];
+
+        int k = 0;
+        for (int i = 1; i < this.marker.length; i++) {
+            while (k > 0 && this.marker[i] != this.marker[k]) {
+                k = failure[k - 1];
+            }
+
+            if (this.marker[i] == this.marker[k]) {
+                k++;
+            }
+
+            failure[i] = k;
+        }
+    }
+
+    /**
+     * Feeds the specified character.
+     *
+     * @param c the specified character
+     * @return {@code true} if the marker is matched completely with the character, returns {@code false} otherwise
+     */
+    boolean feed(final char c) {
+        while (matched > 0 && c != marker[matched]) {
+            matched = failure[matched - 1];
+        }
+
+        if (c == marker[matched]) {
+            matched++;
+        }
+
+        if (marker.length == matched) {
+            matched = 0;
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the count of the marker characters matched currently, the last fed characters equal to the marker prefix
+     * of this length.
+     *
+     * @return matched count
+     */
+    int getMatched() {
+        return matched;
+    }
+
+    /**
+     * Gets the marker.
+     *
+     * @return marker
+     */
+    char[] getMarker() {
+        return marker;
+    }
+}
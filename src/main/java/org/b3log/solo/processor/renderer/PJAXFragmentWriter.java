@@ -0,0 +1,117 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.processor.renderer;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer writes only the fragment of the specified pjax container to the underlying writer, the fragment is delimited
+ * by markers in templates:
+ * <pre>
+ * &lt;!---- pjax {#pjax} start ----&gt;
+ * ....
+ * &lt;!---- pjax {#pjax} end ----&gt;
+ * </pre>
+ * The rest of the page is discarded as soon as it is generated.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+final class PJAXFragmentWriter extends FilterWriter {
+
+    /**
+     * Fragment start matcher.
+     */
+    private final MarkerMatcher start;
+
+    /**
+     * Fragment end matcher.
+     */
+    private final MarkerMatcher end;
+
+    /**
+     * Whether the fragment is being written.
+     */
+    private boolean inFragment;
+
+    /**
+     * Whether the fragment has been written.
+     */
+    private boolean done;
+
+    /**
+     * Constructs a pjax fragment writer with the specified underlying writer and pjax container.
+     *
+     * @param out           the specified underlying writer
+     * @param pjaxContainer the specified pjax container, for example "#pjax"
+     */
+    PJAXFragmentWriter(final Writer out, final String pjaxContainer) {
+        super(out);
+
+        start = new MarkerMatcher("<!---- pjax {" + pjaxContainer + "} start ---->");
+        end = new MarkerMatcher("<!---- pjax {" + pjaxContainer + "} end ---->");
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        if (done) {
+            return;
+        }
+
+        if (!inFragment) {
+            inFragment = start.feed((char) c);
+
+            return;
+        }
+
+        final int pending = end.getMatched();
+        if (end.feed((char) c)) {
+            inFragment = false;
+            done = true;
+
+            return;
+        }
+
+        // The pending characters equal to marker[0..pending), write those are no longer a part of the end marker
+        final int confirmed = pending + 1 - end.getMatched();
+        final char[] marker = end.getMarker();
+        if (confirmed <= pending) {
+            out.write(marker, 0, confirmed);
+        } else {
+            out.write(marker, 0, pending);
+            out.write(c);
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            write(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            write(str.charAt(i));
+        }
+    }
+}
@@ -21,19 +21,27 @@ import freemarker.template.Template;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.renderer.freemarker.AbstractFreeMarkerRenderer;
+import org.b3log.solo.util.LayeredHashModel;
+import org.b3log.solo.util.Skins;
 
 import javax.servlet.http.HttpServletRequest;
-import java.io.StringWriter;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
- * Skin renderer.
+ * Skin renderer, renders templates straight to the response.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Jun 22, 2018
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 2.9.1
  */
 public final class SkinRenderer extends AbstractFreeMarkerRenderer {
@@ -43,6 +51,11 @@ public final class SkinRenderer extends AbstractFreeMarkerRenderer {
      */
     private static final Logger LOGGER = Logger.getLogger(SkinRenderer.class);
 
+    /**
+     * Response writer buffer size.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
     /**
      * HTTP servlet request.
      */
@@ -58,37 +71,69 @@ public final class SkinRenderer extends AbstractFreeMarkerRenderer {
     }
 
     /**
-     * Processes the specified FreeMarker template with the specified request, data model, pjax hacking.
+     * Renders the template straight to the response via a buffered UTF-8 writer.
+     * <ul>
+     * <li>Non-pjax: the head is flushed as soon as it has been rendered, so browsers can start fetching assets
+     * early</li>
+     * <li>Pjax: only the fragment of the requested container is written, the rest is discarded while rendering</li>
+     * </ul>
      *
-     * @param request   the specified request
-     * @param dataModel the specified data model
-     * @param template  the specified FreeMarker template
-     * @return generated HTML
-     * @throws Exception exception
+     * @param context the specified HTTP request context
      */
-    protected String genHTML(final HttpServletRequest request, final Map<String, Object> dataModel, final Template template)
-            throws Exception {
-        final boolean isPJAX = isPJAX(request);
-        dataModel.put("pjax", isPJAX);
+    @Override
+    public void render(final HTTPRequestContext context) {
+        final HttpServletResponse response = context.getResponse();
+        if (response.isCommitted()) { // Response has been sent redirect or error
+            return;
+        }
+
+        response.setContentType("text/html");
+        response.setCharacterEncoding("UTF-8");
 
-        if (!isPJAX) {
-            return super.genHTML(request, dataModel, template);
+        final String templateName = getTemplateName();
+        final Template template = getTemplate((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), templateName);
+        if (null == template) {
+            LOGGER.log(Level.ERROR, "Not found template [{0}]", templateName);
+            sendError(response);
+
+            return;
         }
 
-        final StringWriter stringWriter = new StringWriter();
+        try {
+            beforeRender(context);
 
-        template.setOutputEncoding("UTF-8");
-        template.process(dataModel, stringWriter);
+            final boolean isPJAX = isPJAX(request);
+            final Map<String, Object> dataModel = getDataModel();
+            dataModel.put("pjax", isPJAX);
 
-        final long endTimeMillis = System.currentTimeMillis();
-        final String dateString = DateFormatUtils.format(endTimeMillis, "yyyy/MM/dd HH:mm:ss");
-        final long startTimeMillis = (Long) request.getAttribute(Keys.HttpRequest.START_TIME_MILLIS);
-        final String msg = String.format("\n<!-- Generated by Latke (https://github.com/b3log/latke) in %1$dms, %2$s -->", endTimeMillis - startTimeMillis, dateString);
-        final String pjaxContainer = request.getHeader("X-PJAX-Container");
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+            final Writer templateWriter = isPJAX
+                    ? new PJAXFragmentWriter(writer, request.getHeader("X-PJAX-Container")) : new HeadFlushWriter(writer);
+
+            template.setOutputEncoding("UTF-8");
+            template.process(LayeredHashModel.wrap(dataModel, template.getObjectWrapper()), templateWriter);
+
+            final long endTimeMillis = System.currentTimeMillis();
+            final String dateString = DateFormatUtils.format(endTimeMillis, "yyyy/MM/dd HH:mm:ss");
+            final long startTimeMillis = (Long) request.getAttribute(Keys.HttpRequest.START_TIME_MILLIS);
+            final String msg = String.format("\n<!-- Generated by Latke (https://github.com/b3log/latke) in %1$dms, %2$s -->", endTimeMillis - startTimeMillis, dateString);
+            writer.write(msg);
+            writer.flush();
+            writer.close();
+
+            afterRender(context);
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Renders template [" + templateName + "] failed", e);
 
-        return StringUtils.substringBetween(stringWriter.toString(),
-                "<!---- pjax {" + pjaxContainer + "} start ---->",
-                "<!---- pjax {" + pjaxContainer + "} end ---->") + msg;
+            if (!response.isCommitted()) {
+                sendError(response);
+            } // The head may have been flushed, nothing could be done but leaving the page partial
+        }
+    }
+
+    @Override
+    protected Template getTemplate(final String templateDirName, final String templateName) {
+        return Skins.getTemplate(templateDirName, templateName);
     }
 
     @Override
@@ -99,6 +144,19 @@ public final class SkinRenderer extends AbstractFreeMarkerRenderer {
     protected void afterRender(final HTTPRequestContext context) {
     }
 
+    /**
+     * Sends error 500 with the specified response.
+     *
+     * @param response the specified response
+     */
+    private static void sendError(final HttpServletResponse response) {
+        try {
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } catch (final IOException e) {
+            LOGGER.log(Level.ERROR, "Sends error 500 failed", e);
+        }
+    }
+
     /**
      * Determines whether the specified request is sending with pjax.
      *
@@ -18,6 +18,8 @@
 package org.b3log.solo.processor.util;
 
 import freemarker.template.Template;
+import freemarker.template.TemplateMethodModelEx;
+import freemarker.template.TemplateModelException;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
@@ -32,6 +34,7 @@ import org.b3log.latke.model.Plugin;
 import org.b3log.latke.model.User;
 import org.b3log.latke.plugin.ViewLoadEventData;
 import org.b3log.latke.repository.*;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
@@ -42,8 +45,12 @@ import org.b3log.solo.model.*;
 import org.b3log.solo.repository.*;
 import org.b3log.solo.service.*;
 import org.b3log.solo.util.Emotions;
+import org.b3log.solo.util.LayeredHashModel;
+import org.b3log.solo.util.MarkedEngine;
 import org.b3log.solo.util.Markdowns;
+import org.b3log.solo.util.Skins;
 import org.b3log.solo.util.Solos;
+import org.b3log.solo.util.StaticAssets;
 import org.b3log.solo.util.Thumbnails;
 import org.b3log.solo.util.comparator.Comparators;
 import org.json.JSONArray;
@@ -55,6 +62,8 @@ import org.jsoup.safety.Whitelist;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.b3log.solo.model.Article.ARTICLE_CONTENT;
 
@@ -63,7 +72,7 @@ import static org.b3log.solo.model.Article.ARTICLE_CONTENT;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.6.16.2, Aug 2, 2018
+ * @version 1.6.21.3, Oct 19, 2026
  * @since 0.3.1
  */
 @Service
@@ -74,11 +83,60 @@ public class Filler {
      */
     private static final Logger LOGGER = Logger.getLogger(Filler.class);
 
+    /**
+     * Timeout of decorating the articles of a request in milliseconds.
+     */
+    private static final long DECORATION_TIMEOUT = 1000 * 5;
+
+    /**
+     * Article decorator pool shared by all requests, a full queue makes the request thread decorate by itself.
+     */
+    private static final ThreadPoolExecutor DECORATOR;
+
+    static {
+        final int size = Math.min(4, Math.max(2, Runtime.getRuntime().availableProcessors()));
+        final AtomicInteger threadNum = new AtomicInteger();
+        DECORATOR = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(256), r -> {
+            final Thread ret = new Thread(r, "ArticleDecorator-" + threadNum.incrementAndGet());
+            ret.setDaemon(true);
+
+            return ret;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        DECORATOR.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Deadline of filling a page concurrently in milliseconds.
+     */
+    private static final long FILL_DEADLINE = 1000 * 10;
+
+    /**
+     * Max page filling tasks of a request handed to the executor, the first task and the ones beyond run in the
+     * request thread.
+     */
+    private static final int MAX_FORKED_FILL_TASKS = 3;
+
+    /**
+     * Page filling executor, uses virtual threads if the JDK supports them (JDK 21+), a bounded pool otherwise.
+     */
+    private static final ExecutorService FILLER = newFillExecutor();
+
     /**
      * {@code true} for published.
      */
     private static final boolean PUBLISHED = true;
 
+    /**
+     * Static asset method, gets the fingerprinted path of the specified static asset path.
+     */
+    private static final TemplateMethodModelEx STATIC_ASSET = arguments -> {
+        if (1 != arguments.size()) {
+            throw new TemplateModelException("Wrong arguments!");
+        }
+
+        return StaticAssets.getPath(arguments.get(0).toString());
+    };
+
     /**
      * Topbar utilities.
      */
@@ -184,13 +242,16 @@ public class Filler {
     /**
      * Fills articles in index.ftl.
      *
-     * @param request        the specified HTTP servlet request
+     * @param skinDirName    the specified skin directory name
+     * @param viewPwds       the article view passwords of the current request, see
+     *                       {@link ArticleQueryService#getViewPwds(HttpServletRequest)}
      * @param dataModel      data model
      * @param currentPageNum current page number
      * @param preference     the specified preference
      * @throws ServiceException service exception
      */
-    public void fillIndexArticles(final HttpServletRequest request, final Map<String, Object> dataModel, final int currentPageNum, final JSONObject preference)
+    public void fillIndexArticles(final String skinDirName, final Map<String, String> viewPwds, final Map<String, Object> dataModel,
+                                  final int currentPageNum, final JSONObject preference)
             throws ServiceException {
         Stopwatchs.start("Fill Index Articles");
 
@@ -205,7 +266,7 @@ public class Filler {
             final Query query = new Query().setCurrentPageNum(currentPageNum).setPageSize(pageSize).setPageCount(pageCount).setFilter(
                     new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, PUBLISHED));
 
-            final Template template = Templates.getTemplate((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), "index.ftl");
+            final Template template = Skins.getTemplate(skinDirName, "index.ftl");
 
             boolean isArticles1 = false;
 
@@ -244,11 +305,11 @@ public class Filler {
             final boolean hasMultipleUsers = userQueryService.hasMultipleUsers();
 
             if (hasMultipleUsers) {
-                setArticlesExProperties(request, articles, preference);
+                decorateArticles(viewPwds, articles, null, preference);
             } else if (!articles.isEmpty()) {
                 final JSONObject author = articleQueryService.getAuthor(articles.get(0));
 
-                setArticlesExProperties(request, articles, author, preference);
+                decorateArticles(viewPwds, articles, author, preference);
             }
 
             if (!isArticles1) {
@@ -626,7 +687,7 @@ public class Filler {
                 final ViewLoadEventData data = new ViewLoadEventData();
 
                 data.setViewName("footer.ftl");
-                data.setDataModel(dataModel);
+                data.setDataModel(LayeredHashModel.asMap(dataModel));
                 eventManager.fireEventSynchronously(new Event<ViewLoadEventData>(Keys.FREEMARKER_ACTION, data));
                 if (Strings.isEmptyOrNull((String) dataModel.get(Plugin.PLUGINS))) {
                     // There is no plugin for this template, fill ${plugins} with blank.
@@ -725,7 +786,8 @@ public class Filler {
     }
 
     /**
-     * Fills minified directory and file postfix for static JavaScript, CSS.
+     * Fills minified directory and file postfix for static JavaScript, CSS, and the static asset method which gets the
+     * fingerprinted path of a static asset, for example {@code ${staticAsset('/js/common' + miniPostfix + '.js')}}.
      *
      * @param dataModel the specified data model
      */
@@ -742,28 +804,30 @@ public class Filler {
             default:
                 throw new AssertionError();
         }
+
+        dataModel.put(Common.STATIC_ASSET, STATIC_ASSET);
     }
 
     /**
      * Fills side.ftl.
      *
-     * @param request    the specified HTTP servlet request
-     * @param dataModel  data model
-     * @param preference the specified preference
+     * @param skinDirName the specified skin directory name
+     * @param dataModel   data model
+     * @param preference  the specified preference
      * @throws ServiceException service exception
      */
-    public void fillSide(final HttpServletRequest request, final Map<String, Object> dataModel, final JSONObject preference)
+    public void fillSide(final String skinDirName, final Map<String, Object> dataModel, final JSONObject preference)
             throws ServiceException {
         Stopwatchs.start("Fill Side");
         try {
             LOGGER.debug("Filling side....");
 
-            Template template = Templates.getTemplate((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), "side.ftl");
+            Template template = Skins.getTemplate(skinDirName, "side.ftl");
 
             if (null == template) {
                 LOGGER.debug("The skin dose not contain [side.ftl] template");
 
-                template = Templates.getTemplate((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), "index.ftl");
+                template = Skins.getTemplate(skinDirName, "index.ftl");
                 if (null == template) {
                     LOGGER.debug("The skin dose not contain [index.ftl] template");
                     return;
@@ -835,7 +899,7 @@ public class Filler {
             }
 
             if (Templates.hasExpression(template, "<#include \"side.ftl\"/>")) {
-                fillSide(request, dataModel, preference);
+                fillSide((String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME), dataModel, preference);
             }
 
             final String noticeBoard = preference.getString(Option.ID_C_NOTICE_BOARD);
@@ -900,7 +964,9 @@ public class Filler {
     }
 
     /**
-     * Sets some extra properties into the specified article with the specified author and preference, performs content and abstract editor processing.
+     * Sets some extra properties into the specified article with the specified author and preference, the
+     * content and abstract editor processing is performed in batch by the caller if the marked batch mode is
+     * available.
      * <p>
      * Article ext properties:
      * <pre>
@@ -913,29 +979,32 @@ public class Filler {
      * }
      * </pre> </p>
      *
-     * @param request    the specified HTTP servlet request
-     * @param article    the specified article
-     * @param author     the specified author
-     * @param preference the specified preference
+     * @param article           the specified article
+     * @param author            the specified author, {@code null} to get the author of the specified article
+     * @param preference        the specified preference
+     * @param needViewPwd       whether the specified article needs a view password in the current request
+     * @param articleContentPwd the content replacing the content of a password protected article
+     * @param markdown          whether performs the content and abstract editor processing here
      * @throws ServiceException service exception
      * @see #setArticlesExProperties(HttpServletRequest, List, JSONObject, JSONObject)
      */
-    private void setArticleExProperties(final HttpServletRequest request,
-                                        final JSONObject article, final JSONObject author, final JSONObject preference)
+    private void setArticleExProperties(final JSONObject article, final JSONObject author, final JSONObject preference,
+                                        final boolean needViewPwd, final String articleContentPwd, final boolean markdown)
             throws ServiceException {
         try {
-            final String authorName = author.getString(User.USER_NAME);
+            final JSONObject articleAuthor = null != author ? author : articleQueryService.getAuthor(article);
+            final String authorName = articleAuthor.getString(User.USER_NAME);
 
             article.put(Common.AUTHOR_NAME, authorName);
-            final String authorId = author.getString(Keys.OBJECT_ID);
+            final String authorId = articleAuthor.getString(Keys.OBJECT_ID);
 
             article.put(Common.AUTHOR_ID, authorId);
 
-            final String userAvatar = author.optString(UserExt.USER_AVATAR);
+            final String userAvatar = articleAuthor.optString(UserExt.USER_AVATAR);
             if (!Strings.isEmptyOrNull(userAvatar)) {
                 article.put(Common.AUTHOR_THUMBNAIL_URL, userAvatar);
             } else {
-                final String thumbnailURL = Thumbnails.getGravatarURL(author.optString(User.USER_EMAIL), "128");
+                final String thumbnailURL = Thumbnails.getGravatarURL(articleAuthor.optString(User.USER_EMAIL), "128");
                 article.put(Common.AUTHOR_THUMBNAIL_URL, thumbnailURL);
             }
 
@@ -945,75 +1014,15 @@ public class Filler {
                 article.put(Common.HAS_UPDATED, false);
             }
 
-            if (articleQueryService.needViewPwd(request, article)) {
-                final String content = langPropsService.get("articleContentPwd");
-
-                article.put(ARTICLE_CONTENT, content);
+            if (needViewPwd) {
+                article.put(ARTICLE_CONTENT, articleContentPwd);
             }
 
             processArticleAbstract(preference, article);
 
-            articleQueryService.markdown(article);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Sets article extra properties failed", e);
-            throw new ServiceException(e);
-        }
-    }
-
-    /**
-     * Sets some extra properties into the specified article with the specified preference, performs content and abstract editor processing.
-     * <p>
-     * Article ext properties:
-     * <pre>
-     * {
-     *     ....,
-     *     "authorName": "",
-     *     "authorId": "",
-     *     "authorThumbnailURL": "",
-     *     "hasUpdated": boolean
-     * }
-     * </pre>
-     * </p>
-     *
-     * @param request    the specified HTTP servlet request
-     * @param article    the specified article
-     * @param preference the specified preference
-     * @throws ServiceException service exception
-     * @see #setArticlesExProperties(HttpServletRequest, List, JSONObject)
-     */
-    private void setArticleExProperties(final HttpServletRequest request, final JSONObject article, final JSONObject preference) throws ServiceException {
-        try {
-            final JSONObject author = articleQueryService.getAuthor(article);
-            final String authorName = author.getString(User.USER_NAME);
-
-            article.put(Common.AUTHOR_NAME, authorName);
-            final String authorId = author.getString(Keys.OBJECT_ID);
-
-            article.put(Common.AUTHOR_ID, authorId);
-
-            final String userAvatar = author.optString(UserExt.USER_AVATAR);
-            if (!Strings.isEmptyOrNull(userAvatar)) {
-                article.put(Common.AUTHOR_THUMBNAIL_URL, userAvatar);
-            } else {
-                final String thumbnailURL = Thumbnails.getGravatarURL(author.optString(User.USER_EMAIL), "128");
-                article.put(Common.AUTHOR_THUMBNAIL_URL, thumbnailURL);
-            }
-
-            if (preference.getBoolean(Option.ID_C_ENABLE_ARTICLE_UPDATE_HINT)) {
-                article.put(Common.HAS_UPDATED, articleQueryService.hasUpdated(article));
-            } else {
-                article.put(Common.HAS_UPDATED, false);
-            }
-
-            if (articleQueryService.needViewPwd(request, article)) {
-                final String content = langPropsService.get("articleContentPwd");
-
-                article.put(ARTICLE_CONTENT, content);
+            if (markdown) {
+                articleQueryService.markdown(article);
             }
-
-            processArticleAbstract(preference, article);
-
-            articleQueryService.markdown(article);
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Sets article extra properties failed", e);
             throw new ServiceException(e);
@@ -1023,7 +1032,7 @@ public class Filler {
     /**
      * Sets some extra properties into the specified article with the specified author and preference.
      * <p>
-     * The batch version of method {@linkplain #setArticleExProperties(HttpServletRequest, JSONObject, JSONObject, JSONObject)}.
+     * The batch version of method {@linkplain #setArticleExProperties(JSONObject, JSONObject, JSONObject, boolean, String, boolean)}.
      * </p>
      * <p>
      * Article ext properties:
@@ -1042,20 +1051,18 @@ public class Filler {
      * @param author     the specified author
      * @param preference the specified preference
      * @throws ServiceException service exception
-     * @see #setArticleExProperties(HttpServletRequest, JSONObject, JSONObject, JSONObject)
+     * @see #setArticleExProperties(JSONObject, JSONObject, JSONObject, boolean, String, boolean)
      */
     public void setArticlesExProperties(final HttpServletRequest request,
                                         final List<JSONObject> articles, final JSONObject author, final JSONObject preference)
             throws ServiceException {
-        for (final JSONObject article : articles) {
-            setArticleExProperties(request, article, author, preference);
-        }
+        decorateArticles(articleQueryService.getViewPwds(request), articles, author, preference);
     }
 
     /**
      * Sets some extra properties into the specified article with the specified preference.
      * <p>
-     * The batch version of method {@linkplain #setArticleExProperties(HttpServletRequest, JSONObject, JSONObject)}.
+     * The batch version of method {@linkplain #setArticleExProperties(JSONObject, JSONObject, JSONObject, boolean, String, boolean)}.
      * </p>
      * <p>
      * Article ext properties:
@@ -1073,13 +1080,238 @@ public class Filler {
      * @param articles   the specified articles
      * @param preference the specified preference
      * @throws ServiceException service exception
-     * @see #setArticleExProperties(HttpServletRequest, JSONObject, JSONObject)
+     * @see #setArticleExProperties(JSONObject, JSONObject, JSONObject, boolean, String, boolean)
      */
     public void setArticlesExProperties(final HttpServletRequest request,
                                         final List<JSONObject> articles, final JSONObject preference)
             throws ServiceException {
+        decorateArticles(articleQueryService.getViewPwds(request), articles, null, preference);
+    }
+
+    /**
+     * Sets some extra properties into each of the specified articles in parallel on the decorator pool.
+     * <p>
+     * Request-scoped state (the view passwords and the language of the current request) is resolved in the request
+     * thread before handing articles to the pool. The articles are modified in place, so their order is
+     * kept. If the marked batch mode is available, the editor processing is performed in one batch after the
+     * decoration, otherwise each article is processed in its own task.
+     * </p>
+     *
+     * @param viewPwds   the article view passwords of the current request, see
+     *                   {@link ArticleQueryService#getViewPwds(HttpServletRequest)}
+     * @param articles   the specified articles
+     * @param author     the specified author, {@code null} to get the author of each article
+     * @param preference the specified preference
+     * @throws ServiceException service exception
+     */
+    private void decorateArticles(final Map<String, String> viewPwds, final List<JSONObject> articles,
+                                  final JSONObject author, final JSONObject preference)
+            throws ServiceException {
+        final String articleContentPwd = langPropsService.get("articleContentPwd");
+        final boolean batchMarkdown = MarkedEngine.isBatchAvailable();
+        final Thread requestThread = Thread.currentThread();
+        final long deadline = System.currentTimeMillis() + DECORATION_TIMEOUT;
+
+        final List<Future<?>> futures = new ArrayList<>(articles.size());
         for (final JSONObject article : articles) {
-            setArticleExProperties(request, article, preference);
+            final boolean needViewPwd = articleQueryService.needViewPwd(article, viewPwds);
+            if (2 > articles.size()) {
+                setArticleExProperties(article, author, preference, needViewPwd, articleContentPwd, !batchMarkdown);
+
+                continue;
+            }
+
+            futures.add(DECORATOR.submit(() -> {
+                try {
+                    setArticleExProperties(article, author, preference, needViewPwd, articleContentPwd, !batchMarkdown);
+                } finally {
+                    if (requestThread != Thread.currentThread()) {
+                        Stopwatchs.release();
+                        JdbcRepository.dispose();
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        try {
+            for (final Future<?> future : futures) {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+
+            if (batchMarkdown) {
+                articleQueryService.markdowns(articles);
+            }
+        } catch (final ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+
+            final Throwable cause = e.getCause();
+            throw cause instanceof ServiceException ? (ServiceException) cause : new ServiceException(cause);
+        } catch (final TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            LOGGER.log(Level.ERROR, "Sets article extra properties timeout [" + DECORATION_TIMEOUT + "ms]");
+
+            throw new ServiceException(e);
+        } catch (final Exception e) {
+            futures.forEach(future -> future.cancel(true));
+            LOGGER.log(Level.ERROR, "Sets article extra properties failed", e);
+
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * Page data loading task.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 2.9.3
+     */
+    @FunctionalInterface
+    public interface FillTask {
+
+        /**
+         * Fills the specified data model.
+         *
+         * @param dataModel the specified data model, private to this task
+         * @throws Exception exception
+         */
+        void fill(final Map<String, Object> dataModel) throws Exception;
+    }
+
+    /**
+     * Runs the specified page data loading tasks concurrently, for example,
+     * <pre>
+     * final String skinDirName = (String) request.getAttribute(Keys.TEMAPLTE_DIR_NAME);
+     * filler.fillConcurrently(dataModel,
+     *         dm -&gt; filler.fillBlogHeader(request, response, dm, preference),
+     *         dm -&gt; filler.fillSide(skinDirName, dm, preference));
+     * filler.fillBlogFooter(request, dataModel, preference);
+     * </pre>
+     * <p>
+     * Each task fills a private copy of the specified data model, the entries added or replaced by the tasks are
+     * merged into the specified data model in the order of the tasks after all of them completed, so the result is
+     * the same as running them one after another. {@link #fillBlogFooter(HttpServletRequest, Map, JSONObject)}
+     * should be invoked after this method since the plugins activated by it read the filled data model.
+     * </p>
+     * <p>
+     * The first task runs in the request thread, so a task touching the request or response (the auto login of
+     * {@link #fillBlogHeader(HttpServletRequest, HttpServletResponse, Map, JSONObject)} writes cookies for example)
+     * must be the first one. The other tasks must not touch the request or response, the values they need from the
+     * request (the skin directory name, the article view passwords, etc.) should be resolved in the request thread
+     * and passed in. At most {@value #MAX_FORKED_FILL_TASKS} of the other tasks are handed to the executor, the rest
+     * run in the request thread as well, and a busy executor runs the handed tasks in the request thread too. The
+     * locale of the request is propagated to the tasks. All tasks must complete before the per-request deadline.
+     * </p>
+     *
+     * @param dataModel the specified data model
+     * @param tasks     the specified tasks
+     * @throws ServiceException service exception
+     */
+    public void fillConcurrently(final Map<String, Object> dataModel, final FillTask... tasks) throws ServiceException {
+        Stopwatchs.start("Fill Concurrently");
+        final Locale locale = Locales.getLocale();
+        final long deadline = System.currentTimeMillis() + FILL_DEADLINE;
+        final Thread requestThread = Thread.currentThread();
+
+        final List<Map<String, Object>> models = new ArrayList<>(tasks.length);
+        for (int i = 0; i < tasks.length; i++) {
+            models.add(new HashMap<>(dataModel));
+        }
+
+        final List<Future<?>> futures = new ArrayList<>(tasks.length);
+        try {
+            final int forkedEnd = Math.min(tasks.length, 1 + MAX_FORKED_FILL_TASKS);
+            for (int i = 1; i < forkedEnd; i++) {
+                final FillTask task = tasks[i];
+                final Map<String, Object> model = models.get(i);
+                futures.add(FILLER.submit(() -> {
+                    if (requestThread == Thread.currentThread()) { // Run by the caller since the executor is busy
+                        task.fill(model);
+
+                        return null;
+                    }
+
+                    try {
+                        Locales.setLocale(locale);
+                        task.fill(model);
+                    } finally {
+                        Stopwatchs.release();
+                        JdbcRepository.dispose();
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (int i = 0; i < tasks.length; i++) {
+                if (0 == i || forkedEnd <= i) {
+                    tasks[i].fill(models.get(i));
+                }
+            }
+
+            for (final Future<?> future : futures) {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+        } catch (final ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+
+            final Throwable cause = e.getCause();
+            throw cause instanceof ServiceException ? (ServiceException) cause : new ServiceException(cause);
+        } catch (final ServiceException e) {
+            futures.forEach(future -> future.cancel(true));
+
+            throw e;
+        } catch (final TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            LOGGER.log(Level.ERROR, "Fills page timeout [" + FILL_DEADLINE + "ms]");
+
+            throw new ServiceException(e);
+        } catch (final Exception e) {
+            futures.forEach(future -> future.cancel(true));
+            LOGGER.log(Level.ERROR, "Fills page failed", e);
+
+            throw new ServiceException(e);
+        } finally {
+            Stopwatchs.end();
+        }
+
+        final Map<String, Object> original = new HashMap<>(dataModel);
+        for (final Map<String, Object> model : models) {
+            for (final Map.Entry<String, Object> entry : model.entrySet()) {
+                final String key = entry.getKey();
+                final Object value = entry.getValue();
+                if (!original.containsKey(key) || original.get(key) != value) {
+                    dataModel.put(key, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the page filling executor.
+     *
+     * @return executor
+     */
+    private static ExecutorService newFillExecutor() {
+        try {
+            // Java 8 source level, looks the virtual thread executor up reflectively
+            final ExecutorService ret = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LOGGER.log(Level.DEBUG, "Fills pages with virtual threads");
+
+            return ret;
+        } catch (final Exception e) {
+            final AtomicInteger threadNum = new AtomicInteger();
+            final ThreadPoolExecutor ret = new ThreadPoolExecutor(8, 8, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(64), r -> {
+                final Thread thread = new Thread(r, "PageFiller-" + threadNum.incrementAndGet());
+                thread.setDaemon(true);
+
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+            ret.allowCoreThreadTimeOut(true);
+
+            return ret;
         }
     }
 
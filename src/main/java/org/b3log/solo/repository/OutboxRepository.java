@@ -0,0 +1,53 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.repository;
+
+import org.b3log.latke.repository.Repository;
+import org.b3log.latke.repository.RepositoryException;
+import org.json.JSONObject;
+
+import java.util.List;
+
+/**
+ * Mail outbox repository.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+public interface OutboxRepository extends Repository {
+
+    /**
+     * Gets pending mails which should be sent before the specified time.
+     *
+     * @param time      the specified time
+     * @param fetchSize the specified fetch size
+     * @return a list of pending mails, returns an empty list if not found
+     * @throws RepositoryException repository exception
+     */
+    List<JSONObject> getPendings(final long time, final int fetchSize) throws RepositoryException;
+
+    /**
+     * Gets the failed mails which will not be retried, the latest attempted first.
+     *
+     * @param fetchSize the specified fetch size
+     * @return a list of failed mails, returns an empty list if not found
+     * @throws RepositoryException repository exception
+     */
+    List<JSONObject> getFaileds(final int fetchSize) throws RepositoryException;
+}
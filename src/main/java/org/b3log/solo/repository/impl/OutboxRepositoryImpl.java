@@ -0,0 +1,75 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.repository.impl;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.repository.*;
+import org.b3log.latke.repository.annotation.Repository;
+import org.b3log.latke.util.CollectionUtils;
+import org.b3log.solo.model.Outbox;
+import org.b3log.solo.repository.OutboxRepository;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.List;
+
+/**
+ * Mail outbox repository.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+@Repository
+public class OutboxRepositoryImpl extends AbstractRepository implements OutboxRepository {
+
+    /**
+     * Public constructor.
+     */
+    public OutboxRepositoryImpl() {
+        super(Outbox.OUTBOX);
+    }
+
+    @Override
+    public List<JSONObject> getPendings(final long time, final int fetchSize) throws RepositoryException {
+        final Query query = new Query().
+                setFilter(CompositeFilterOperator.and(
+                        new PropertyFilter(Outbox.OUTBOX_STATUS, FilterOperator.EQUAL, Outbox.OUTBOX_STATUS_C_PENDING),
+                        new PropertyFilter(Outbox.OUTBOX_NEXT_TIME, FilterOperator.LESS_THAN_OR_EQUAL, time))).
+                addSort(Outbox.OUTBOX_NEXT_TIME, SortDirection.ASCENDING).
+                setCurrentPageNum(1).setPageSize(fetchSize).setPageCount(1);
+
+        final JSONObject result = get(query);
+        final JSONArray array = result.optJSONArray(Keys.RESULTS);
+
+        return CollectionUtils.jsonArrayToList(array);
+    }
+
+    @Override
+    public List<JSONObject> getFaileds(final int fetchSize) throws RepositoryException {
+        final Query query = new Query().
+                setFilter(new PropertyFilter(Outbox.OUTBOX_STATUS, FilterOperator.EQUAL, Outbox.OUTBOX_STATUS_C_FAILED)).
+                addSort(Outbox.OUTBOX_NEXT_TIME, SortDirection.DESCENDING).
+                setCurrentPageNum(1).setPageSize(fetchSize).setPageCount(1);
+
+        final JSONObject result = get(query);
+        final JSONArray array = result.optJSONArray(Keys.RESULTS);
+
+        return CollectionUtils.jsonArrayToList(array);
+    }
+}
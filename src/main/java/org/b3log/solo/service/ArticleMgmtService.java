@@ -54,7 +54,7 @@ import static org.b3log.solo.model.Article.*;
  * Article management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.2.10, Oct 3, 2017
+ * @version 1.2.2.14, Oct 19, 2026
  * @since 0.3.5
  */
 @Service
@@ -155,6 +155,12 @@ public class ArticleMgmtService {
     @Inject
     private TagMgmtService tagMgmtService;
 
+    /**
+     * Sitemap management service.
+     */
+    @Inject
+    private SitemapMgmtService sitemapMgmtService;
+
     /**
      * Determines whether the specified tag title exists in the specified tags.
      *
@@ -219,6 +225,8 @@ public class ArticleMgmtService {
             userRepository.update(author.optString(Keys.OBJECT_ID), author);
 
             transaction.commit();
+
+            fireRemoveArticleEvent(article);
         } catch (final Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -230,6 +238,21 @@ public class ArticleMgmtService {
         }
     }
 
+    /**
+     * Fires the remove article event with the specified article which has been removed or unpublished.
+     *
+     * @param article the specified article
+     */
+    private void fireRemoveArticleEvent(final JSONObject article) {
+        final JSONObject eventData = new JSONObject();
+        eventData.put(ARTICLE, article);
+        try {
+            eventManager.fireEventSynchronously(new Event<>(EventTypes.REMOVE_ARTICLE, eventData));
+        } catch (final EventException e) {
+            LOGGER.log(Level.ERROR, e.getMessage(), e);
+        }
+    }
+
     /**
      * Puts an article specified by the given article id to top or cancel top.
      *
@@ -391,7 +414,11 @@ public class ArticleMgmtService {
                 }
             }
 
+            article.remove(Common.POST_TO_COMMUNITY);
+
             transaction.commit();
+
+            sitemapMgmtService.articleCommitted(articleId);
         } catch (final ServiceException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -443,6 +470,8 @@ public class ArticleMgmtService {
             final String ret = addArticleInternal(article);
             transaction.commit();
 
+            sitemapMgmtService.articleCommitted(ret);
+
             return ret;
         } catch (final Exception e) {
             if (transaction.isActive()) {
@@ -586,6 +615,8 @@ public class ArticleMgmtService {
             userRepository.update(author.optString(Keys.OBJECT_ID), author);
 
             transaction.commit();
+
+            fireRemoveArticleEvent(article);
         } catch (final Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -632,11 +663,14 @@ public class ArticleMgmtService {
 
     /**
      * Increments the view count of the article specified by the given article id.
+     * <p>
+     * Article views are handled concurrently, the read and update are synchronized to not lose increments.
+     * </p>
      *
      * @param articleId the given article id
      * @throws ServiceException service exception
      */
-    public void incViewCount(final String articleId) throws ServiceException {
+    public synchronized void incViewCount(final String articleId) throws ServiceException {
         JSONObject article;
 
         try {
@@ -55,7 +55,7 @@ import static org.b3log.solo.model.Article.*;
  * @author <a href="http://blog.sweelia.com">ArmstrongCN</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.3.2.2, May 17, 2018
+ * @version 1.3.5.0, Oct 19, 2026
  * @since 0.3.5
  */
 @Service
@@ -290,34 +290,56 @@ public class ArticleQueryService {
      * @return {@code true} if need, returns {@code false} otherwise
      */
     public boolean needViewPwd(final HttpServletRequest request, final JSONObject article) {
-        final String articleViewPwd = article.optString(Article.ARTICLE_VIEW_PWD);
-
-        if (Strings.isEmptyOrNull(articleViewPwd)) {
+        if (Strings.isEmptyOrNull(article.optString(Article.ARTICLE_VIEW_PWD))) {
             return false;
         }
 
-        if (null == request) {
-            return true;
+        return needViewPwd(article, getViewPwds(request));
+    }
+
+    /**
+     * Checks whether need password to view the specified article with the specified view passwords got by
+     * {@link #getViewPwds(HttpServletRequest)}, could be invoked off the request thread.
+     *
+     * @param article  the specified article
+     * @param viewPwds the specified view passwords, &lt;articleId, viewPwd&gt;, {@code null} if no view password is
+     *                 needed
+     * @return {@code true} if need, returns {@code false} otherwise
+     */
+    public boolean needViewPwd(final JSONObject article, final Map<String, String> viewPwds) {
+        final String articleViewPwd = article.optString(Article.ARTICLE_VIEW_PWD);
+        if (Strings.isEmptyOrNull(articleViewPwd) || null == viewPwds) {
+            return false;
         }
 
-        final HttpSession session = request.getSession(false);
+        return !articleViewPwd.equals(viewPwds.get(article.optString(Keys.OBJECT_ID)));
+    }
 
-        if (null != session) {
-            @SuppressWarnings("unchecked")
-            Map<String, String> viewPwds = (Map<String, String>) session.getAttribute(Common.ARTICLES_VIEW_PWD);
+    /**
+     * Gets the article view passwords entered in the session of the specified request.
+     *
+     * @param request the specified request
+     * @return view passwords, &lt;articleId, viewPwd&gt;, returns {@code null} if the current user is logged in (the
+     * blogger dose not need view password never)
+     */
+    public Map<String, String> getViewPwds(final HttpServletRequest request) {
+        if (null == request) {
+            return Collections.emptyMap();
+        }
 
-            if (null == viewPwds) {
-                viewPwds = new HashMap<String, String>();
-            }
+        final JSONObject currentUser = userQueryService.getCurrentUser(request);
+        if (null != currentUser && !Role.VISITOR_ROLE.equals(currentUser.optString(User.USER_ROLE))) {
+            return null;
+        }
 
-            if (articleViewPwd.equals(viewPwds.get(article.optString(Keys.OBJECT_ID)))) {
-                return false;
-            }
+        final HttpSession session = request.getSession(false);
+        if (null == session) {
+            return Collections.emptyMap();
         }
 
-        final JSONObject currentUser = userQueryService.getCurrentUser(request);
+        @SuppressWarnings("unchecked") final Map<String, String> viewPwds = (Map<String, String>) session.getAttribute(Common.ARTICLES_VIEW_PWD);
 
-        return !(null != currentUser && !Role.VISITOR_ROLE.equals(currentUser.optString(User.USER_ROLE)));
+        return null == viewPwds ? Collections.emptyMap() : new HashMap<>(viewPwds);
     }
 
     /**
@@ -1075,13 +1097,36 @@ public class ArticleQueryService {
      * @throws Exception exception
      */
     public void markdowns(final List<JSONObject> articles) throws Exception {
+        Stopwatchs.start("Markdown Articles");
+
+        final List<String> markdownTexts = new ArrayList<>();
+        final List<JSONObject> markdownArticles = new ArrayList<>();
         for (final JSONObject article : articles) {
-            markdown(article);
+            if (!"CodeMirror-Markdown".equals(article.optString(ARTICLE_EDITOR_TYPE))) {
+                continue;
+            }
+
+            markdownArticles.add(article);
+            markdownTexts.add(Emotions.convert(article.optString(ARTICLE_CONTENT)));
+            markdownTexts.add(Emotions.convert(article.optString(ARTICLE_ABSTRACT)));
+        }
+
+        // Renders all contents and abstracts in one round trip if possible
+        final List<String> htmls = Markdowns.toHTML(markdownTexts);
+        for (int i = 0; i < markdownArticles.size(); i++) {
+            final JSONObject article = markdownArticles.get(i);
+            article.put(ARTICLE_CONTENT, htmls.get(i * 2));
+            if (!Strings.isEmptyOrNull(article.optString(ARTICLE_ABSTRACT))) {
+                article.put(ARTICLE_ABSTRACT, htmls.get(i * 2 + 1));
+            }
         }
+
+        Stopwatchs.end();
     }
 
     /**
-     * Converts the content and abstract for the specified article to HTML if it is saved by Markdown editor.
+     * Converts the content and abstract for the specified article to HTML if it is saved by Markdown editor, the
+     * table of contents assigned while rendering is put into the article as {@link Common#ARTICLE_TOC}.
      *
      * @param article the specified article
      * @throws Exception exception
@@ -1091,10 +1136,13 @@ public class ArticleQueryService {
             Stopwatchs.start("Markdown Article[id=" + article.optString(Keys.OBJECT_ID) + "]");
 
             Stopwatchs.start("Content");
-            String content = article.optString(ARTICLE_CONTENT);
-            content = Emotions.convert(content);
-            content = Markdowns.toHTML(content);
+            final String markdownContent = Emotions.convert(article.optString(ARTICLE_CONTENT));
+            final String content = Markdowns.toHTML(markdownContent);
             article.put(ARTICLE_CONTENT, content);
+            final JSONArray toc = Markdowns.getToC(markdownContent);
+            if (null != toc) {
+                article.put(Common.ARTICLE_TOC, toc);
+            }
             Stopwatchs.end();
 
             String abstractContent = article.optString(ARTICLE_ABSTRACT);
@@ -18,6 +18,7 @@
 package org.b3log.solo.service;
 
 import jodd.http.HttpRequest;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
@@ -28,9 +29,9 @@ import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.mail.MailService;
-import org.b3log.latke.mail.MailServiceFactory;
 import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
@@ -49,15 +50,15 @@ import org.jsoup.Jsoup;
 import org.jsoup.safety.Whitelist;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.IOException;
-import java.net.URL;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.*;
 
 /**
  * Comment management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.3.1, Aug 2, 2018
+ * @version 1.3.5.1, Oct 19, 2026
  * @since 0.3.5
  */
 @Service
@@ -99,6 +100,52 @@ public class CommentMgmtService {
      */
     private static final int MAX_COMMENT_CONTENT_LENGTH = 500;
 
+    /**
+     * Gravatar request timeout in milliseconds.
+     */
+    private static final int GRAVATAR_TIMEOUT = 5000;
+
+    /**
+     * Gravatar positive cache TTL in 24 hours.
+     */
+    private static final long GRAVATAR_HIT_TTL = 1000 * 60 * 60 * 24;
+
+    /**
+     * Gravatar negative cache TTL in 1 hour.
+     */
+    private static final long GRAVATAR_MISS_TTL = 1000 * 60 * 60;
+
+    /**
+     * Max size of Gravatar caches.
+     */
+    private static final int GRAVATAR_CACHE_MAX = 4096;
+
+    /**
+     * Emails which have Gravatar.
+     * <p>
+     * &lt;emailMD5, expirationTime&gt;
+     * </p>
+     */
+    private static final Map<String, Long> GRAVATAR_HITS = new ConcurrentHashMap<>();
+
+    /**
+     * Emails which have no Gravatar (or Gravatar is unreachable).
+     * <p>
+     * &lt;emailMD5, expirationTime&gt;
+     * </p>
+     */
+    private static final Map<String, Long> GRAVATAR_MISSES = new ConcurrentHashMap<>();
+
+    /**
+     * Gravatar resolver, resolves Gravatar off the comment request path.
+     */
+    private static final ThreadPoolExecutor GRAVATAR_RESOLVER = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(256));
+
+    static {
+        GRAVATAR_RESOLVER.allowCoreThreadTimeOut(true);
+    }
+
     /**
      * Event manager.
      */
@@ -154,25 +201,29 @@ public class CommentMgmtService {
     private LangPropsService langPropsService;
 
     /**
-     * Mail service.
+     * Outbox management service.
      */
-    private MailService mailService = MailServiceFactory.getMailService();
+    @Inject
+    private OutboxMgmtService outboxMgmtService;
 
     /**
      * Sends a notification mail to administrator for notifying the specified article or page received the specified
      * comment and original comment.
+     * <p>
+     * The mail is added into the outbox in the current transaction, and will be sent after the transaction committed.
+     * </p>
      *
      * @param articleOrPage   the specified article or page
      * @param comment         the specified comment
      * @param originalComment original comment, if not exists, set it as {@code null}
      * @param preference      the specified preference
-     * @throws IOException   io exception
-     * @throws JSONException json exception
+     * @throws RepositoryException repository exception
+     * @throws JSONException       json exception
      */
     public void sendNotificationMail(final JSONObject articleOrPage,
                                      final JSONObject comment,
                                      final JSONObject originalComment,
-                                     final JSONObject preference) throws IOException, JSONException {
+                                     final JSONObject preference) throws RepositoryException, JSONException {
         if (!Mails.isConfigured()) {
             return;
         }
@@ -248,7 +299,7 @@ public class CommentMgmtService {
         LOGGER.log(Level.DEBUG, "Sending a mail[mailSubject={0}, mailBody=[{1}] to admin[email={2}]",
                 mailSubject, mailBody, adminEmail);
 
-        mailService.send(message);
+        outboxMgmtService.addMail(message);
     }
 
     /**
@@ -448,7 +499,7 @@ public class CommentMgmtService {
                             commentName, commentContent);
                 }
             }
-            setCommentThumbnailURL(comment);
+            final boolean provisionalThumbnail = setCommentThumbnailURL(comment);
             ret.put(Comment.COMMENT_THUMBNAIL_URL, comment.getString(Comment.COMMENT_THUMBNAIL_URL));
             // Sets comment on page....
             comment.put(Comment.COMMENT_ON_ID, pageId);
@@ -486,6 +537,11 @@ public class CommentMgmtService {
             eventManager.fireEventSynchronously(new Event<JSONObject>(EventTypes.ADD_COMMENT_TO_PAGE, eventData));
 
             transaction.commit();
+
+            outboxMgmtService.dispatchAsync();
+            if (provisionalThumbnail) {
+                resolveCommentThumbnailURL(comment);
+            }
         } catch (final Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -591,7 +647,7 @@ public class CommentMgmtService {
                             originalCommentId, commentName, commentContent);
                 }
             }
-            setCommentThumbnailURL(comment);
+            final boolean provisionalThumbnail = setCommentThumbnailURL(comment);
             ret.put(Comment.COMMENT_THUMBNAIL_URL, comment.getString(Comment.COMMENT_THUMBNAIL_URL));
             // Sets comment on article....
             comment.put(Comment.COMMENT_ON_ID, articleId);
@@ -625,6 +681,11 @@ public class CommentMgmtService {
             eventManager.fireEventSynchronously(new Event<JSONObject>(EventTypes.ADD_COMMENT_TO_ARTICLE, eventData));
 
             transaction.commit();
+
+            outboxMgmtService.dispatchAsync();
+            if (provisionalThumbnail) {
+                resolveCommentThumbnailURL(comment);
+            }
         } catch (final Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -754,19 +815,25 @@ public class CommentMgmtService {
     }
 
     /**
-     * Sets commenter thumbnail URL for the specified comment.
+     * Sets the thumbnail URL of the specified comment.
      * <p>
-     * Try to set thumbnail URL using:
+     * Thumbnail URL priority:
      * <ol>
      * <li>User avatar</li>
-     * <li>Gravatar service</li>
+     * <li>Gravatar service, resolved by {@link #resolveCommentThumbnailURL(JSONObject)} asynchronously</li>
      * <ol>
      * </p>
+     * <p>
+     * If the Gravatar of the comment email has not been resolved (or expired), sets the default thumbnail as a
+     * provisional thumbnail URL.
+     * </p>
      *
      * @param comment the specified comment
+     * @return {@code true} if the thumbnail URL is provisional and should be resolved later, returns {@code false}
+     * otherwise
      * @throws Exception exception
      */
-    public void setCommentThumbnailURL(final JSONObject comment) throws Exception {
+    public boolean setCommentThumbnailURL(final JSONObject comment) throws Exception {
         final String commentEmail = comment.getString(Comment.COMMENT_EMAIL);
 
         // 1. user avatar
@@ -776,26 +843,106 @@ public class CommentMgmtService {
             if (!Strings.isEmptyOrNull(avatar)) {
                 comment.put(Comment.COMMENT_THUMBNAIL_URL, avatar);
 
-                return;
+                return false;
             }
         }
 
         // 2. Gravatar
-        String thumbnailURL = Thumbnails.getGravatarURL(commentEmail.toLowerCase(), "128");
-        final URL gravatarURL = new URL(thumbnailURL);
+        final String emailHash = DigestUtils.md5Hex(commentEmail.toLowerCase());
+        final long now = System.currentTimeMillis();
+        final Long hitExpiration = GRAVATAR_HITS.get(emailHash);
+        if (null != hitExpiration && now < hitExpiration) {
+            comment.put(Comment.COMMENT_THUMBNAIL_URL, Thumbnails.getGravatarURL(commentEmail.toLowerCase(), "128"));
+
+            return false;
+        }
+
+        comment.put(Comment.COMMENT_THUMBNAIL_URL, Latkes.getStaticServePath() + "/images/" + DEFAULT_USER_THUMBNAIL);
+
+        final Long missExpiration = GRAVATAR_MISSES.get(emailHash);
+
+        return null == missExpiration || now >= missExpiration;
+    }
+
+    /**
+     * Resolves the Gravatar of the specified comment in background, and updates the comment thumbnail URL if the
+     * Gravatar is available.
+     *
+     * @param comment the specified comment, its thumbnail URL has been set as a provisional one by
+     *                {@link #setCommentThumbnailURL(JSONObject)}
+     */
+    public void resolveCommentThumbnailURL(final JSONObject comment) {
+        final String commentId = comment.optString(Keys.OBJECT_ID);
+        final String commentEmail = comment.optString(Comment.COMMENT_EMAIL).toLowerCase();
+
+        try {
+            GRAVATAR_RESOLVER.execute(() -> {
+                try {
+                    resolveGravatar(commentId, commentEmail);
+                } finally {
+                    JdbcRepository.dispose();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.log(Level.WARN, "Gravatar resolver is busy, uses default thumbnail for comment [id={0}]", commentId);
+        }
+    }
+
+    /**
+     * Resolves the Gravatar of the comment specified by the given comment id and email, and updates the comment
+     * thumbnail URL if the Gravatar is available.
+     *
+     * @param commentId    the given comment id
+     * @param commentEmail the given comment email (lower case)
+     */
+    private void resolveGravatar(final String commentId, final String commentEmail) {
+        final String emailHash = DigestUtils.md5Hex(commentEmail);
+        final String thumbnailURL = Thumbnails.getGravatarURL(commentEmail, "128");
 
         int statusCode = HttpServletResponse.SC_OK;
         try {
-            statusCode = HttpRequest.get(thumbnailURL).send().statusCode();
+            statusCode = HttpRequest.get(thumbnailURL).connectionTimeout(GRAVATAR_TIMEOUT).timeout(GRAVATAR_TIMEOUT).
+                    send().statusCode();
         } catch (final Exception e) {
+            statusCode = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+
             LOGGER.log(Level.DEBUG, "Can not fetch thumbnail from Gravatar [commentEmail={0}]", commentEmail);
-        } finally {
-            if (HttpServletResponse.SC_OK != statusCode) {
-                thumbnailURL = Latkes.getStaticServePath() + "/images/" + DEFAULT_USER_THUMBNAIL;
-            }
         }
 
-        comment.put(Comment.COMMENT_THUMBNAIL_URL, thumbnailURL);
+        if (GRAVATAR_HITS.size() > GRAVATAR_CACHE_MAX || GRAVATAR_MISSES.size() > GRAVATAR_CACHE_MAX) {
+            GRAVATAR_HITS.clear();
+            GRAVATAR_MISSES.clear();
+        }
+
+        final long now = System.currentTimeMillis();
+        if (HttpServletResponse.SC_OK != statusCode) {
+            GRAVATAR_MISSES.put(emailHash, now + GRAVATAR_MISS_TTL);
+
+            return;
+        }
+
+        GRAVATAR_MISSES.remove(emailHash);
+        GRAVATAR_HITS.put(emailHash, now + GRAVATAR_HIT_TTL);
+
+        final Transaction transaction = commentRepository.beginTransaction();
+        try {
+            final JSONObject c = commentRepository.get(commentId);
+            if (null == c) { // Removed
+                transaction.rollback();
+
+                return;
+            }
+
+            c.put(Comment.COMMENT_THUMBNAIL_URL, thumbnailURL);
+            commentRepository.update(commentId, c);
+            transaction.commit();
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Updates comment [id=" + commentId + "] thumbnail URL failed", e);
+        }
     }
 
     /**
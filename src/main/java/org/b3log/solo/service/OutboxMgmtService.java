@@ -0,0 +1,241 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.service;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.mail.MailService;
+import org.b3log.latke.mail.MailServiceFactory;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.solo.model.Outbox;
+import org.b3log.solo.repository.OutboxRepository;
+import org.b3log.solo.util.Mails;
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mail outbox management service.
+ * <p>
+ * Mails are added into the outbox in the caller's transaction by {@link #addMail(MailService.Message)}, and sent by
+ * {@link #dispatch()} in background after the transaction committed, so a slow or down SMTP server does not hold the
+ * caller's transaction. Failed mails are retried with exponential backoff, and kept with the latest error after
+ * reaching the max retry count, they are not retried anymore and listed in the admin console main panel, see
+ * {@link OutboxQueryService#getFailedMails(int)}.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 19, 2026
+ * @since 2.9.3
+ */
+@Service
+public class OutboxMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(OutboxMgmtService.class);
+
+    /**
+     * Batch size of dispatching.
+     */
+    private static final int BATCH_SIZE = 20;
+
+    /**
+     * Max retry count.
+     */
+    private static final int MAX_RETRY_CNT = 5;
+
+    /**
+     * Retry backoff base in 1 minute, doubles on each retry.
+     */
+    private static final long RETRY_BACKOFF = 1000 * 60;
+
+    /**
+     * Dispatcher, at most one dispatching is running and one waiting, extra dispatch requests are coalesced.
+     */
+    private static final ExecutorService DISPATCHER = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * Outbox repository.
+     */
+    @Inject
+    private OutboxRepository outboxRepository;
+
+    /**
+     * Mail service.
+     */
+    private final MailService mailService = MailServiceFactory.getMailService();
+
+    /**
+     * Adds the specified mail into the outbox.
+     * <p>
+     * <b>Note</b>: This method should be invoked in a transaction, and {@link #dispatchAsync()} should be invoked after
+     * the transaction committed.
+     * </p>
+     *
+     * @param message the specified mail
+     * @throws RepositoryException repository exception
+     */
+    public void addMail(final MailService.Message message) throws RepositoryException {
+        final JSONObject mail = new JSONObject();
+        mail.put(Outbox.OUTBOX_FROM, message.getFrom());
+        mail.put(Outbox.OUTBOX_TO, StringUtils.join(message.getRecipients(), ","));
+        mail.put(Outbox.OUTBOX_SUBJECT, StringUtils.abbreviate(message.getSubject(), 255));
+        mail.put(Outbox.OUTBOX_BODY, message.getHtmlBody());
+        mail.put(Outbox.OUTBOX_STATUS, Outbox.OUTBOX_STATUS_C_PENDING);
+        mail.put(Outbox.OUTBOX_RETRY_CNT, 0);
+        mail.put(Outbox.OUTBOX_NEXT_TIME, System.currentTimeMillis());
+        mail.put(Outbox.OUTBOX_ERROR, "");
+
+        outboxRepository.add(mail);
+
+        LOGGER.log(Level.DEBUG, "Added a mail [subject={0}] to [{1}] into outbox", message.getSubject(),
+                mail.optString(Outbox.OUTBOX_TO));
+    }
+
+    /**
+     * Dispatches pending mails in background.
+     */
+    public void dispatchAsync() {
+        DISPATCHER.execute(() -> {
+            try {
+                dispatch();
+            } finally {
+                JdbcRepository.dispose();
+            }
+        });
+    }
+
+    /**
+     * Dispatches pending mails.
+     * <p>
+     * There is a cron job (/console/outbox/dispatch) to invoke this method for retrying.
+     * </p>
+     * <p>
+     * Stops after a batch in which the outbox could not be updated, otherwise the same mails would be fetched and sent
+     * again and again.
+     * </p>
+     */
+    public synchronized void dispatch() {
+        if (!Mails.isConfigured()) {
+            return;
+        }
+
+        try {
+            while (true) {
+                final long now = System.currentTimeMillis();
+                final List<JSONObject> mails = outboxRepository.getPendings(now, BATCH_SIZE);
+                boolean updated = true;
+                for (final JSONObject mail : mails) {
+                    updated &= send(mail, now);
+                }
+
+                if (!updated || mails.size() < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Dispatches mails failed", e);
+        }
+    }
+
+    /**
+     * Sends the specified mail, removes it from the outbox if sent successfully, otherwise schedules a retry.
+     *
+     * @param mail the specified mail
+     * @param now  the current time
+     * @return {@code true} if the outbox is updated, returns {@code false} otherwise
+     */
+    private boolean send(final JSONObject mail, final long now) {
+        final String mailId = mail.optString(Keys.OBJECT_ID);
+
+        final MailService.Message message = new MailService.Message();
+        message.setFrom(mail.optString(Outbox.OUTBOX_FROM));
+        for (final String recipient : StringUtils.split(mail.optString(Outbox.OUTBOX_TO), ",")) {
+            message.addRecipient(recipient);
+        }
+        message.setSubject(mail.optString(Outbox.OUTBOX_SUBJECT));
+        message.setHtmlBody(mail.optString(Outbox.OUTBOX_BODY));
+
+        String error = null;
+        try {
+            mailService.send(message);
+        } catch (final Exception e) {
+            error = StringUtils.abbreviate(StringUtils.defaultString(e.getMessage(), e.getClass().getName()), 255);
+        }
+
+        final Transaction transaction = outboxRepository.beginTransaction();
+        try {
+            if (null == error) {
+                outboxRepository.remove(mailId);
+
+                LOGGER.log(Level.DEBUG, "Sent a mail [id={0}, subject={1}]", mailId, message.getSubject());
+            } else {
+                final int retryCnt = mail.optInt(Outbox.OUTBOX_RETRY_CNT) + 1;
+                mail.put(Outbox.OUTBOX_RETRY_CNT, retryCnt);
+                mail.put(Outbox.OUTBOX_ERROR, error);
+                if (retryCnt >= MAX_RETRY_CNT) {
+                    mail.put(Outbox.OUTBOX_STATUS, Outbox.OUTBOX_STATUS_C_FAILED);
+
+                    LOGGER.log(Level.ERROR, "Sends a mail [id={0}, subject={1}] failed, gives up after [{2}] retries: {3}",
+                            mailId, message.getSubject(), retryCnt, error);
+                } else {
+                    mail.put(Outbox.OUTBOX_NEXT_TIME, now + (RETRY_BACKOFF << (retryCnt - 1)));
+
+                    LOGGER.log(Level.WARN, "Sends a mail [id={0}, subject={1}] failed, retry [{2}] later: {3}",
+                            mailId, message.getSubject(), retryCnt, error);
+                }
+
+                outboxRepository.update(mailId, mail);
+            }
+
+            transaction.commit();
+
+            return true;
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Updates outbox mail [id=" + mailId + "] failed", e);
+
+            return false;
+        }
+    }
+
+    /**
+     * Sets the outbox repository with the specified outbox repository.
+     *
+     * @param outboxRepository the specified outbox repository
+     */
+    public void setOutboxRepository(final OutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.service;
+
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.service.ServiceException;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.solo.repository.OutboxRepository;
+import org.json.JSONObject;
+
+import java.util.List;
+
+/**
+ * Mail outbox query service.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+@Service
+public class OutboxQueryService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(OutboxQueryService.class);
+
+    /**
+     * Outbox repository.
+     */
+    @Inject
+    private OutboxRepository outboxRepository;
+
+    /**
+     * Gets the failed mails which reached the max retry count and will not be retried.
+     *
+     * @param fetchSize the specified fetch size
+     * @return a list of failed mails, the latest attempted first, returns an empty list if not found
+     * @throws ServiceException service exception
+     * @see OutboxMgmtService
+     */
+    public List<JSONObject> getFailedMails(final int fetchSize) throws ServiceException {
+        try {
+            return outboxRepository.getFaileds(fetchSize);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets failed mails failed", e);
+
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * Sets the outbox repository with the specified outbox repository.
+     *
+     * @param outboxRepository the specified outbox repository
+     */
+    public void setOutboxRepository(final OutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+}
@@ -43,7 +43,7 @@ import java.util.List;
  * Page management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.9, Sep 21, 2017
+ * @version 1.1.0.10, Oct 19, 2026
  * @since 0.4.0
  */
 @Service
@@ -96,6 +96,12 @@ public class PageMgmtService {
     @Inject
     private StatisticQueryService statisticQueryService;
 
+    /**
+     * Sitemap management service.
+     */
+    @Inject
+    private SitemapMgmtService sitemapMgmtService;
+
     /**
      * Updates a page by the specified request json object.
      *
@@ -179,6 +185,7 @@ public class PageMgmtService {
             pageRepository.update(pageId, newPage);
 
             transaction.commit();
+            sitemapMgmtService.miscChanged();
 
             LOGGER.log(Level.DEBUG, "Updated a page[id={0}]", pageId);
         } catch (final Exception e) {
@@ -206,7 +213,7 @@ public class PageMgmtService {
             pageRepository.remove(pageId);
 
             transaction.commit();
-
+            sitemapMgmtService.miscChanged();
         } catch (final Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -286,6 +293,7 @@ public class PageMgmtService {
             final String ret = pageRepository.add(page);
 
             transaction.commit();
+            sitemapMgmtService.miscChanged();
 
             return ret;
         } catch (final JSONException e) {
@@ -29,6 +29,7 @@ import org.b3log.latke.util.Locales;
 import org.b3log.latke.util.Stopwatchs;
 import org.b3log.latke.util.freemarker.Templates;
 import org.b3log.solo.SoloServletListener;
+import org.b3log.solo.cache.FeedCache;
 import org.b3log.solo.cache.PreferenceCache;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.model.Skin;
@@ -51,7 +52,7 @@ import static org.b3log.solo.util.Skins.setDirectoryForTemplateLoading;
  * Preference management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.2.13, Jul 22, 2017
+ * @version 1.3.2.15, Oct 19, 2026
  * @since 0.4.0
  */
 @Service
@@ -86,6 +87,12 @@ public class PreferenceMgmtService {
     @Inject
     private PreferenceCache preferenceCache;
 
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
     /**
      * Loads skins for the specified preference and initializes templates loading.
      * <p>
@@ -100,6 +107,7 @@ public class PreferenceMgmtService {
 
         LOGGER.debug("Loading skins....");
 
+        Skins.reloadSkins();
         final Set<String> skinDirNames = getSkinDirNames();
 
         LOGGER.log(Level.DEBUG, "Loaded skins[dirNames={0}]", skinDirNames);
@@ -216,6 +224,7 @@ public class PreferenceMgmtService {
             final String skinName = Latkes.getSkinName(skinDirName);
 
             preference.put(Skin.SKIN_NAME, skinName);
+            Skins.reloadSkins();
             final Set<String> skinDirNames = Skins.getSkinDirNames();
             final JSONArray skinArray = new JSONArray();
 
@@ -387,6 +396,7 @@ public class PreferenceMgmtService {
             transaction.commit();
 
             preferenceCache.clear();
+            feedCache.clear();
 
             final ServletContext servletContext = SoloServletListener.getServletContext();
 
@@ -0,0 +1,519 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.service;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.FilterOperator;
+import org.b3log.latke.repository.PropertyFilter;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.SortDirection;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.solo.model.ArchiveDate;
+import org.b3log.solo.model.Article;
+import org.b3log.solo.model.Page;
+import org.b3log.solo.model.Tag;
+import org.b3log.solo.model.sitemap.Sitemap;
+import org.b3log.solo.model.sitemap.SitemapIndex;
+import org.b3log.solo.model.sitemap.URL;
+import org.b3log.solo.repository.ArchiveDateRepository;
+import org.b3log.solo.repository.ArticleRepository;
+import org.b3log.solo.repository.PageRepository;
+import org.b3log.solo.repository.TagRepository;
+import org.b3log.solo.util.CachedContent;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.net.URLEncoder;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sitemap management service, keeps the sitemap cached and maintains it incrementally.
+ * <p>
+ * Article URLs are kept in memory ordered by article id (creation order). The article events
+ * ({@link org.b3log.solo.event.sitemap.SitemapUpdater}) fired inside the saving transactions only mark the articles
+ * changed, the builds triggered after commit read the committed articles, so an uncommitted or rolled back save never
+ * gets into the sitemaps. The other URLs (pages, tags and archives) are reloaded in
+ * background when pages, tags or articles change. Sitemaps are serialized and gzipped once per change into
+ * {@link CachedContent}s, only the changed article sitemaps are serialized again, so serving a sitemap never hits the
+ * database.
+ * </p>
+ * <p>
+ * If all URLs fit in one sitemap ({@value #MAX_URLS} URLs), /sitemap.xml is the URL set itself, otherwise it is a
+ * sitemap index of child sitemaps (/sitemaps/misc-${n}.xml and /sitemaps/articles-${n}.xml).
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+@Service
+public class SitemapMgmtService {
+
+    /**
+     * Name of the root sitemap (/sitemap.xml).
+     */
+    public static final String ROOT = "";
+
+    /**
+     * Maximum URLs of a sitemap, limited by the sitemap protocol.
+     */
+    public static final int MAX_URLS = 50000;
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SitemapMgmtService.class);
+
+    /**
+     * Content type of sitemaps.
+     */
+    private static final String CONTENT_TYPE = "text/xml;charset=UTF-8";
+
+    /**
+     * Name prefix of the article sitemaps.
+     */
+    private static final String ARTICLES = "articles-";
+
+    /**
+     * Name prefix of the misc (pages, tags and archives) sitemaps.
+     */
+    private static final String MISC = "misc-";
+
+    /**
+     * Page size of loading articles.
+     */
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Builder, at most one build is running and one waiting, extra build requests are coalesced.
+     */
+    private static final ExecutorService BUILDER = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * Published article URLs ordered by article id, &lt;articleId, URL&gt;, guarded by itself.
+     */
+    private static final TreeMap<String, URL> ARTICLE_URLS = new TreeMap<>();
+
+    /**
+     * Ids of the added or updated articles not applied to {@link #ARTICLE_URLS} yet, guarded by {@link #ARTICLE_URLS}.
+     */
+    private static final Set<String> CHANGED_ARTICLES = new HashSet<>();
+
+    /**
+     * Indices of the article sitemaps changed since the last build, guarded by {@link #ARTICLE_URLS}.
+     */
+    private static final Set<Integer> DIRTY_ARTICLE_SITEMAPS = new HashSet<>();
+
+    /**
+     * Index of the first article sitemap shifted (by adding or removing) since the last build, all article sitemaps
+     * from it on are changed, guarded by {@link #ARTICLE_URLS}.
+     */
+    private static int dirtyArticleSitemapsFrom = Integer.MAX_VALUE;
+
+    /**
+     * Whether the misc URLs changed since the last build, guarded by {@link #ARTICLE_URLS}.
+     */
+    private static boolean miscDirty = true;
+
+    /**
+     * Whether the article URLs are loaded, guarded by {@link #ARTICLE_URLS}.
+     */
+    private static boolean loaded;
+
+    /**
+     * Misc URLs, accessed by builds only.
+     */
+    private static List<URL> miscURLs = Collections.emptyList();
+
+    /**
+     * Built sitemaps, &lt;name, sitemap&gt;, {@code null} if not built yet.
+     */
+    private static volatile Map<String, CachedContent> sitemaps;
+
+    /**
+     * Article repository.
+     */
+    @Inject
+    private ArticleRepository articleRepository;
+
+    /**
+     * Page repository.
+     */
+    @Inject
+    private PageRepository pageRepository;
+
+    /**
+     * Tag repository.
+     */
+    @Inject
+    private TagRepository tagRepository;
+
+    /**
+     * Archive date repository.
+     */
+    @Inject
+    private ArchiveDateRepository archiveDateRepository;
+
+    /**
+     * Gets the sitemap specified by the given name, builds the sitemaps if not built yet.
+     *
+     * @param name the given name, {@link #ROOT} for /sitemap.xml, "articles-1" for /sitemaps/articles-1.xml for
+     *             example
+     * @return sitemap, returns {@code null} if not found
+     */
+    public CachedContent getSitemap(final String name) {
+        Map<String, CachedContent> ret = sitemaps;
+        if (null == ret) {
+            build();
+            ret = sitemaps;
+        }
+
+        return null == ret ? null : ret.get(name);
+    }
+
+    /**
+     * Marks the specified added or updated article changed, the change is applied by the next build.
+     * <p>
+     * This is invoked inside the saving transaction, so the article is read by the build instead of being taken from
+     * here, see {@link #articleCommitted(String)}.
+     * </p>
+     *
+     * @param articleId the specified article id
+     */
+    public void articleChanged(final String articleId) {
+        synchronized (ARTICLE_URLS) {
+            CHANGED_ARTICLES.add(articleId);
+            miscDirty = true; // Tags and archives may change
+        }
+    }
+
+    /**
+     * Updates the sitemaps with the specified added or updated article in background, invoked after the saving
+     * transaction committed.
+     * <p>
+     * The article is marked changed again, a build running between the article event and the commit may have read
+     * the article not committed yet.
+     * </p>
+     *
+     * @param articleId the specified article id
+     */
+    public void articleCommitted(final String articleId) {
+        articleChanged(articleId);
+
+        buildAsync();
+    }
+
+    /**
+     * Removes the specified article from the sitemaps in background.
+     *
+     * @param articleId the specified article id
+     */
+    public void articleRemoved(final String articleId) {
+        synchronized (ARTICLE_URLS) {
+            CHANGED_ARTICLES.remove(articleId);
+            if (loaded) {
+                putArticleURL(articleId, null);
+            }
+            miscDirty = true;
+        }
+
+        buildAsync();
+    }
+
+    /**
+     * Reloads the misc (pages, tags and archives) URLs and updates the sitemaps in background.
+     */
+    public void miscChanged() {
+        synchronized (ARTICLE_URLS) {
+            miscDirty = true;
+        }
+
+        buildAsync();
+    }
+
+    /**
+     * Builds the sitemaps in background.
+     */
+    public void buildAsync() {
+        BUILDER.execute(() -> {
+            try {
+                build();
+            } finally {
+                JdbcRepository.dispose();
+            }
+        });
+    }
+
+    /**
+     * Builds the changed sitemaps.
+     */
+    private synchronized void build() {
+        final List<URL> articleURLs;
+        final Set<Integer> dirty;
+        final int dirtyFrom;
+        final boolean misc;
+        try {
+            synchronized (ARTICLE_URLS) {
+                if (!loaded) {
+                    CHANGED_ARTICLES.clear();
+                    loadArticleURLs();
+                    loaded = true;
+                    dirtyArticleSitemapsFrom = 0;
+                    miscDirty = true;
+                }
+
+                for (final Iterator<String> changed = CHANGED_ARTICLES.iterator(); changed.hasNext(); ) {
+                    final String articleId = changed.next();
+                    final JSONObject article = articleRepository.get(articleId);
+                    final boolean published = null != article && article.optBoolean(Article.ARTICLE_IS_PUBLISHED);
+                    putArticleURL(articleId, published ? toURL(article) : null);
+                    changed.remove();
+                }
+
+                articleURLs = new ArrayList<>(ARTICLE_URLS.values());
+                dirty = new HashSet<>(DIRTY_ARTICLE_SITEMAPS);
+                DIRTY_ARTICLE_SITEMAPS.clear();
+                dirtyFrom = dirtyArticleSitemapsFrom;
+                dirtyArticleSitemapsFrom = Integer.MAX_VALUE;
+                misc = miscDirty;
+                miscDirty = false;
+            }
+
+            if (misc) {
+                try {
+                    miscURLs = loadMiscURLs();
+                } catch (final Exception e) {
+                    synchronized (ARTICLE_URLS) {
+                        miscDirty = true;
+                    }
+
+                    throw e;
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Loads sitemap URLs failed", e);
+
+            return;
+        }
+
+        final long start = System.currentTimeMillis();
+        final Map<String, CachedContent> previous = null == sitemaps ? Collections.emptyMap() : sitemaps;
+        final Map<String, CachedContent> built = new LinkedHashMap<>();
+        if (miscURLs.size() + articleURLs.size() <= MAX_URLS) {
+            CachedContent root = previous.get(ROOT);
+            if (null == root || 1 < previous.size() || misc || !dirty.isEmpty() || Integer.MAX_VALUE != dirtyFrom) {
+                final List<URL> urls = new ArrayList<>(miscURLs);
+                urls.addAll(articleURLs);
+                root = toSitemap(urls, start);
+            }
+            built.put(ROOT, root);
+        } else {
+            putSitemaps(built, previous, MISC, miscURLs, misc ? 0 : Integer.MAX_VALUE, Collections.emptySet(), start);
+            putSitemaps(built, previous, ARTICLES, articleURLs, dirtyFrom, dirty, start);
+
+            final SitemapIndex index = new SitemapIndex();
+            long lastModified = 0;
+            for (final Map.Entry<String, CachedContent> child : built.entrySet()) {
+                final long childLastModified = child.getValue().getLastModified();
+                index.addSitemap(Latkes.getServePath() + "/sitemaps/" + child.getKey() + ".xml",
+                        DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(childLastModified));
+                lastModified = Math.max(lastModified, childLastModified);
+            }
+            built.put(ROOT, new CachedContent(CONTENT_TYPE, index.toString(), lastModified));
+        }
+
+        sitemaps = Collections.unmodifiableMap(built);
+
+        LOGGER.log(Level.DEBUG, "Built sitemaps [sitemaps={0}, misc={1}, articles={2}] in {3}ms",
+                built.size(), miscURLs.size(), articleURLs.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Puts the specified URL of the article specified by the given id into {@link #ARTICLE_URLS} and marks the
+     * changed sitemaps, the caller should hold the lock of {@link #ARTICLE_URLS}.
+     *
+     * @param articleId the given id
+     * @param url       the specified URL, removes the article URL if it is {@code null}
+     */
+    private static void putArticleURL(final String articleId, final URL url) {
+        final int index = ARTICLE_URLS.headMap(articleId).size() / MAX_URLS;
+        if (null == url) {
+            if (null != ARTICLE_URLS.remove(articleId)) {
+                dirtyArticleSitemapsFrom = Math.min(dirtyArticleSitemapsFrom, index);
+            }
+
+            return;
+        }
+
+        if (null == ARTICLE_URLS.put(articleId, url)) {
+            dirtyArticleSitemapsFrom = Math.min(dirtyArticleSitemapsFrom, index);
+        } else {
+            DIRTY_ARTICLE_SITEMAPS.add(index);
+        }
+    }
+
+    /**
+     * Puts the sitemaps of the specified URLs split at {@link #MAX_URLS} into the specified built sitemaps, reuses the
+     * unchanged ones in the specified previous sitemaps.
+     *
+     * @param built        the specified built sitemaps
+     * @param previous     the specified previous sitemaps
+     * @param prefix       the specified sitemap name prefix
+     * @param urls         the specified URLs
+     * @param dirtyFrom    the specified index of the first shifted sitemap
+     * @param dirty        the specified indices of the changed sitemaps
+     * @param lastModified the specified last modified time of the changed sitemaps
+     */
+    private static void putSitemaps(final Map<String, CachedContent> built, final Map<String, CachedContent> previous,
+                                    final String prefix, final List<URL> urls, final int dirtyFrom,
+                                    final Set<Integer> dirty, final long lastModified) {
+        final int count = Math.max(1, (urls.size() + MAX_URLS - 1) / MAX_URLS);
+        for (int i = 0; i < count; i++) {
+            final String name = prefix + (i + 1);
+            CachedContent sitemap = previous.get(name);
+            if (null == sitemap || i >= dirtyFrom || dirty.contains(i)) {
+                sitemap = toSitemap(urls.subList(i * MAX_URLS, Math.min(urls.size(), (i + 1) * MAX_URLS)), lastModified);
+            }
+            built.put(name, sitemap);
+        }
+    }
+
+    /**
+     * Serializes the specified URLs into a sitemap.
+     *
+     * @param urls         the specified URLs
+     * @param lastModified the specified last modified time
+     * @return sitemap
+     */
+    private static CachedContent toSitemap(final List<URL> urls, final long lastModified) {
+        final Sitemap sitemap = new Sitemap();
+        for (final URL url : urls) {
+            sitemap.addURL(url);
+        }
+
+        return new CachedContent(CONTENT_TYPE, sitemap.toString(), lastModified);
+    }
+
+    /**
+     * Loads the URLs of all published articles into {@link #ARTICLE_URLS}.
+     *
+     * @throws Exception exception
+     */
+    private void loadArticleURLs() throws Exception {
+        ARTICLE_URLS.clear();
+
+        int pageNum = 1;
+        while (true) {
+            final Query query = new Query().setCurrentPageNum(pageNum).setPageSize(PAGE_SIZE).setPageCount(1).
+                    setFilter(new PropertyFilter(Article.ARTICLE_IS_PUBLISHED, FilterOperator.EQUAL, true)).
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING).
+                    addProjection(Keys.OBJECT_ID, String.class).
+                    addProjection(Article.ARTICLE_PERMALINK, String.class).
+                    addProjection(Article.ARTICLE_UPDATE_DATE, Date.class);
+            final JSONArray articles = articleRepository.get(query).getJSONArray(Keys.RESULTS);
+            for (int i = 0; i < articles.length(); i++) {
+                final JSONObject article = articles.getJSONObject(i);
+                ARTICLE_URLS.put(article.getString(Keys.OBJECT_ID), toURL(article));
+            }
+
+            if (PAGE_SIZE > articles.length()) {
+                break;
+            }
+            pageNum++;
+        }
+    }
+
+    /**
+     * Loads the URLs of navigations (pages and links), tags, tags wall and archives.
+     *
+     * @return URLs
+     * @throws Exception exception
+     */
+    private List<URL> loadMiscURLs() throws Exception {
+        final List<URL> ret = new ArrayList<>();
+
+        final JSONArray pages = pageRepository.get(new Query()).getJSONArray(Keys.RESULTS);
+        for (int i = 0; i < pages.length(); i++) {
+            final String permalink = pages.getJSONObject(i).getString(Page.PAGE_PERMALINK);
+            final URL url = new URL();
+
+            // The navigation maybe a page or a link
+            // Just filters for user mistakes tolerance
+            if (!permalink.contains("://")) {
+                url.setLoc(Latkes.getServePath() + permalink);
+            } else {
+                url.setLoc(permalink);
+            }
+            ret.add(url);
+        }
+
+        final JSONArray tags = tagRepository.get(new Query()).getJSONArray(Keys.RESULTS);
+        for (int i = 0; i < tags.length(); i++) {
+            final String link = URLEncoder.encode(tags.getJSONObject(i).getString(Tag.TAG_TITLE), "UTF-8");
+            final URL url = new URL();
+            url.setLoc(Latkes.getServePath() + "/tags/" + link);
+            ret.add(url);
+        }
+
+        // Tags wall
+        final URL tagsWall = new URL();
+        tagsWall.setLoc(Latkes.getServePath() + "/tags.html");
+        ret.add(tagsWall);
+
+        final JSONArray archiveDates = archiveDateRepository.get(new Query()).getJSONArray(Keys.RESULTS);
+        for (int i = 0; i < archiveDates.length(); i++) {
+            final long time = archiveDates.getJSONObject(i).getLong(ArchiveDate.ARCHIVE_TIME);
+            final URL url = new URL();
+            url.setLoc(Latkes.getServePath() + "/archives/" + DateFormatUtils.format(time, "yyyy/MM"));
+            ret.add(url);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the sitemap URL of the specified article.
+     *
+     * @param article the specified article
+     * @return URL
+     */
+    private static URL toURL(final JSONObject article) {
+        final URL ret = new URL();
+        ret.setLoc(Latkes.getServePath() + article.optString(Article.ARTICLE_PERMALINK));
+
+        final Object updateDate = article.opt(Article.ARTICLE_UPDATE_DATE);
+        if (updateDate instanceof Date) {
+            ret.setLastMod(DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format((Date) updateDate));
+        } else if (updateDate instanceof Number) {
+            ret.setLastMod(DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(((Number) updateDate).longValue()));
+        }
+
+        return ret;
+    }
+}
@@ -17,6 +17,12 @@
  */
 package org.b3log.solo.service;
 
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.apache.commons.lang.time.DateUtils;
+import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
@@ -26,55 +32,148 @@ import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.Requests;
+import org.b3log.latke.util.Sessions;
+import org.b3log.latke.util.Strings;
 import org.b3log.solo.cache.StatisticCache;
 import org.b3log.solo.model.Option;
 import org.b3log.solo.repository.ArticleRepository;
 import org.b3log.solo.repository.OptionRepository;
-import org.json.JSONArray;
+import org.b3log.solo.util.BloomFilter;
+import org.b3log.solo.util.HyperLogLog;
 import org.json.JSONObject;
 
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
-import java.util.Iterator;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Statistic management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.1.1, Apr 1, 2018
+ * @version 2.1.1.2, Oct 19, 2026
  * @since 0.5.0
  */
 @Service
 public class StatisticMgmtService {
 
     /**
-     * Online visitor cache.
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(StatisticMgmtService.class);
+
+    /**
+     * Online visitor expiration in 5 minutes.
+     */
+    private static final long ONLINE_VISITOR_EXPIRATION = 300000;
+
+    /**
+     * Precision of online visitor sketches.
+     */
+    private static final int ONLINE_VISITOR_PRECISION = 10;
+
+    /**
+     * Precision of unique visitor sketches.
+     */
+    private static final int UNIQUE_VISITOR_PRECISION = 11;
+
+    /**
+     * Online visitor bucket span in 1 minute.
+     */
+    private static final long ONLINE_VISITOR_BUCKET_SPAN = 60000;
+
+    /**
+     * Online visitor buckets, each bucket is a sketch of visitors in one minute, buckets are reused in a ring.
+     */
+    private static final HyperLogLog[] ONLINE_VISITOR_BUCKETS;
+
+    /**
+     * Ticks (time / {@link #ONLINE_VISITOR_BUCKET_SPAN}) of online visitor buckets.
+     */
+    private static final long[] ONLINE_VISITOR_BUCKET_TICKS;
+
+    /**
+     * Max size of the persisted daily unique visitor series.
+     */
+    private static final int UNIQUE_VISITOR_DAILY_MAX = 90;
+
+    /**
+     * Max size of the persisted monthly unique visitor series.
+     */
+    private static final int UNIQUE_VISITOR_MONTHLY_MAX = 24;
+
+    /**
+     * Unique visitors of finished days and months, waiting for persistence.
      * <p>
-     * &lt;ip, recentTime&gt;
+     * &lt;yyyyMMdd or yyyyMM, count&gt;
      * </p>
      */
-    public static final Map<String, Long> ONLINE_VISITORS = new ConcurrentHashMap<>();
+    private static final Map<String, Long> FINISHED_UNIQUE_VISITORS = new ConcurrentHashMap<>();
 
     /**
-     * Logger.
+     * Current day (yyyyMMdd) of {@link #uniqueVisitorDaySketch}.
      */
-    private static final Logger LOGGER = Logger.getLogger(StatisticMgmtService.class);
+    private static volatile String uniqueVisitorDay;
 
     /**
-     * Online visitor expiration in 5 minutes.
+     * End time of {@link #uniqueVisitorDay}.
      */
-    private static final int ONLINE_VISITOR_EXPIRATION = 300000;
+    private static volatile long uniqueVisitorDayEnd;
+
+    /**
+     * Unique visitor sketch of the current day.
+     */
+    private static volatile HyperLogLog uniqueVisitorDaySketch;
+
+    /**
+     * Current month (yyyyMM) of {@link #uniqueVisitorMonthSketch}.
+     */
+    private static volatile String uniqueVisitorMonth;
+
+    /**
+     * Unique visitor sketch of the current month.
+     */
+    private static volatile HyperLogLog uniqueVisitorMonthSketch;
+
+    /**
+     * Whether the persisted unique visitor sketches have been merged after startup.
+     */
+    private static volatile boolean uniqueVisitorSketchLoaded;
+
+    static {
+        final int bucketCnt = (int) (ONLINE_VISITOR_EXPIRATION / ONLINE_VISITOR_BUCKET_SPAN);
+        ONLINE_VISITOR_BUCKETS = new HyperLogLog[bucketCnt];
+        ONLINE_VISITOR_BUCKET_TICKS = new long[bucketCnt];
+        for (int i = 0; i < bucketCnt; i++) {
+            ONLINE_VISITOR_BUCKETS[i] = new HyperLogLog(ONLINE_VISITOR_PRECISION);
+        }
+
+        rollUniqueVisitorDay(System.currentTimeMillis());
+    }
 
     /**
      * Cookie expiry of "visited".
      */
     private static final int COOKIE_EXPIRY = 60 * 60 * 24; // 24 hours
 
+    /**
+     * Cookie name of "visited".
+     */
+    private static final String VISITED_COOKIE_NAME = "visited";
+
+    /**
+     * Byte size of "visited" Bloom filter, 1024 bits keeps false positive rate under 2% for 100 URIs.
+     */
+    private static final int VISITED_BLOOM_FILTER_SIZE = 128;
+
+    /**
+     * Hash function count of "visited" Bloom filter.
+     */
+    private static final int VISITED_BLOOM_FILTER_HASH_CNT = 3;
+
     /**
      * Option repository.
      */
@@ -101,32 +200,108 @@ public class StatisticMgmtService {
 
     /**
      * Removes the expired online visitor.
+     * <p>
+     * Clears online visitor buckets which are out of the expiration window. Buckets are also recycled lazily on
+     * write, so memory is constant even if this method is never called.
+     * </p>
      */
     public static void removeExpiredOnlineVisitor() {
-        final long currentTimeMillis = System.currentTimeMillis();
+        final long currentTick = System.currentTimeMillis() / ONLINE_VISITOR_BUCKET_SPAN;
 
-        final Iterator<Map.Entry<String, Long>> iterator = ONLINE_VISITORS.entrySet().iterator();
+        synchronized (ONLINE_VISITOR_BUCKETS) {
+            for (int i = 0; i < ONLINE_VISITOR_BUCKETS.length; i++) {
+                if (currentTick - ONLINE_VISITOR_BUCKET_TICKS[i] >= ONLINE_VISITOR_BUCKETS.length) {
+                    ONLINE_VISITOR_BUCKETS[i].clear();
+                }
+            }
+        }
 
-        while (iterator.hasNext()) {
-            final Map.Entry<String, Long> onlineVisitor = iterator.next();
+        LOGGER.log(Level.DEBUG, "Current online visitor count [{0}]", getOnlineVisitorCount());
+    }
 
-            if (currentTimeMillis > (onlineVisitor.getValue() + ONLINE_VISITOR_EXPIRATION)) {
-                iterator.remove();
-                LOGGER.log(Level.TRACE, "Removed online visitor[ip={0}]", onlineVisitor.getKey());
+    /**
+     * Gets the estimated online visitor count.
+     *
+     * @return online visitor count
+     */
+    public static int getOnlineVisitorCount() {
+        final long currentTick = System.currentTimeMillis() / ONLINE_VISITOR_BUCKET_SPAN;
+        final HyperLogLog onlineVisitors = new HyperLogLog(ONLINE_VISITOR_PRECISION);
+
+        synchronized (ONLINE_VISITOR_BUCKETS) {
+            for (int i = 0; i < ONLINE_VISITOR_BUCKETS.length; i++) {
+                if (currentTick - ONLINE_VISITOR_BUCKET_TICKS[i] < ONLINE_VISITOR_BUCKETS.length) {
+                    onlineVisitors.merge(ONLINE_VISITOR_BUCKETS[i]);
+                }
             }
         }
 
-        LOGGER.log(Level.DEBUG, "Current online visitor count [{0}]", ONLINE_VISITORS.size());
+        return (int) onlineVisitors.count();
+    }
+
+    /**
+     * Gets the estimated unique visitor count of the current day.
+     *
+     * @return a json object, for example,
+     * <pre>
+     * {
+     *     "day": "20181019",
+     *     "dayCount": long,
+     *     "month": "201810",
+     *     "monthCount": long
+     * }
+     * </pre>
+     */
+    public static JSONObject getCurrentUniqueVisitors() {
+        final JSONObject ret = new JSONObject();
+        ret.put("day", uniqueVisitorDay);
+        ret.put("dayCount", uniqueVisitorDaySketch.count());
+        ret.put("month", uniqueVisitorMonth);
+        ret.put("monthCount", uniqueVisitorMonthSketch.count());
+
+        return ret;
+    }
+
+    /**
+     * Rolls the unique visitor sketches of day (and month if need) to the day of the specified time.
+     *
+     * @param time the specified time
+     */
+    private static synchronized void rollUniqueVisitorDay(final long time) {
+        if (time < uniqueVisitorDayEnd) {
+            return; // Rolled by another thread
+        }
+
+        if (null != uniqueVisitorDaySketch) {
+            FINISHED_UNIQUE_VISITORS.put(uniqueVisitorDay, uniqueVisitorDaySketch.count());
+        }
+
+        final String month = DateFormatUtils.format(time, "yyyyMM");
+        if (!month.equals(uniqueVisitorMonth)) {
+            if (null != uniqueVisitorMonthSketch) {
+                FINISHED_UNIQUE_VISITORS.put(uniqueVisitorMonth, uniqueVisitorMonthSketch.count());
+            }
+
+            uniqueVisitorMonthSketch = new HyperLogLog(UNIQUE_VISITOR_PRECISION);
+            uniqueVisitorMonth = month;
+        }
+
+        uniqueVisitorDaySketch = new HyperLogLog(UNIQUE_VISITOR_PRECISION);
+        uniqueVisitorDay = DateFormatUtils.format(time, "yyyyMMdd");
+        uniqueVisitorDayEnd = DateUtils.ceiling(new Date(time), Calendar.DATE).getTime();
     }
 
     /**
      * Determines whether the specified request has been served.
      * <p>
      * A "served request" is a request a URI as former one. For example, if a client is request "/test", all requests from the client
-     * subsequent in 24 hours will be treated as served requests, requested URIs save in client cookie (name: "visited").
+     * subsequent in 24 hours will be treated as served requests, requested URIs are added into a fixed size Bloom filter saved in
+     * client cookie (name: "visited", value: issued.base64(bits).base64(signature)), so the cookie does not grow with visits.
+     * The issue time is signed with the bits, a fresh filter is started 24 hours after it so the filter never saturates even
+     * if the client keeps visiting new URIs.
      * </p>
      * <p>
-     * If the specified request has not been served, appends the request URI in client cookie.
+     * If the specified request has not been served, adds the request URI in client cookie.
      * </p>
      * <p>
      * Sees this issue (https://github.com/b3log/solo/issues/44) for more details.
@@ -137,67 +312,86 @@ public class StatisticMgmtService {
      * @return {@code true} if the specified request has been served, returns {@code false} otherwise
      */
     public static boolean hasBeenServed(final HttpServletRequest request, final HttpServletResponse response) {
+        final String requestURI = request.getRequestURI();
+        final long now = System.currentTimeMillis();
+
+        BloomFilter visited = null;
+        long issued = now;
         final Cookie[] cookies = request.getCookies();
-        if (null == cookies || 0 == cookies.length) {
-            return false;
-        }
+        if (null != cookies) {
+            for (final Cookie cookie : cookies) {
+                if (VISITED_COOKIE_NAME.equals(cookie.getName())) {
+                    visited = parseVisitedCookie(cookie.getValue(), now);
+                    if (null != visited) {
+                        issued = Long.parseLong(StringUtils.substringBefore(cookie.getValue(), "."));
+                    }
 
-        Cookie cookie;
-        boolean needToCreate = true;
-        boolean needToAppend = true;
-        JSONArray cookieJSONArray = null;
+                    break;
+                }
+            }
+        }
 
-        try {
-            for (int i = 0; i < cookies.length; i++) {
-                cookie = cookies[i];
+        if (null == visited) {
+            visited = new BloomFilter(VISITED_BLOOM_FILTER_SIZE, VISITED_BLOOM_FILTER_HASH_CNT);
+        } else if (visited.mightContain(requestURI)) {
+            return true;
+        }
 
-                if (!"visited".equals(cookie.getName())) {
-                    continue;
-                }
+        visited.add(requestURI);
 
-                final String value = URLDecoder.decode(cookie.getValue(), "UTF-8");
-                cookieJSONArray = new JSONArray(value);
-                if (null == cookieJSONArray || 0 == cookieJSONArray.length()) {
-                    return false;
-                }
+        final String payload = issued + "." + Base64.encodeBase64URLSafeString(visited.getBits());
+        final Cookie c = new Cookie(VISITED_COOKIE_NAME, payload + "." + signVisited(payload));
+        c.setMaxAge((int) Math.max(1, (issued + COOKIE_EXPIRY * 1000L - now) / 1000));
+        c.setPath("/");
+        response.addCookie(c);
 
-                needToCreate = false;
+        return false;
+    }
 
-                for (int j = 0; j < cookieJSONArray.length(); j++) {
-                    final String visitedURL = cookieJSONArray.optString(j);
+    /**
+     * Parses the specified "visited" cookie value.
+     *
+     * @param value the specified cookie value
+     * @param now   the specified current time
+     * @return Bloom filter of visited URIs, returns {@code null} if the specified value is malformed, not signed
+     * by this blog or issued more than 24 hours ago
+     */
+    private static BloomFilter parseVisitedCookie(final String value, final long now) {
+        if (Strings.isEmptyOrNull(value)) {
+            return null;
+        }
 
-                    if (request.getRequestURI().equals(visitedURL)) {
-                        needToAppend = false;
-                        return true;
-                    }
-                }
-            }
+        final String payload = StringUtils.substringBeforeLast(value, ".");
+        final String signature = StringUtils.substringAfterLast(value, ".");
+        if (!MessageDigest.isEqual(signVisited(payload).getBytes(StandardCharsets.UTF_8), signature.getBytes(StandardCharsets.UTF_8))) {
+            LOGGER.log(Level.DEBUG, "Malformed cookie [name=visited], resets it");
 
-            if (needToCreate) {
-                final StringBuilder builder = new StringBuilder("[").append("\"").append(request.getRequestURI()).append("\"]");
-                final Cookie c = new Cookie("visited", URLEncoder.encode(builder.toString(), "UTF-8"));
-                c.setMaxAge(COOKIE_EXPIRY);
-                c.setPath("/");
-                response.addCookie(c);
-            } else if (needToAppend) {
-                cookieJSONArray.put(request.getRequestURI());
-
-                final Cookie c = new Cookie("visited", URLEncoder.encode(cookieJSONArray.toString(), "UTF-8"));
-                c.setMaxAge(COOKIE_EXPIRY);
-                c.setPath("/");
-                response.addCookie(c);
-            }
-        } catch (final Exception e) {
-            LOGGER.log(Level.WARN, "Parses cookie failed, clears the cookie[name=visited]");
+            return null;
+        }
 
-            final Cookie c = new Cookie("visited", null);
-            c.setMaxAge(0);
-            c.setPath("/");
+        final String issued = StringUtils.substringBefore(payload, ".");
+        if (!Strings.isNumeric(issued) || now - Long.parseLong(issued) >= COOKIE_EXPIRY * 1000L) {
+            return null;
+        }
 
-            response.addCookie(c);
+        final byte[] data = Base64.decodeBase64(StringUtils.substringAfter(payload, "."));
+        if (VISITED_BLOOM_FILTER_SIZE != data.length) {
+            return null;
         }
 
-        return false;
+        return new BloomFilter(data, VISITED_BLOOM_FILTER_HASH_CNT);
+    }
+
+    /**
+     * Signs the specified "visited" cookie payload.
+     *
+     * @param payload the specified payload, issued.base64(bits) (Base64 URL safe)
+     * @return signature (Base64 URL safe)
+     */
+    private static String signVisited(final String payload) {
+        final byte[] hmac = HmacUtils.hmacSha256(Sessions.COOKIE_SECRET, payload);
+
+        return Base64.encodeBase64URLSafeString(Arrays.copyOf(hmac, 8));
     }
 
     /**
@@ -208,13 +402,16 @@ public class StatisticMgmtService {
      * <p>
      * There is a cron job (/console/stat/viewcnt) to flush the blog view count from cache to datastore.
      * </p>
+     * <p>
+     * Views are handled concurrently, the read and update are synchronized to not lose increments.
+     * </p>
      *
      * @param request  the specified request
      * @param response the specified response
      * @throws ServiceException service exception
      * @see Requests#searchEngineBotRequest(javax.servlet.http.HttpServletRequest)
      */
-    public void incBlogViewCount(final HttpServletRequest request, final HttpServletResponse response) throws ServiceException {
+    public synchronized void incBlogViewCount(final HttpServletRequest request, final HttpServletResponse response) throws ServiceException {
         if (Requests.searchEngineBotRequest(request)) {
             return;
         }
@@ -403,6 +600,10 @@ public class StatisticMgmtService {
 
     /**
      * Refreshes online visitor count for the specified request.
+     * <p>
+     * Adds the remote address of the specified request into the current online visitor bucket and the unique visitor
+     * sketches of the current day and month, costs O(1) time and no extra memory.
+     * </p>
      *
      * @param request the specified request
      */
@@ -415,8 +616,168 @@ public class StatisticMgmtService {
 
         LOGGER.log(Level.DEBUG, "Current request [IP={0}]", remoteAddr);
 
-        ONLINE_VISITORS.put(remoteAddr, System.currentTimeMillis());
-        LOGGER.log(Level.DEBUG, "Current online visitor count [{0}]", ONLINE_VISITORS.size());
+        final long now = System.currentTimeMillis();
+        final long tick = now / ONLINE_VISITOR_BUCKET_SPAN;
+        final int slot = (int) (tick % ONLINE_VISITOR_BUCKETS.length);
+        if (tick != ONLINE_VISITOR_BUCKET_TICKS[slot]) {
+            synchronized (ONLINE_VISITOR_BUCKETS) {
+                if (tick != ONLINE_VISITOR_BUCKET_TICKS[slot]) {
+                    ONLINE_VISITOR_BUCKETS[slot].clear();
+                    ONLINE_VISITOR_BUCKET_TICKS[slot] = tick;
+                }
+            }
+        }
+        ONLINE_VISITOR_BUCKETS[slot].add(remoteAddr);
+
+        if (now >= uniqueVisitorDayEnd) {
+            rollUniqueVisitorDay(now);
+        }
+        uniqueVisitorDaySketch.add(remoteAddr);
+        uniqueVisitorMonthSketch.add(remoteAddr);
+    }
+
+    /**
+     * Persists the daily and monthly unique visitor series and the current sketches.
+     * <p>
+     * There is a cron job (/console/stat/onlineVisitorRefresh) to invoke this method.
+     * </p>
+     */
+    public void flushUniqueVisitors() {
+        final Transaction transaction = optionRepository.beginTransaction();
+        try {
+            final JSONObject sketchOpt = optionRepository.get(Option.ID_C_STATISTIC_UNIQUE_VISITOR_SKETCH);
+            if (!uniqueVisitorSketchLoaded) {
+                mergePersistedSketches(sketchOpt);
+                uniqueVisitorSketchLoaded = true;
+            }
+
+            final String day = uniqueVisitorDay;
+            final HyperLogLog daySketch = uniqueVisitorDaySketch;
+            final String month = uniqueVisitorMonth;
+            final HyperLogLog monthSketch = uniqueVisitorMonthSketch;
+
+            final Map<String, Long> finished = new HashMap<>(FINISHED_UNIQUE_VISITORS);
+            final JSONObject daily = getSeries(Option.ID_C_STATISTIC_UNIQUE_VISITOR_DAILY);
+            final JSONObject monthly = getSeries(Option.ID_C_STATISTIC_UNIQUE_VISITOR_MONTHLY);
+            for (final Map.Entry<String, Long> entry : finished.entrySet()) {
+                final String period = entry.getKey();
+                final JSONObject series = 8 == period.length() ? daily : monthly;
+                series.put(period, Math.max(series.optLong(period), entry.getValue()));
+            }
+            daily.put(day, daySketch.count());
+            monthly.put(month, monthSketch.count());
+
+            saveOption(Option.ID_C_STATISTIC_UNIQUE_VISITOR_DAILY, trimSeries(daily, UNIQUE_VISITOR_DAILY_MAX).toString());
+            saveOption(Option.ID_C_STATISTIC_UNIQUE_VISITOR_MONTHLY, trimSeries(monthly, UNIQUE_VISITOR_MONTHLY_MAX).toString());
+
+            final JSONObject sketch = new JSONObject();
+            sketch.put("day", day);
+            sketch.put("daySketch", daySketch.toBase64());
+            sketch.put("month", month);
+            sketch.put("monthSketch", monthSketch.toBase64());
+            saveOption(Option.ID_C_STATISTIC_UNIQUE_VISITOR_SKETCH, sketch.toString());
+
+            transaction.commit();
+
+            for (final String period : finished.keySet()) {
+                FINISHED_UNIQUE_VISITORS.remove(period);
+            }
+
+            LOGGER.log(Level.DEBUG, "Flushed unique visitors [day={0}, dayCount={1}, month={2}, monthCount={3}]",
+                    day, daily.optLong(day), month, monthly.optLong(month));
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Flushes unique visitors failed", e);
+        }
+    }
+
+    /**
+     * Merges the specified persisted sketch option into the current sketches, so restarting does not lose the visitors
+     * of the current day and month.
+     *
+     * @param sketchOpt the specified persisted sketch option, may be {@code null}
+     */
+    private static void mergePersistedSketches(final JSONObject sketchOpt) {
+        if (null == sketchOpt) {
+            return;
+        }
+
+        final JSONObject sketch = new JSONObject(sketchOpt.optString(Option.OPTION_VALUE, "{}"));
+        final String day = sketch.optString("day");
+        final HyperLogLog daySketch = HyperLogLog.fromBase64(UNIQUE_VISITOR_PRECISION, sketch.optString("daySketch"));
+        if (day.equals(uniqueVisitorDay)) {
+            uniqueVisitorDaySketch.merge(daySketch);
+        } else if (Strings.isNumeric(day)) {
+            FINISHED_UNIQUE_VISITORS.put(day, daySketch.count());
+        }
+
+        final String month = sketch.optString("month");
+        final HyperLogLog monthSketch = HyperLogLog.fromBase64(UNIQUE_VISITOR_PRECISION, sketch.optString("monthSketch"));
+        if (month.equals(uniqueVisitorMonth)) {
+            uniqueVisitorMonthSketch.merge(monthSketch);
+        } else if (Strings.isNumeric(month)) {
+            FINISHED_UNIQUE_VISITORS.put(month, monthSketch.count());
+        }
+    }
+
+    /**
+     * Gets the persisted unique visitor series by the specified option id.
+     *
+     * @param optionId the specified option id
+     * @return series, &lt;period, count&gt;, returns an empty json object if not found
+     * @throws RepositoryException repository exception
+     */
+    private JSONObject getSeries(final String optionId) throws RepositoryException {
+        final JSONObject opt = optionRepository.get(optionId);
+        if (null == opt) {
+            return new JSONObject();
+        }
+
+        return new JSONObject(opt.optString(Option.OPTION_VALUE, "{}"));
+    }
+
+    /**
+     * Removes the oldest periods of the specified series to keep the specified max size.
+     *
+     * @param series  the specified series
+     * @param maxSize the specified max size
+     * @return the specified series
+     */
+    private static JSONObject trimSeries(final JSONObject series, final int maxSize) {
+        final List<String> periods = new ArrayList<>();
+        final Iterator<String> keys = series.keys();
+        while (keys.hasNext()) {
+            periods.add(keys.next());
+        }
+        Collections.sort(periods);
+        for (int i = 0; i < periods.size() - maxSize; i++) {
+            series.remove(periods.get(i));
+        }
+
+        return series;
+    }
+
+    /**
+     * Adds or updates an unique visitor option with the specified id and value.
+     *
+     * @param id    the specified id
+     * @param value the specified value
+     * @throws RepositoryException repository exception
+     */
+    private void saveOption(final String id, final String value) throws RepositoryException {
+        final JSONObject opt = new JSONObject();
+        opt.put(Keys.OBJECT_ID, id);
+        opt.put(Option.OPTION_VALUE, value);
+        opt.put(Option.OPTION_CATEGORY, Option.CATEGORY_C_UNIQUE_VISITOR);
+
+        if (null == optionRepository.get(id)) {
+            optionRepository.add(opt);
+        } else {
+            optionRepository.update(id, opt);
+        }
     }
 
     /**
@@ -23,13 +23,19 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.solo.cache.StatisticCache;
 import org.b3log.solo.model.Option;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * Statistic query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.0.0, Sep 6, 2017
+ * @version 2.1.0.0, Oct 19, 2026
  * @since 0.5.0
  */
 @Service
@@ -58,7 +64,78 @@ public class StatisticQueryService {
      * @return online visitor count
      */
     public static int getOnlineVisitorCount() {
-        return StatisticMgmtService.ONLINE_VISITORS.size();
+        return StatisticMgmtService.getOnlineVisitorCount();
+    }
+
+    /**
+     * Gets the daily and monthly unique visitor series, the current day and month are estimated in real time.
+     *
+     * @return a json object, for example,
+     * <pre>
+     * {
+     *     "daily": [{"period": "20181019", "count": long}, ....],
+     *     "monthly": [{"period": "201810", "count": long}, ....]
+     * }
+     * </pre>, periods in ascending order
+     * @throws ServiceException service exception
+     */
+    public JSONObject getUniqueVisitorSeries() throws ServiceException {
+        final JSONObject current = StatisticMgmtService.getCurrentUniqueVisitors();
+
+        final JSONObject daily = getSeries(Option.ID_C_STATISTIC_UNIQUE_VISITOR_DAILY);
+        final String day = current.optString("day");
+        daily.put(day, Math.max(daily.optLong(day), current.optLong("dayCount")));
+
+        final JSONObject monthly = getSeries(Option.ID_C_STATISTIC_UNIQUE_VISITOR_MONTHLY);
+        final String month = current.optString("month");
+        monthly.put(month, Math.max(monthly.optLong(month), current.optLong("monthCount")));
+
+        final JSONObject ret = new JSONObject();
+        ret.put("daily", toSortedArray(daily));
+        ret.put("monthly", toSortedArray(monthly));
+
+        return ret;
+    }
+
+    /**
+     * Gets the persisted unique visitor series by the specified option id.
+     *
+     * @param optionId the specified option id
+     * @return series, &lt;period, count&gt;, returns an empty json object if not found
+     * @throws ServiceException service exception
+     */
+    private JSONObject getSeries(final String optionId) throws ServiceException {
+        final JSONObject opt = optionQueryService.getOptionById(optionId);
+        if (null == opt) {
+            return new JSONObject();
+        }
+
+        return new JSONObject(opt.optString(Option.OPTION_VALUE, "{}"));
+    }
+
+    /**
+     * Converts the specified series to an array sorted by period.
+     *
+     * @param series the specified series, &lt;period, count&gt;
+     * @return array of {"period": "", "count": long}
+     */
+    private static JSONArray toSortedArray(final JSONObject series) {
+        final List<String> periods = new ArrayList<>();
+        final Iterator<String> keys = series.keys();
+        while (keys.hasNext()) {
+            periods.add(keys.next());
+        }
+        Collections.sort(periods);
+
+        final JSONArray ret = new JSONArray();
+        for (final String period : periods) {
+            final JSONObject item = new JSONObject();
+            item.put("period", period);
+            item.put("count", series.optLong(period));
+            ret.put(item);
+        }
+
+        return ret;
     }
 
     /**
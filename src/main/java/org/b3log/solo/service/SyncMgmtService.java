@@ -0,0 +1,368 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.service;
+
+import jodd.http.HttpConnectionProvider;
+import jodd.http.HttpRequest;
+import jodd.http.HttpResponse;
+import jodd.http.net.SocketHttpConnectionProvider;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.service.annotation.Service;
+import org.json.JSONObject;
+
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbound sync (B3log Rhythm/Symphony) management service.
+ * <p>
+ * Pushes are queued by {@link #push(String, String, String, String, long)} and sent by a single background sender
+ * which reuses keep-alive connections per host. Pushes with the same key (the same article for example) are
+ * coalesced within the debounce window so only the latest version is sent. Failed pushes are retried with
+ * exponential backoff.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @since 2.9.3
+ */
+@Service
+public class SyncMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SyncMgmtService.class);
+
+    /**
+     * Debounce window of article pushes in milliseconds.
+     */
+    public static final long ARTICLE_DEBOUNCE = 1000 * 10;
+
+    /**
+     * Max queued pushes, extra pushes are dropped.
+     */
+    private static final int MAX_QUEUED = 1024;
+
+    /**
+     * Max attempts of a push.
+     */
+    private static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * Retry backoff base in 5 seconds, doubles on each retry.
+     */
+    private static final long RETRY_BACKOFF = 1000 * 5;
+
+    /**
+     * Connection and read timeout in milliseconds.
+     */
+    private static final int TIMEOUT = 1000 * 10;
+
+    /**
+     * Queued pushes, &lt;key, push&gt;, in enqueuing order.
+     */
+    private static final Map<String, Push> QUEUE = new LinkedHashMap<>();
+
+    /**
+     * Keep-alive responses, &lt;"scheme://host:port", last response&gt;, accessed by the sender thread only.
+     */
+    private static final Map<String, HttpResponse> KEEP_ALIVES = new HashMap<>();
+
+    /**
+     * Sender.
+     */
+    private static final ScheduledExecutorService SENDER = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread ret = new Thread(r, "SyncSender");
+        ret.setDaemon(true);
+
+        return ret;
+    });
+
+    /**
+     * Count of pushes.
+     */
+    private static final AtomicLong PUSHED = new AtomicLong();
+
+    /**
+     * Count of pushes coalesced into a queued one.
+     */
+    private static final AtomicLong COALESCED = new AtomicLong();
+
+    /**
+     * Count of sent pushes.
+     */
+    private static final AtomicLong SENT = new AtomicLong();
+
+    /**
+     * Count of retries.
+     */
+    private static final AtomicLong RETRIED = new AtomicLong();
+
+    /**
+     * Count of pushes given up after max attempts or dropped because of a full queue.
+     */
+    private static final AtomicLong FAILED = new AtomicLong();
+
+    /**
+     * HTTP connection provider.
+     */
+    private static final HttpConnectionProvider HTTP_CONNECTION_PROVIDER = new SocketHttpConnectionProvider();
+
+    /**
+     * Pushes the specified request.
+     *
+     * @param key      the specified key, queued pushes with the same key are coalesced, for example "article-xxx"
+     * @param method   the specified HTTP method, "POST" or "PUT"
+     * @param url      the specified URL
+     * @param body     the specified JSON body
+     * @param debounce the specified debounce window in milliseconds, 0 to send as soon as possible
+     */
+    public void push(final String key, final String method, final String url, final String body, final long debounce) {
+        PUSHED.incrementAndGet();
+
+        final long due = System.currentTimeMillis() + debounce;
+        synchronized (QUEUE) {
+            final Push queued = QUEUE.get(key);
+            if (null != queued) {
+                // Keeps the method of the first push, adding an article then updating it should be sent as an adding
+                queued.url = url;
+                queued.body = body;
+                queued.due = due;
+                queued.attempts = 0;
+                COALESCED.incrementAndGet();
+
+                LOGGER.log(Level.DEBUG, "Coalesced a sync push [key={0}]", key);
+            } else {
+                if (QUEUE.size() >= MAX_QUEUED) {
+                    FAILED.incrementAndGet();
+                    LOGGER.log(Level.WARN, "Sync queue is full, drops a push [key={0}]", key);
+
+                    return;
+                }
+
+                QUEUE.put(key, new Push(key, method, url, body, due));
+            }
+        }
+
+        SENDER.schedule(SyncMgmtService::flush, debounce, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the sync metrics.
+     *
+     * @return metrics, for example <pre>
+     * {
+     *     "queued": 1,
+     *     "pushed": 10,
+     *     "coalesced": 6,
+     *     "sent": 3,
+     *     "retried": 0,
+     *     "failed": 0
+     * }
+     * </pre>
+     */
+    public JSONObject getMetrics() {
+        final int queued;
+        synchronized (QUEUE) {
+            queued = QUEUE.size();
+        }
+
+        return new JSONObject().
+                put("queued", queued).
+                put("pushed", PUSHED.get()).
+                put("coalesced", COALESCED.get()).
+                put("sent", SENT.get()).
+                put("retried", RETRIED.get()).
+                put("failed", FAILED.get());
+    }
+
+    /**
+     * Sends the due pushes in enqueuing order, runs in the sender thread.
+     */
+    private static void flush() {
+        while (true) {
+            final Push push;
+            final long now = System.currentTimeMillis();
+            synchronized (QUEUE) {
+                final Optional<Push> due = QUEUE.values().stream().filter(p -> p.due <= now).findFirst();
+                if (!due.isPresent()) {
+                    return;
+                }
+
+                push = due.get();
+                QUEUE.remove(push.key);
+            }
+
+            final String error = send(push);
+            if (null == error) {
+                SENT.incrementAndGet();
+
+                continue;
+            }
+
+            push.attempts++;
+            if (push.attempts >= MAX_ATTEMPTS) {
+                FAILED.incrementAndGet();
+                LOGGER.log(Level.ERROR, "Sends a sync push [key={0}, url={1}] failed, gives up after [{2}] attempts: {3}",
+                        push.key, push.url, push.attempts, error);
+
+                continue;
+            }
+
+            final long backoff = RETRY_BACKOFF << (push.attempts - 1);
+            synchronized (QUEUE) {
+                final Push newer = QUEUE.get(push.key);
+                if (null != newer) {
+                    // A newer version supersedes the failed one, it is sent with the method of the failed one
+                    newer.method = push.method;
+
+                    continue;
+                }
+
+                push.due = now + backoff;
+                QUEUE.put(push.key, push);
+            }
+
+            RETRIED.incrementAndGet();
+            LOGGER.log(Level.WARN, "Sends a sync push [key={0}, url={1}] failed, retry [{2}] later: {3}",
+                    push.key, push.url, push.attempts, error);
+            SENDER.schedule(SyncMgmtService::flush, backoff, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the specified push, reuses the keep-alive connection of the target host if any.
+     *
+     * @param push the specified push
+     * @return {@code null} if sent successfully, returns the error otherwise
+     */
+    private static String send(final Push push) {
+        String host = push.url;
+        try {
+            final URL url = new URL(push.url);
+            host = url.getProtocol() + "://" + url.getHost() + ":" + url.getPort();
+        } catch (final Exception e) {
+            // Uses the whole URL as the keep-alive key
+        }
+
+        final HttpRequest request = new HttpRequest().method(push.method).set(push.url).
+                withConnectionProvider(HTTP_CONNECTION_PROVIDER).
+                connectionTimeout(TIMEOUT).timeout(TIMEOUT).
+                bodyText(push.body).contentTypeJson();
+        final HttpResponse last = KEEP_ALIVES.remove(host);
+        try {
+            final HttpResponse response;
+            if (null != last) {
+                response = request.keepAlive(last, true).send();
+            } else {
+                response = request.connectionKeepAlive(true).send();
+            }
+
+            final int statusCode = response.statusCode();
+            if ("close".equalsIgnoreCase(response.header("Connection"))) {
+                response.close();
+            } else {
+                KEEP_ALIVES.put(host, response);
+            }
+
+            if (200 > statusCode || 300 <= statusCode) {
+                return "HTTP " + statusCode;
+            }
+
+            LOGGER.log(Level.DEBUG, "Sent a sync push [key={0}, url={1}]", push.key, push.url);
+
+            return null;
+        } catch (final Exception e) {
+            if (null != last) {
+                try {
+                    last.close();
+                } catch (final Exception ce) {
+                    // Ignored
+                }
+
+                // The keep-alive connection may be closed by the server, retries once with a new connection
+                return send(push);
+            }
+
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * A queued push.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 2.9.3
+     */
+    private static final class Push {
+
+        /**
+         * Key.
+         */
+        private final String key;
+
+        /**
+         * HTTP method.
+         */
+        private String method;
+
+        /**
+         * URL.
+         */
+        private String url;
+
+        /**
+         * JSON body.
+         */
+        private String body;
+
+        /**
+         * Due time.
+         */
+        private long due;
+
+        /**
+         * Attempts.
+         */
+        private int attempts;
+
+        /**
+         * Constructs a push with the specified key, method, URL, body and due time.
+         *
+         * @param key    the specified key
+         * @param method the specified method
+         * @param url    the specified URL
+         * @param body   the specified body
+         * @param due    the specified due time
+         */
+        private Push(final String key, final String method, final String url, final String body, final long due) {
+            this.key = key;
+            this.method = method;
+            this.url = url;
+            this.body = body;
+            this.due = due;
+        }
+    }
+}
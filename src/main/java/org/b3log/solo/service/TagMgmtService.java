@@ -26,12 +26,14 @@ import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.solo.cache.FeedCache;
 import org.b3log.solo.model.Tag;
 import org.b3log.solo.repository.CategoryTagRepository;
 import org.b3log.solo.repository.TagRepository;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -39,7 +41,7 @@ import java.util.List;
  * Tag management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Mar 31, 2017
+ * @version 1.0.0.4, Oct 19, 2026
  * @since 0.4.0
  */
 @Service
@@ -68,6 +70,18 @@ public class TagMgmtService {
     @Inject
     private CategoryTagRepository categoryTagRepository;
 
+    /**
+     * Sitemap management service.
+     */
+    @Inject
+    private SitemapMgmtService sitemapMgmtService;
+
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
     /**
      * Decrements reference count of every tag of an published article specified
      * by the given article id.
@@ -101,6 +115,7 @@ public class TagMgmtService {
 
         try {
             final List<JSONObject> tags = tagQueryService.getTags();
+            final List<String> removedTagIds = new ArrayList<>();
 
             for (int i = 0; i < tags.size(); i++) {
                 final JSONObject tag = tags.get(i);
@@ -111,10 +126,13 @@ public class TagMgmtService {
 
                     categoryTagRepository.removeByTagId(tagId);
                     tagRepository.remove(tagId);
+                    removedTagIds.add(tagId);
                 }
             }
 
             transaction.commit();
+            removedTagIds.forEach(feedCache::removeTagFeeds);
+            sitemapMgmtService.miscChanged();
         } catch (final Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
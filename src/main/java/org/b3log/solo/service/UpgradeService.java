@@ -28,12 +28,15 @@ import org.b3log.latke.model.User;
 import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.repository.jdbc.util.Connections;
+import org.b3log.latke.repository.jdbc.util.JdbcRepositories;
+import org.b3log.latke.repository.jdbc.util.JdbcRepositories.CreateTableResult;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.solo.SoloServletListener;
 import org.b3log.solo.model.Article;
 import org.b3log.solo.model.Option;
+import org.b3log.solo.model.Outbox;
 import org.b3log.solo.model.UserExt;
 import org.b3log.solo.repository.ArticleRepository;
 import org.b3log.solo.repository.CommentRepository;
@@ -47,14 +50,16 @@ import org.json.JSONObject;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 /**
  * Upgrade service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="mailto:dongxu.wang@acm.org">Dongxu Wang</a>
- * @version 1.2.0.27, Jul 26, 2018
+ * @version 1.2.1.2, Oct 19, 2026
  * @since 1.2.0
  */
 @Service
@@ -137,6 +142,11 @@ public class UpgradeService {
                 return;
             }
 
+            // The outbox table is added without a version bump, creates it for installs already on this version
+            if (!existsTable(Outbox.OUTBOX)) {
+                createTables();
+            }
+
             final String currentVer = preference.getString(Option.ID_C_VERSION);
             if (SoloServletListener.VERSION.equals(currentVer)) {
                 return;
@@ -171,6 +181,8 @@ public class UpgradeService {
     private void perform() throws Exception {
         LOGGER.log(Level.INFO, "Upgrading from version [{0}] to version [{1}]....", FROM_VER, TO_VER);
 
+        createTables();
+
         final Transaction transaction = optionRepository.beginTransaction();
         try {
             final JSONObject versionOpt = optionRepository.get(Option.ID_C_VERSION);
@@ -190,6 +202,38 @@ public class UpgradeService {
         LOGGER.log(Level.INFO, "Upgraded from version [{0}] to version [{1}] successfully :-)", FROM_VER, TO_VER);
     }
 
+    /**
+     * Creates the missing database tables (outbox for example) defined in repository.json, existing tables are left
+     * untouched. Invoked on version upgrade, or on startup if the outbox table is missing.
+     */
+    private void createTables() {
+        final List<CreateTableResult> createTableResults = JdbcRepositories.initAllTables();
+        for (final CreateTableResult createTableResult : createTableResults) {
+            LOGGER.log(Level.DEBUG, "Create table result [tableName={0}, isSuccess={1}]",
+                    createTableResult.getName(), createTableResult.isSuccess());
+        }
+    }
+
+    /**
+     * Determines whether the database table specified by the given name exists.
+     *
+     * @param name the given name without table prefix, for example "outbox"
+     * @return {@code true} if it exists, returns {@code false} otherwise
+     */
+    private boolean existsTable(final String name) {
+        final String tablePrefix = Latkes.getLocalProperty("jdbc.tablePrefix") + "_";
+        try (final Connection connection = Connections.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT COUNT(*) FROM " + tablePrefix + name + " WHERE 1 = 0").close();
+
+            return true;
+        } catch (final SQLException e) {
+            LOGGER.log(Level.DEBUG, "Table [{0}] not found: {1}", tablePrefix + name, e.getMessage());
+
+            return false;
+        }
+    }
+
     /**
      * Alters database tables.
      *
@@ -0,0 +1,245 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.service;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.FilterOperator;
+import org.b3log.latke.repository.PropertyFilter;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.Repository;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.SortDirection;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.solo.repository.ArticleRepository;
+import org.b3log.solo.repository.CommentRepository;
+import org.b3log.solo.repository.LinkRepository;
+import org.b3log.solo.repository.OptionRepository;
+import org.b3log.solo.repository.PageRepository;
+import org.b3log.solo.repository.UserRepository;
+import org.b3log.solo.util.Solos;
+import org.b3log.solo.util.Uploads;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Upload management service.
+ * <p>
+ * Collects garbage of the content-addressed local uploads (blobs, see {@link Uploads}): counts the references to each
+ * blob by scanning the stored content (articles, pages, comments, links, options and users), and sweeps the blobs
+ * referenced by nothing. Blobs stored recently are kept, they may be referenced by content not saved yet.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 19, 2026
+ * @since 2.9.3
+ */
+@Service
+public class UploadMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(UploadMgmtService.class);
+
+    /**
+     * Blob reference pattern.
+     */
+    private static final Pattern REF_PATTERN = Pattern.compile("/upload/(" + Uploads.BLOB_NAME_PATTERN.pattern() + ")");
+
+    /**
+     * Page size of scanning.
+     */
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * Grace period of unreferenced blobs in 1 day.
+     */
+    private static final long GRACE_PERIOD = 1000 * 60 * 60 * 24;
+
+    /**
+     * Collector, at most one collection is running and one waiting, extra collection requests are coalesced.
+     */
+    private static final ExecutorService COLLECTOR = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * Article repository.
+     */
+    @Inject
+    private ArticleRepository articleRepository;
+
+    /**
+     * Page repository.
+     */
+    @Inject
+    private PageRepository pageRepository;
+
+    /**
+     * Comment repository.
+     */
+    @Inject
+    private CommentRepository commentRepository;
+
+    /**
+     * Link repository.
+     */
+    @Inject
+    private LinkRepository linkRepository;
+
+    /**
+     * Option repository.
+     */
+    @Inject
+    private OptionRepository optionRepository;
+
+    /**
+     * User repository.
+     */
+    @Inject
+    private UserRepository userRepository;
+
+    /**
+     * Collects garbage in background.
+     */
+    public void gcAsync() {
+        COLLECTOR.execute(() -> {
+            try {
+                gc();
+            } finally {
+                JdbcRepository.dispose();
+            }
+        });
+    }
+
+    /**
+     * Collects garbage, updates reference counts of blobs and sweeps the unreferenced blobs.
+     * <p>
+     * There is a cron job (/console/upload/gc) to invoke this method.
+     * </p>
+     *
+     * @return the count of the swept blobs
+     */
+    public synchronized int gc() {
+        if (StringUtils.isBlank(Solos.UPLOAD_DIR_PATH)) {
+            return 0;
+        }
+
+        final long start = System.currentTimeMillis();
+        final Set<String> blobNames = Uploads.getBlobNames();
+        if (blobNames.isEmpty()) {
+            return 0;
+        }
+
+        final Map<String, Integer> refCounts = new HashMap<>();
+        final List<Repository> repositories = Arrays.asList(articleRepository, pageRepository, commentRepository,
+                linkRepository, optionRepository, userRepository);
+        try {
+            for (final Repository repository : repositories) {
+                countRefs(repository, refCounts);
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Counts upload references failed, skips sweeping", e);
+
+            return 0;
+        }
+
+        Uploads.setRefCounts(refCounts);
+
+        int ret = 0;
+        for (final String blobName : blobNames) {
+            if (refCounts.containsKey(blobName)) {
+                continue;
+            }
+
+            if (Uploads.deleteBlob(blobName, start - GRACE_PERIOD)) {
+                ret++;
+            }
+        }
+
+        LOGGER.log(Level.INFO, "Collected upload garbage [blobs={0}, referenced={1}, swept={2}] in {3}ms",
+                blobNames.size(), refCounts.size(), ret, System.currentTimeMillis() - start);
+
+        return ret;
+    }
+
+    /**
+     * Counts blob references in all records of the specified repository.
+     * <p>
+     * Records are paged by id (oId &gt; the last seen id) rather than by page number, so a record added or removed
+     * concurrently never shifts the pages and makes the scan skip a record, whose blobs would be swept.
+     * </p>
+     *
+     * @param repository the specified repository
+     * @param refCounts  the specified reference counts, &lt;blobName, count&gt;
+     * @throws RepositoryException repository exception
+     */
+    private void countRefs(final Repository repository, final Map<String, Integer> refCounts) throws RepositoryException {
+        String lastId = null;
+        while (true) {
+            final Query query = new Query().setCurrentPageNum(1).setPageSize(PAGE_SIZE).setPageCount(1).
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
+            if (null != lastId) {
+                query.setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, lastId));
+            }
+            final JSONArray records = repository.get(query).optJSONArray(Keys.RESULTS);
+            if (null == records) {
+                return;
+            }
+
+            for (int i = 0; i < records.length(); i++) {
+                final JSONObject record = records.optJSONObject(i);
+                final Iterator<String> keys = record.keys();
+                while (keys.hasNext()) {
+                    final Object value = record.opt(keys.next());
+                    if (!(value instanceof String)) {
+                        continue;
+                    }
+
+                    final Matcher matcher = REF_PATTERN.matcher((String) value);
+                    while (matcher.find()) {
+                        refCounts.merge(matcher.group(1), 1, Integer::sum);
+                    }
+                }
+            }
+
+            if (records.length() < PAGE_SIZE) {
+                return;
+            }
+
+            lastId = records.optJSONObject(records.length() - 1).optString(Keys.OBJECT_ID);
+        }
+    }
+}
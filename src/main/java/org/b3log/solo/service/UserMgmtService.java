@@ -36,6 +36,7 @@ import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.Crypts;
 import org.b3log.latke.util.Sessions;
 import org.b3log.latke.util.Strings;
+import org.b3log.solo.cache.FeedCache;
 import org.b3log.solo.model.UserExt;
 import org.b3log.solo.repository.UserRepository;
 import org.b3log.solo.util.Thumbnails;
@@ -51,7 +52,7 @@ import javax.servlet.http.HttpServletResponse;
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="mailto:385321165@qq.com">DASHU</a>
  * @author <a href="https://github.com/nanolikeyou">nanolikeyou</a>
- * @version 1.1.0.12, Aug 2, 2018
+ * @version 1.1.0.13, Oct 19, 2026
  * @since 0.4.0
  */
 @Service
@@ -79,6 +80,12 @@ public class UserMgmtService {
     @Inject
     private LangPropsService langPropsService;
 
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
     /**
      * Tries to login with cookie.
      *
@@ -209,6 +216,7 @@ public class UserMgmtService {
 
             userRepository.update(oldUserId, oldUser);
             transaction.commit();
+            feedCache.clear(); // Author names in feeds
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -328,6 +336,7 @@ public class UserMgmtService {
             userRepository.add(user);
 
             transaction.commit();
+            feedCache.clear(); // Author names in feeds
 
             return user.optString(Keys.OBJECT_ID);
         } catch (final RepositoryException e) {
@@ -353,6 +362,7 @@ public class UserMgmtService {
             userRepository.remove(userId);
 
             transaction.commit();
+            feedCache.clear(); // Author names in feeds
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
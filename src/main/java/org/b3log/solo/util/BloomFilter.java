@@ -0,0 +1,131 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.util;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Fixed size Bloom filter.
+ * <p>
+ * Membership tests may return false positives but never false negatives. Both adding and testing cost O(k) where k is
+ * the hash function count.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class BloomFilter {
+
+    /**
+     * Bits.
+     */
+    private final byte[] bits;
+
+    /**
+     * Hash function count.
+     */
+    private final int hashCount;
+
+    /**
+     * Constructs an empty Bloom filter with the specified byte size and hash function count.
+     *
+     * @param byteSize  the specified byte size
+     * @param hashCount the specified hash function count
+     */
+    public BloomFilter(final int byteSize, final int hashCount) {
+        this(new byte[byteSize], hashCount);
+    }
+
+    /**
+     * Constructs a Bloom filter with the specified bits and hash function count.
+     *
+     * @param bits      the specified bits
+     * @param hashCount the specified hash function count
+     */
+    public BloomFilter(final byte[] bits, final int hashCount) {
+        if (0 == bits.length || 1 > hashCount) {
+            throw new IllegalArgumentException("Illegal Bloom filter size or hash count");
+        }
+
+        this.bits = bits;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Adds the specified element.
+     *
+     * @param element the specified element
+     */
+    public void add(final String element) {
+        final int[] indexes = indexes(element);
+        for (final int index : indexes) {
+            bits[index >>> 3] |= 1 << (index & 7);
+        }
+    }
+
+    /**
+     * Checks whether the specified element might have been added.
+     *
+     * @param element the specified element
+     * @return {@code true} if it might have been added, returns {@code false} if it definitely has not been added
+     */
+    public boolean mightContain(final String element) {
+        final int[] indexes = indexes(element);
+        for (final int index : indexes) {
+            if (0 == (bits[index >>> 3] & (1 << (index & 7)))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the bits.
+     *
+     * @return bits
+     */
+    public byte[] getBits() {
+        return bits;
+    }
+
+    /**
+     * Gets the bit indexes of the specified element with double hashing on its MD5 digest.
+     *
+     * @param element the specified element
+     * @return bit indexes
+     */
+    private int[] indexes(final String element) {
+        final byte[] digest = DigestUtils.md5(element);
+        long h1 = 0;
+        long h2 = 0;
+        for (int i = 0; i < 8; i++) {
+            h1 = (h1 << 8) | (digest[i] & 0xff);
+            h2 = (h2 << 8) | (digest[i + 8] & 0xff);
+        }
+
+        final long bitSize = bits.length * 8L;
+        final int[] ret = new int[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            ret[i] = (int) Math.floorMod(h1 + i * h2, bitSize);
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.util;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cached content, an immutable generated response body kept with its gzip compressed bytes, ETag and last modified
+ * time, so serving it neither regenerates nor recompresses anything.
+ * <p>
+ * Serving supports conditional requests (If-None-Match, If-Modified-Since) and negotiates gzip by Accept-Encoding,
+ * HEAD requests are answered with the headers only.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class CachedContent {
+
+    /**
+     * Content type.
+     */
+    private final String contentType;
+
+    /**
+     * Content.
+     */
+    private final byte[] content;
+
+    /**
+     * Gzip compressed content.
+     */
+    private final byte[] gzip;
+
+    /**
+     * ETag (quoted).
+     */
+    private final String etag;
+
+    /**
+     * Last modified time, truncated to seconds.
+     */
+    private final long lastModified;
+
+    /**
+     * Constructs a cached content with the specified content type, content and last modified time.
+     *
+     * @param contentType  the specified content type, for example "text/xml;charset=UTF-8"
+     * @param content      the specified content
+     * @param lastModified the specified last modified time
+     */
+    public CachedContent(final String contentType, final String content, final long lastModified) {
+        this.contentType = contentType;
+        this.content = content.getBytes(StandardCharsets.UTF_8);
+        gzip = gzip(this.content);
+        etag = "\"" + DigestUtils.md5Hex(this.content) + "\"";
+        this.lastModified = lastModified / 1000 * 1000;
+    }
+
+    /**
+     * Gets the ETag.
+     *
+     * @return ETag (quoted)
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * Gets the last modified time.
+     *
+     * @return last modified time
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Gets the uncompressed length.
+     *
+     * @return uncompressed length in bytes
+     */
+    public int getLength() {
+        return content.length;
+    }
+
+    /**
+     * Writes this content to the specified response, responds 304 if the request is conditional and the content is
+     * not modified, writes the headers only if the request is a HEAD request.
+     *
+     * @param request  the specified request
+     * @param response the specified response
+     * @throws IOException io exception
+     */
+    public void write(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        response.setContentType(contentType);
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Cache-Control", "public, no-cache");
+        response.setHeader("Vary", "Accept-Encoding");
+
+        if (isNotModified(request)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+
+            return;
+        }
+
+        byte[] body = content;
+        if (isAccepted(request.getHeader("Accept-Encoding"), "gzip")) {
+            response.setHeader("Content-Encoding", "gzip");
+            body = gzip;
+        }
+        response.setContentLength(body.length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        final ServletOutputStream output = response.getOutputStream();
+        output.write(body);
+        output.flush();
+    }
+
+    /**
+     * Determines whether the specified content coding is accepted by the specified Accept-Encoding header.
+     *
+     * @param acceptEncoding the specified Accept-Encoding header, for example "gzip, deflate, br;q=0.8"
+     * @param coding         the specified content coding, for example "br"
+     * @return {@code true} if accepted with a non-zero quality value, returns {@code false} otherwise
+     */
+    public static boolean isAccepted(final String acceptEncoding, final String coding) {
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return false;
+        }
+
+        for (final String element : acceptEncoding.split(",")) {
+            final String[] params = element.split(";");
+            if (!coding.equalsIgnoreCase(params[0].trim())) {
+                continue;
+            }
+
+            for (int i = 1; i < params.length; i++) {
+                final String param = params[i].trim();
+                if (StringUtils.startsWithIgnoreCase(param, "q=")) {
+                    try {
+                        return 0 < Double.parseDouble(param.substring(2).trim());
+                    } catch (final NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Determines whether the content is not modified since the version the specified conditional request holds.
+     *
+     * @param request the specified request
+     * @return {@code true} if not modified, returns {@code false} otherwise
+     */
+    private boolean isNotModified(final HttpServletRequest request) {
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (null != ifNoneMatch) {
+            return StringUtils.contains(ifNoneMatch, etag) || "*".equals(ifNoneMatch.trim());
+        }
+
+        try {
+            final long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+
+            return -1 < ifModifiedSince && lastModified <= ifModifiedSince;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compresses the specified content with gzip in the best compression level.
+     *
+     * @param content the specified content
+     * @return compressed content
+     */
+    private static byte[] gzip(final byte[] content) {
+        final ByteArrayOutputStream ret = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (final GZIPOutputStream output = new GZIPOutputStream(ret) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            output.write(content);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e); // Never happens on a byte array
+        }
+
+        return ret.toByteArray();
+    }
+}
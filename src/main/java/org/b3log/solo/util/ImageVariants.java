@@ -0,0 +1,605 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.util.URLs;
+import org.json.JSONObject;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Image variant utilities, generates resized variants of local upload images with pure Java imaging.
+ * <p>
+ * A variant is generated lazily on its first request (/upload/${name}?w=${width}) and cached on disk
+ * (${uploadDir}/.variants/${name}/${width}.${suffix}). Generating a variant applies the EXIF orientation, strips all
+ * metadata and recompresses the image. Only the widths configured by {@link Solos#IMAGE_VARIANT_WIDTHS} and smaller
+ * than the original are generated. A failed generation (an undecodable image for example) is remembered until the
+ * upload file changes, the original is served for it without retrying.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.1, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class ImageVariants {
+
+    /**
+     * Key of image width.
+     */
+    public static final String WIDTH = "width";
+
+    /**
+     * Key of image height.
+     */
+    public static final String HEIGHT = "height";
+
+    /**
+     * Key of srcset.
+     */
+    public static final String SRCSET = "srcset";
+
+    /**
+     * Variants directory name.
+     */
+    public static final String VARIANTS_DIR = ".variants";
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ImageVariants.class);
+
+    /**
+     * JPEG quality of variants.
+     */
+    private static final float JPEG_QUALITY = 0.82F;
+
+    /**
+     * Generation locks, &lt;name/width, lock&gt;.
+     */
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Failed generations, &lt;name/width, last modified time of the upload file&gt;.
+     */
+    private static final Map<String, Long> FAILURES = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor.
+     */
+    private ImageVariants() {
+    }
+
+    /**
+     * Determines whether variants could be generated for the specified upload file name.
+     *
+     * @param name the specified upload file name
+     * @return {@code true} if it is a JPEG or PNG image and variants are enabled, returns {@code false} otherwise
+     */
+    public static boolean isImage(final String name) {
+        if (Solos.IMAGE_VARIANT_WIDTHS.isEmpty()) {
+            return false;
+        }
+
+        final String suffix = StringUtils.substringAfterLast(name, ".").toLowerCase();
+
+        return "jpg".equals(suffix) || "jpeg".equals(suffix) || "png".equals(suffix);
+    }
+
+    /**
+     * Gets image information for the specified image src.
+     *
+     * @param src the specified image src, for example "http://localhost:8080/upload/xxx.png"
+     * @return image information, returns {@code null} if the src is not a local upload image, for example,
+     * <pre>
+     * {
+     *     "width": int,
+     *     "height": int,
+     *     "srcset": "" // "${src}?w=320 320w, ${src}?w=640 640w, ${src} 1024w", empty if no variant
+     * }
+     * </pre>
+     */
+    public static JSONObject getImage(final String src) {
+        if (StringUtils.isBlank(Solos.UPLOAD_DIR_PATH) || StringUtils.isBlank(src) || StringUtils.contains(src, "?")) {
+            return null;
+        }
+
+        String name;
+        if (StringUtils.startsWith(src, Latkes.getServePath() + "/upload/")) {
+            name = StringUtils.substringAfter(src, Latkes.getServePath() + "/upload/");
+        } else if (StringUtils.startsWith(src, "/upload/")) {
+            name = StringUtils.substringAfter(src, "/upload/");
+        } else {
+            return null;
+        }
+        name = URLs.decode(name);
+
+        if (!isImage(name)) {
+            return null;
+        }
+
+        final File file = Uploads.getFile(name);
+        if (null == file) {
+            return null;
+        }
+
+        final int[] dimension = getDimension(name, file);
+        if (null == dimension) {
+            return null;
+        }
+
+        final StringBuilder srcset = new StringBuilder();
+        for (final int width : Solos.IMAGE_VARIANT_WIDTHS) {
+            if (width < dimension[0]) {
+                srcset.append(src).append("?w=").append(width).append(' ').append(width).append("w, ");
+            }
+        }
+        if (0 < srcset.length()) {
+            srcset.append(src).append(' ').append(dimension[0]).append('w');
+        }
+
+        return new JSONObject().put(WIDTH, dimension[0]).put(HEIGHT, dimension[1]).put(SRCSET, srcset.toString());
+    }
+
+    /**
+     * Gets the displayed dimension (EXIF orientation applied) of the specified upload image, the dimension is stored
+     * in the upload index once read.
+     *
+     * @param name the specified upload file name
+     * @param file the specified upload file
+     * @return {@code [width, height]}, returns {@code null} if failed
+     */
+    public static int[] getDimension(final String name, final File file) {
+        try {
+            final JSONObject meta = Uploads.getMeta(name, file);
+            if (meta.has(WIDTH)) {
+                return new int[]{meta.optInt(WIDTH), meta.optInt(HEIGHT)};
+            }
+
+            final ImageReader reader = getReader(name);
+            if (null == reader) {
+                return null;
+            }
+
+            try (final ImageInputStream input = ImageIO.createImageInputStream(file)) {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (4 < readOrientation(name, file)) {
+                    final int tmp = width;
+                    width = height;
+                    height = tmp;
+                }
+
+                Uploads.putDimension(name, width, height);
+
+                return new int[]{width, height};
+            } finally {
+                reader.dispose();
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARN, "Reads dimension of image [" + name + "] failed", e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Gets the variant of the specified upload image with the specified width, generates it if not generated yet.
+     *
+     * @param name     the specified upload file name
+     * @param original the specified upload file
+     * @param width    the specified width, must be one of {@link Solos#IMAGE_VARIANT_WIDTHS}
+     * @return variant file, returns the specified upload file if the width is not smaller than the original or failed
+     */
+    public static File getVariant(final String name, final File original, final int width) {
+        final int[] dimension = getDimension(name, original);
+        if (!Solos.IMAGE_VARIANT_WIDTHS.contains(width) || null == dimension || width >= dimension[0]) {
+            return original;
+        }
+
+        final String suffix = StringUtils.substringAfterLast(name, ".").toLowerCase();
+        final File dir = new File(Solos.UPLOAD_DIR_PATH, VARIANTS_DIR + File.separator + name);
+        final File ret = new File(dir, width + "." + suffix);
+        if (ret.isFile()) {
+            return ret;
+        }
+
+        final String key = name + "/" + width;
+        final Long failedLastModified = FAILURES.get(key);
+        if (null != failedLastModified && failedLastModified == original.lastModified()) {
+            return original;
+        }
+
+        final Object lock = LOCKS.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (lock) {
+                if (ret.isFile()) { // Generated by the previous lock holder
+                    return ret;
+                }
+
+                final long lastModified = original.lastModified();
+                final Long failed = FAILURES.get(key);
+                if (null != failed && failed == lastModified) { // Failed by the previous lock holder
+                    return original;
+                }
+
+                final File variant = generateVariant(name, original, dimension, width, ret);
+                if (variant == original) {
+                    FAILURES.put(key, lastModified);
+                } else {
+                    FAILURES.remove(key);
+                }
+
+                return variant;
+            }
+        } finally {
+            LOCKS.remove(key, lock);
+        }
+    }
+
+    /**
+     * Generates the variant of the specified upload image with the specified width.
+     *
+     * @param name      the specified upload file name
+     * @param original  the specified upload file
+     * @param dimension the specified dimension of the upload image, [width, height]
+     * @param width     the specified width
+     * @param ret       the specified variant file to generate
+     * @return variant file, returns the specified upload file if failed
+     */
+    private static File generateVariant(final String name, final File original, final int[] dimension,
+                                        final int width, final File ret) {
+        final String suffix = StringUtils.substringAfterLast(name, ".").toLowerCase();
+        final File dir = ret.getParentFile();
+        final long start = System.currentTimeMillis();
+        // Unique temporary file, a late lock holder may generate the same variant again after a failure
+        final File tmpFile = new File(dir, width + "-" + UUID.randomUUID().toString() + ".tmp");
+        try {
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Creates dir [" + dir.getPath() + "] failed");
+            }
+
+            final int orientation = readOrientation(name, original);
+            final int height = Math.max(1, Math.round((float) dimension[1] * width / dimension[0]));
+            // Width and height before orientation
+            final int rawWidth = 4 < orientation ? height : width;
+            final int rawHeight = 4 < orientation ? width : height;
+
+            BufferedImage image = read(name, original, rawWidth);
+            image = orient(scale(image, rawWidth, rawHeight, "png".equals(suffix)), orientation);
+            write(image, suffix, tmpFile);
+            Files.move(tmpFile.toPath(), ret.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            LOGGER.log(Level.DEBUG, "Generated image variant [name={0}, width={1}, size={2}] in {3}ms",
+                    name, width, ret.length(), System.currentTimeMillis() - start);
+
+            return ret;
+        } catch (final Throwable e) { // OutOfMemoryError for huge images, unsupported color spaces
+            LOGGER.log(Level.WARN, "Generates variant [width=" + width + "] of image [" + name + "] failed", e);
+
+            return original;
+        } finally {
+            if (tmpFile.exists() && !tmpFile.delete()) {
+                LOGGER.log(Level.WARN, "Deletes temporary variant file [{0}] failed", tmpFile.getPath());
+            }
+        }
+    }
+
+    /**
+     * Reads the specified image, subsamples while decoding if the image is much larger than the specified target
+     * width, so a huge image is never decoded in full resolution.
+     *
+     * @param name        the specified upload file name
+     * @param file        the specified upload file
+     * @param targetWidth the specified target width before orientation
+     * @return image
+     * @throws IOException io exception
+     */
+    private static BufferedImage read(final String name, final File file, final int targetWidth) throws IOException {
+        final ImageReader reader = getReader(name);
+        if (null == reader) {
+            throw new IOException("Not found image reader for [" + name + "]");
+        }
+
+        try (final ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            reader.setInput(input, true, true);
+            final ImageReadParam param = reader.getDefaultReadParam();
+            final int subsampling = Math.max(1, reader.getWidth(0) / (targetWidth * 2));
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Scales the specified image to the specified size, halves the size step by step for quality.
+     *
+     * @param image  the specified image
+     * @param width  the specified width
+     * @param height the specified height
+     * @param alpha  whether keeps the alpha channel
+     * @return scaled image
+     */
+    private static BufferedImage scale(final BufferedImage image, final int width, final int height, final boolean alpha) {
+        BufferedImage ret = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+
+            final BufferedImage step = new BufferedImage(w, h, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            final Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(ret, 0, 0, w, h, null);
+            g.dispose();
+            ret = step;
+        } while (w != width || h != height);
+
+        return ret;
+    }
+
+    /**
+     * Applies the specified EXIF orientation to the specified image.
+     *
+     * @param image       the specified image
+     * @param orientation the specified EXIF orientation (1 - 8)
+     * @return oriented image
+     */
+    private static BufferedImage orient(final BufferedImage image, final int orientation) {
+        if (1 >= orientation || 8 < orientation) {
+            return image;
+        }
+
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        final AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2: // Flip horizontal
+                transform.scale(-1, 1);
+                transform.translate(-w, 0);
+                break;
+            case 3: // Rotate 180
+                transform.translate(w, h);
+                transform.rotate(Math.PI);
+                break;
+            case 4: // Flip vertical
+                transform.scale(1, -1);
+                transform.translate(0, -h);
+                break;
+            case 5: // Transpose
+                transform.rotate(Math.PI / 2);
+                transform.scale(1, -1);
+                break;
+            case 6: // Rotate 90 clockwise
+                transform.translate(h, 0);
+                transform.rotate(Math.PI / 2);
+                break;
+            case 7: // Transverse
+                transform.scale(-1, 1);
+                transform.translate(-h, 0);
+                transform.translate(0, w);
+                transform.rotate(3 * Math.PI / 2);
+                break;
+            default: // 8, rotate 90 counterclockwise
+                transform.translate(0, w);
+                transform.rotate(3 * Math.PI / 2);
+                break;
+        }
+
+        final boolean swap = 4 < orientation;
+        final BufferedImage ret = new BufferedImage(swap ? h : w, swap ? w : h, image.getType());
+        final Graphics2D g = ret.createGraphics();
+        g.drawImage(image, transform, null);
+        g.dispose();
+
+        return ret;
+    }
+
+    /**
+     * Writes the specified image into the specified file, recompresses JPEG with {@link #JPEG_QUALITY}. No metadata is
+     * written.
+     *
+     * @param image  the specified image
+     * @param suffix the specified suffix
+     * @param file   the specified file
+     * @throws IOException io exception
+     */
+    private static void write(final BufferedImage image, final String suffix, final File file) throws IOException {
+        if ("png".equals(suffix)) {
+            if (!ImageIO.write(image, "png", file)) {
+                throw new IOException("Not found image writer for [png]");
+            }
+
+            return;
+        }
+
+        final Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("Not found image writer for [jpeg]");
+        }
+
+        final ImageWriter writer = writers.next();
+        try (final ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(output);
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Gets an image reader for the specified upload file name.
+     *
+     * @param name the specified upload file name
+     * @return image reader, returns {@code null} if not found
+     */
+    private static ImageReader getReader(final String name) {
+        final Iterator<ImageReader> readers = ImageIO.getImageReadersBySuffix(StringUtils.substringAfterLast(name, ".").toLowerCase());
+
+        return readers.hasNext() ? readers.next() : null;
+    }
+
+    /**
+     * Reads the EXIF orientation of the specified image.
+     *
+     * @param name the specified upload file name
+     * @param file the specified upload file
+     * @return EXIF orientation (1 - 8), returns {@code 1} if not a JPEG or not found
+     */
+    private static int readOrientation(final String name, final File file) {
+        final String suffix = StringUtils.substringAfterLast(name, ".").toLowerCase();
+        if (!"jpg".equals(suffix) && !"jpeg".equals(suffix)) {
+            return 1;
+        }
+
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (0xFFD8 != input.readUnsignedShort()) {
+                return 1;
+            }
+
+            while (true) {
+                final int marker = input.readUnsignedShort();
+                if (0xFF00 != (marker & 0xFF00) || 0xFFDA == marker || 0xFFD9 == marker) { // Start of scan, end of image
+                    return 1;
+                }
+
+                final int length = input.readUnsignedShort() - 2;
+                if (0xFFE1 == marker) { // APP1
+                    final byte[] data = new byte[length];
+                    input.readFully(data);
+                    final int ret = parseOrientation(data);
+                    if (0 < ret) {
+                        return ret;
+                    }
+
+                    continue;
+                }
+
+                int skipped = 0;
+                while (skipped < length) {
+                    final int n = input.skipBytes(length - skipped);
+                    if (0 >= n) {
+                        return 1;
+                    }
+                    skipped += n;
+                }
+            }
+        } catch (final Exception e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Parses the EXIF orientation from the specified APP1 segment data.
+     *
+     * @param data the specified APP1 segment data
+     * @return EXIF orientation (1 - 8), returns {@code 0} if not an EXIF segment or not found
+     */
+    private static int parseOrientation(final byte[] data) {
+        if (14 > data.length || 'E' != data[0] || 'x' != data[1] || 'i' != data[2] || 'f' != data[3]) {
+            return 0;
+        }
+
+        final int tiff = 6;
+        final boolean littleEndian = 'I' == data[tiff];
+        final int ifd = tiff + readInt(data, tiff + 4, littleEndian);
+        if (ifd + 2 > data.length) {
+            return 0;
+        }
+
+        final int count = readShort(data, ifd, littleEndian);
+        for (int i = 0; i < count; i++) {
+            final int entry = ifd + 2 + i * 12;
+            if (entry + 12 > data.length) {
+                return 0;
+            }
+
+            if (0x0112 == readShort(data, entry, littleEndian)) {
+                final int ret = readShort(data, entry + 8, littleEndian);
+
+                return 1 <= ret && 8 >= ret ? ret : 0;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Reads an unsigned short from the specified data at the specified offset.
+     *
+     * @param data         the specified data
+     * @param offset       the specified offset
+     * @param littleEndian whether little endian
+     * @return unsigned short
+     */
+    private static int readShort(final byte[] data, final int offset, final boolean littleEndian) {
+        final int b0 = data[offset] & 0xFF;
+        final int b1 = data[offset + 1] & 0xFF;
+
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    /**
+     * Reads an int from the specified data at the specified offset.
+     *
+     * @param data         the specified data
+     * @param offset       the specified offset
+     * @param littleEndian whether little endian
+     * @return int
+     */
+    private static int readInt(final byte[] data, final int offset, final boolean littleEndian) {
+        final int s0 = readShort(data, offset, littleEndian);
+        final int s1 = readShort(data, offset + 2, littleEndian);
+
+        return littleEndian ? (s1 << 16) | s0 : (s0 << 16) | s1;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.util;
+
+import freemarker.template.ObjectWrapper;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Layered read-only FreeMarker data model.
+ * <p>
+ * Chains the request data model over shared immutable layers (skin and core language configurations), a variable is
+ * looked up in the request data model first, then in the layers from the last added to the first added. The layers
+ * are referenced instead of copied into the request data model, so rendering a page does not copy hundreds of language
+ * entries.
+ * </p>
+ * <p>
+ * Layers are recorded in the request data model via {@link #addLayer(Map, Map)} and resolved by renderers via
+ * {@link #wrap(Map, ObjectWrapper)}, Java code reads a variable via {@link #get(Map, String)}. Code out of our
+ * control (plugins for example) gets a map view via {@link #asMap(Map)}.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class LayeredHashModel implements TemplateHashModel {
+
+    /**
+     * Key of layers in a request data model.
+     */
+    private static final String LAYERS = LayeredHashModel.class.getName();
+
+    /**
+     * Request data model.
+     */
+    private final Map<String, Object> dataModel;
+
+    /**
+     * Layers, the last has the highest priority.
+     */
+    private final List<Map<String, ?>> layers;
+
+    /**
+     * Object wrapper.
+     */
+    private final ObjectWrapper wrapper;
+
+    /**
+     * Constructs a layered data model with the specified request data model, layers and object wrapper.
+     *
+     * @param dataModel the specified request data model
+     * @param layers    the specified layers
+     * @param wrapper   the specified object wrapper
+     */
+    private LayeredHashModel(final Map<String, Object> dataModel, final List<Map<String, ?>> layers, final ObjectWrapper wrapper) {
+        this.dataModel = dataModel;
+        this.layers = layers;
+        this.wrapper = wrapper;
+    }
+
+    /**
+     * Adds the specified layer to the specified data model. The layer must not be modified after added, and it
+     * overrides the layers added before, but not the entries of the data model.
+     *
+     * @param dataModel the specified data model
+     * @param layer     the specified layer
+     */
+    public static void addLayer(final Map<String, Object> dataModel, final Map<String, ?> layer) {
+        final List<Map<String, ?>> layers = new ArrayList<>(getLayers(dataModel));
+        layers.add(layer);
+
+        // Copy on write, a data model may be a copy sharing the layers with the others, see Filler#fillConcurrently
+        dataModel.put(LAYERS, Collections.unmodifiableList(layers));
+    }
+
+    /**
+     * Gets a variable from the specified data model by the specified key, looking up in the layers if not found in the
+     * data model.
+     *
+     * @param dataModel the specified data model
+     * @param key       the specified key
+     * @return variable, returns {@code null} if not found
+     */
+    public static Object get(final Map<String, Object> dataModel, final String key) {
+        final Object ret = dataModel.get(key);
+        if (null != ret || LAYERS.equals(key)) {
+            return ret;
+        }
+
+        return getFromLayers(getLayers(dataModel), key);
+    }
+
+    /**
+     * Wraps the specified data model for template processing.
+     *
+     * @param dataModel the specified data model
+     * @param wrapper   the object wrapper of the template to process
+     * @return the specified data model if it has no layer, layered data model otherwise
+     */
+    public static Object wrap(final Map<String, Object> dataModel, final ObjectWrapper wrapper) {
+        final List<Map<String, ?>> layers = getLayers(dataModel);
+        if (layers.isEmpty()) {
+            return dataModel;
+        }
+
+        return new LayeredHashModel(dataModel, layers, wrapper);
+    }
+
+    /**
+     * Gets a map view of the specified data model. Reading the view looks up in the layers, writing the view writes
+     * through to the data model.
+     *
+     * @param dataModel the specified data model
+     * @return the specified data model if it has no layer, map view otherwise
+     */
+    public static Map<String, Object> asMap(final Map<String, Object> dataModel) {
+        final List<Map<String, ?>> layers = getLayers(dataModel);
+        if (layers.isEmpty()) {
+            return dataModel;
+        }
+
+        return new LayeredMap(dataModel, layers);
+    }
+
+    @Override
+    public TemplateModel get(final String key) throws TemplateModelException {
+        if (LAYERS.equals(key)) {
+            return null;
+        }
+
+        Object value = dataModel.get(key);
+        if (null == value) {
+            value = getFromLayers(layers, key);
+        }
+
+        if (null == value) {
+            return null;
+        }
+
+        return wrapper.wrap(value);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    /**
+     * Gets a variable from the specified layers by the specified key.
+     *
+     * @param layers the specified layers
+     * @param key    the specified key
+     * @return variable, returns {@code null} if not found
+     */
+    private static Object getFromLayers(final List<Map<String, ?>> layers, final String key) {
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            final Object ret = layers.get(i).get(key);
+            if (null != ret) {
+                return ret;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets layers of the specified data model.
+     *
+     * @param dataModel the specified data model
+     * @return layers, returns an empty list if not found
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, ?>> getLayers(final Map<String, Object> dataModel) {
+        final Object ret = dataModel.get(LAYERS);
+        if (null == ret) {
+            return Collections.emptyList();
+        }
+
+        return (List<Map<String, ?>>) ret;
+    }
+
+    /**
+     * Map view of a layered data model.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 2.9.3
+     */
+    private static final class LayeredMap extends AbstractMap<String, Object> {
+
+        /**
+         * Request data model.
+         */
+        private final Map<String, Object> dataModel;
+
+        /**
+         * Layers, the last has the highest priority.
+         */
+        private final List<Map<String, ?>> layers;
+
+        /**
+         * Constructs a map view with the specified request data model and layers.
+         *
+         * @param dataModel the specified request data model
+         * @param layers    the specified layers
+         */
+        private LayeredMap(final Map<String, Object> dataModel, final List<Map<String, ?>> layers) {
+            this.dataModel = dataModel;
+            this.layers = layers;
+        }
+
+        @Override
+        public Object get(final Object key) {
+            final Object ret = dataModel.get(key);
+            if (null != ret || !(key instanceof String)) {
+                return ret;
+            }
+
+            return getFromLayers(layers, (String) key);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return null != get(key);
+        }
+
+        @Override
+        public Object put(final String key, final Object value) {
+            return dataModel.put(key, value);
+        }
+
+        @Override
+        public Object remove(final Object key) {
+            return dataModel.remove(key);
+        }
+
+        /**
+         * Gets a snapshot of the entries, merged from the layers and the request data model.
+         *
+         * @return entries
+         */
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            final Map<String, Object> ret = new HashMap<>();
+            for (final Map<String, ?> layer : layers) {
+                ret.putAll(layer);
+            }
+            ret.putAll(dataModel);
+            ret.remove(LAYERS);
+
+            return Collections.unmodifiableMap(ret).entrySet();
+        }
+    }
+}
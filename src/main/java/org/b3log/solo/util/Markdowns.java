@@ -17,12 +17,20 @@
  */
 package org.b3log.solo.util;
 
+import com.vladsch.flexmark.ast.AutoLink;
+import com.vladsch.flexmark.ast.Heading;
+import com.vladsch.flexmark.ast.Link;
+import com.vladsch.flexmark.ast.util.TextCollectingVisitor;
+import com.vladsch.flexmark.html.AttributeProvider;
 import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.html.IndependentAttributeProviderFactory;
+import com.vladsch.flexmark.html.renderer.AttributablePart;
+import com.vladsch.flexmark.html.renderer.NodeRendererContext;
 import com.vladsch.flexmark.profiles.pegdown.Extensions;
 import com.vladsch.flexmark.profiles.pegdown.PegdownOptionsAdapter;
+import com.vladsch.flexmark.util.html.Attributes;
 import com.vladsch.flexmark.util.options.DataHolder;
 import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.cache.Cache;
@@ -35,26 +43,27 @@ import org.b3log.latke.service.LangPropsServiceImpl;
 import org.b3log.latke.util.Callstacks;
 import org.b3log.latke.util.Stopwatchs;
 import org.b3log.latke.util.Strings;
+import org.json.JSONArray;
 import org.json.JSONObject;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * <a href="http://en.wikipedia.org/wiki/Markdown">Markdown</a> utilities.
  * <p>
- * Uses the <a href="https://github.com/chjj/marked">marked</a> as the processor, if not found this command, try
- * built-in <a href="https://github.com/vsch/flexmark-java">flexmark</a> instead.
+ * Uses the <a href="https://github.com/chjj/marked">marked</a> as the processor (see {@link MarkedEngine}), if it is
+ * not available, try built-in <a href="https://github.com/vsch/flexmark-java">flexmark</a> instead.
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.3.1.0, Apr 20, 2018
+ * @version 2.7.2.0, Oct 19, 2026
  * @since 0.4.5
  */
 public final class Markdowns {
@@ -96,48 +105,47 @@ public final class Markdowns {
     /**
      * Built-in MD engine HTML renderer.
      */
-    private static final HtmlRenderer RENDERER = HtmlRenderer.builder(OPTIONS).build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder(OPTIONS).
+            attributeProviderFactory(new IndependentAttributeProviderFactory() {
+                @Override
+                public AttributeProvider create(final NodeRendererContext context) {
+                    return new RenderAttributeProvider();
+                }
+            }).build();
 
     /**
-     * Marked engine serve path.
+     * Reference link definition or footnote pattern.
      */
-    private static final String MARKED_ENGINE_URL = "http://localhost:8250";
+    private static final Pattern REFERENCE_PATTERN = Pattern.compile("^ {0,3}\\[[^\\]]+\\]:|\\[\\^", Pattern.MULTILINE);
 
     /**
-     * Whether marked is available.
+     * List item pattern.
      */
-    public static boolean MARKED_AVAILABLE;
-
-    static {
-        MD_CACHE.setMaxCount(1024 * 10 * 4);
+    private static final Pattern LIST_ITEM_PATTERN = Pattern.compile(" {0,3}([*+-]|\\d+[.)])(\\s|$)");
 
-        try {
-            final URL url = new URL(MARKED_ENGINE_URL);
-            final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setDoOutput(true);
-
-            try (final OutputStream outputStream = conn.getOutputStream()) {
-                IOUtils.write("Solo 大法好", outputStream, "UTF-8");
-            }
+    /**
+     * Raw HTML block start pattern, group 1 is the tag name or "!--" for a comment.
+     */
+    private static final Pattern HTML_BLOCK_PATTERN = Pattern.compile(" {0,3}<([a-zA-Z][a-zA-Z0-9-]*|!--)");
 
-            String html;
-            try (final InputStream inputStream = conn.getInputStream()) {
-                html = IOUtils.toString(inputStream, "UTF-8");
-            }
+    /**
+     * Void HTML elements, which have no end tag.
+     */
+    private static final Set<String> VOID_ELEMENTS = new HashSet<>(Arrays.asList("area", "base", "br", "col", "embed",
+            "hr", "img", "input", "link", "meta", "param", "source", "track", "wbr"));
 
-            conn.disconnect();
+    /**
+     * Generated heading id pattern.
+     */
+    private static final Pattern HEADING_ID_PATTERN = Pattern.compile(" id=\"b3_solo_(h[1-5])_(\\d+)\"");
 
-            MARKED_AVAILABLE = StringUtils.contains(html, "<p>Solo 大法好</p>");
+    /**
+     * Table of contents collected by the current flexmark rendering.
+     */
+    private static final ThreadLocal<JSONArray> TOC = new ThreadLocal<>();
 
-            if (MARKED_AVAILABLE) {
-                LOGGER.log(Level.DEBUG, "[marked] is available, uses it for markdown processing");
-            } else {
-                LOGGER.log(Level.DEBUG, "[marked] is not available, uses built-in [flexmark] for markdown processing");
-            }
-        } catch (final Exception e) {
-            LOGGER.log(Level.INFO, "[marked] is not available, uses built-in [flexmark] for markdown processing. " +
-                    "Please reads FAQ section in user guide (https://hacpai.com/article/1492881378588) for more details.");
-        }
+    static {
+        MD_CACHE.setMaxCount(1024 * 10 * 4);
     }
 
     /**
@@ -158,53 +166,172 @@ public final class Markdowns {
             return "";
         }
 
-        final String cachedHTML = getHTML(markdownText);
-        if (null != cachedHTML) {
-            return cachedHTML;
+        final JSONObject value = convert(markdownText);
+        if (null == value) {
+            return LANG_PROPS_SERVICE.get("contentRenderFailedLabel");
         }
 
-        final ExecutorService pool = Executors.newSingleThreadExecutor();
-        final long[] threadId = new long[1];
+        return value.optString("data");
+    }
 
-        final Callable<String> call = () -> {
-            threadId[0] = Thread.currentThread().getId();
+    /**
+     * Converts the specified markdown block to HTML, the block is a top-level block (or a run of them) of a document
+     * split by {@link #splitBlocks(String)}.
+     * <p>
+     * Different from {@link #toHTML(String)}, the HTML is not wrapped with a paragraph, so the HTML of blocks could
+     * be concatenated as the HTML of the whole document. Generated heading ids ("b3_solo_h2_0" for example) are
+     * numbered per rendering, so they are qualified with the specified id prefix ("b3_solo_h2_${idPrefix}_0") to stay
+     * unique across the blocks.
+     * </p>
+     *
+     * @param block    the specified markdown block
+     * @param idPrefix the specified heading id prefix, should be unique in the document and consist of word characters
+     * @return converted HTML, returns an empty string "" if the specified block is "" or {@code null}, returns
+     * 'markdownErrorLabel' if exception
+     */
+    public static String toBlockHTML(final String block, final String idPrefix) {
+        if (Strings.isEmptyOrNull(block)) {
+            return "";
+        }
+
+        final JSONObject value = convert(block);
+        if (null == value) {
+            return LANG_PROPS_SERVICE.get("contentRenderFailedLabel");
+        }
+
+        return HEADING_ID_PATTERN.matcher(value.optString("raw")).
+                replaceAll(" id=\"b3_solo_$1_" + Matcher.quoteReplacement(idPrefix) + "_$2\"");
+    }
+
+    /**
+     * Splits the specified markdown text into top-level blocks.
+     * <p>
+     * A block starts at a non-indented line following a blank line, outside fenced code and outside a raw HTML
+     * block not closed yet. Items of a list separated by blank lines stay in one block. If the text uses reference links or footnotes, which could not be rendered
+     * block by block, the whole text is returned as one block.
+     * </p>
+     *
+     * @param markdownText the specified markdown text
+     * @return blocks, concatenating them gets the specified markdown text
+     */
+    public static List<String> splitBlocks(final String markdownText) {
+        final List<String> ret = new ArrayList<>();
+        if (Strings.isEmptyOrNull(markdownText)) {
+            return ret;
+        }
+
+        if (REFERENCE_PATTERN.matcher(markdownText).find()) {
+            ret.add(markdownText);
+
+            return ret;
+        }
+
+        final String[] lines = markdownText.split("(?<=\n)");
+        final StringBuilder block = new StringBuilder();
+        String fence = null;
+        String html = null;
+        int htmlDepth = 0;
+        boolean blank = false;
+        boolean list = false;
+        for (final String line : lines) {
+            final String trimmed = line.trim();
+            if (null == fence && null == html && 0 < block.length() && blank && !trimmed.isEmpty() && !Character.isWhitespace(line.charAt(0))
+                    && !(list && LIST_ITEM_PATTERN.matcher(line).lookingAt())) {
+                ret.add(block.toString());
+                block.setLength(0);
+            }
 
-            String html = LANG_PROPS_SERVICE.get("contentRenderFailedLabel");
+            if (0 == block.length() || (blank && !trimmed.isEmpty() && !Character.isWhitespace(line.charAt(0)))) {
+                list = LIST_ITEM_PATTERN.matcher(line).lookingAt();
 
-            if (MARKED_AVAILABLE) {
-                html = toHtmlByMarked(markdownText);
-                if (!StringUtils.startsWith(html, "<p>")) {
-                    html = "<p>" + html + "</p>";
+                final Matcher htmlMatcher = HTML_BLOCK_PATTERN.matcher(line);
+                if (null == fence && null == html && htmlMatcher.lookingAt()
+                        && !VOID_ELEMENTS.contains(htmlMatcher.group(1).toLowerCase())) {
+                    html = htmlMatcher.group(1);
+                    htmlDepth = 0;
                 }
-            } else {
-                com.vladsch.flexmark.ast.Node document = PARSER.parse(markdownText);
-                html = RENDERER.render(document);
-                if (!StringUtils.startsWith(html, "<p>")) {
-                    html = "<p>" + html + "</p>";
+            }
+
+            if (null != html) {
+                if ("!--".equals(html)) {
+                    if (line.contains("-->")) {
+                        html = null;
+                    }
+                } else {
+                    htmlDepth += countTags(line, "<" + html + "(?=[\\s/>])[^>]*(?<!/)>")
+                            - countTags(line, "</" + html + "\\s*>");
+                    if (0 >= htmlDepth) {
+                        html = null;
+                    }
                 }
             }
 
-            final Document doc = Jsoup.parse(html);
-            doc.select("a").forEach(a -> {
-                final String src = a.attr("href");
-                if (!StringUtils.startsWithIgnoreCase(src, Latkes.getServePath())) {
-                    a.attr("target", "_blank");
+            if (trimmed.startsWith("```") || trimmed.startsWith("~~~")) {
+                final String marker = trimmed.substring(0, 3);
+                if (null == fence) {
+                    fence = marker;
+                } else if (fence.equals(marker)) {
+                    fence = null;
                 }
-            });
-            doc.outputSettings().prettyPrint(false);
+            }
+
+            block.append(line);
+            blank = trimmed.isEmpty();
+        }
+
+        if (0 < block.length()) {
+            ret.add(block.toString());
+        }
 
-            String ret = doc.select("body").html();
-            ret = StringUtils.trim(ret);
+        return ret;
+    }
+
+    /**
+     * Counts the tags matched by the specified regex in the specified line, ignoring case.
+     *
+     * @param line  the specified line
+     * @param regex the specified regex
+     * @return count of the matched tags
+     */
+    private static int countTags(final String line, final String regex) {
+        final Matcher matcher = Pattern.compile(regex, Pattern.CASE_INSENSITIVE).matcher(line);
+        int ret = 0;
+        while (matcher.find()) {
+            ret++;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Converts the specified markdown text, returns the cached value if it has been converted.
+     *
+     * @param markdownText the specified markdown text
+     * @return converted value, see {@link #render(String)}, returns {@code null} if failed
+     */
+    private static JSONObject convert(final String markdownText) {
+        final JSONObject cached = MD_CACHE.get(DigestUtils.md5Hex(markdownText));
+        if (null != cached) {
+            return cached;
+        }
+
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        final long[] threadId = new long[1];
+
+        final Callable<JSONObject> call = () -> {
+            threadId[0] = Thread.currentThread().getId();
+
+            final JSONObject ret = render(markdownText);
 
             // cache it
-            putHTML(markdownText, ret);
+            putValue(markdownText, ret);
 
             return ret;
         };
 
         Stopwatchs.start("Md to HTML");
         try {
-            final Future<String> future = pool.submit(call);
+            final Future<JSONObject> future = pool.submit(call);
 
             return future.get(MD_TIMEOUT, TimeUnit.MILLISECONDS);
         } catch (final TimeoutException e) {
@@ -227,28 +354,455 @@ public final class Markdowns {
             Stopwatchs.end();
         }
 
-        return LANG_PROPS_SERVICE.get("contentRenderFailedLabel");
+        return null;
     }
 
-    private static String toHtmlByMarked(final String markdownText) throws Exception {
-        final URL url = new URL(MARKED_ENGINE_URL);
-        final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setDoOutput(true);
+    /**
+     * Converts the specified markdown texts to HTML, renders the uncached texts in one round trip if the batch mode
+     * of marked is available.
+     *
+     * @param markdownTexts the specified markdown texts
+     * @return converted HTML list in the same order of the specified markdown texts, see {@link #toHTML(String)} for
+     * each element
+     */
+    public static List<String> toHTML(final List<String> markdownTexts) {
+        final List<String> ret = new ArrayList<>(markdownTexts.size());
+        final List<Integer> missIndices = new ArrayList<>();
+        final List<String> misses = new ArrayList<>();
+        for (final String markdownText : markdownTexts) {
+            String html = "";
+            if (!Strings.isEmptyOrNull(markdownText)) {
+                html = getHTML(markdownText);
+                if (null == html) {
+                    missIndices.add(ret.size());
+                    misses.add(markdownText);
+                }
+            }
 
-        try (final OutputStream outputStream = conn.getOutputStream()) {
-            IOUtils.write(markdownText, outputStream, "UTF-8");
+            ret.add(html);
         }
 
-        String ret;
-        try (final InputStream inputStream = conn.getInputStream()) {
-            ret = IOUtils.toString(inputStream, "UTF-8");
+        if (1 < misses.size() && MarkedEngine.isBatchAvailable()) {
+            Stopwatchs.start("Md to HTML [batch]");
+            try {
+                final List<String> htmls = MarkedEngine.render(misses);
+                for (int i = 0; i < misses.size(); i++) {
+                    final JSONObject value = postProcess(htmls.get(i));
+                    putValue(misses.get(i), value);
+                    ret.set(missIndices.get(i), value.optString("data"));
+                }
+
+                return ret;
+            } catch (final Exception e) {
+                LOGGER.log(Level.WARN, "Markdown batch failed, renders one by one [" + e.getMessage() + "]");
+            } finally {
+                Stopwatchs.end();
+            }
         }
 
-        //conn.disconnect();
+        for (int i = 0; i < misses.size(); i++) {
+            ret.set(missIndices.get(i), toHTML(misses.get(i)));
+        }
 
         return ret;
     }
 
+    /**
+     * Gets the table of contents of the specified markdown text, heading ids are assigned while rendering.
+     *
+     * @param markdownText the specified markdown text, should be converted by {@link #toHTML(String)} before
+     * @return table of contents, for example <pre>
+     * [{
+     *     "level": "h2",
+     *     "id": "b3_solo_h2_0",
+     *     "text": "" // escaped HTML
+     * }, ....]
+     * </pre>, returns {@code null} if not found
+     */
+    public static JSONArray getToC(final String markdownText) {
+        if (Strings.isEmptyOrNull(markdownText)) {
+            return null;
+        }
+
+        final JSONObject value = MD_CACHE.get(DigestUtils.md5Hex(markdownText));
+        if (null == value) {
+            return null;
+        }
+
+        return value.optJSONArray("toc");
+    }
+
+    /**
+     * Renders the specified markdown text by marked if it is available, by built-in flexmark otherwise.
+     *
+     * @param markdownText the specified markdown text
+     * @return rendered value, for example <pre>
+     * {
+     *     "data": "", // HTML wrapped with a paragraph
+     *     "raw": "", // HTML
+     *     "toc": [] // see {@link #getToC(String)}
+     * }
+     * </pre>
+     * @throws Exception exception
+     */
+    private static JSONObject render(final String markdownText) throws Exception {
+        if (MarkedEngine.isAvailable()) {
+            try {
+                return postProcess(MarkedEngine.render(markdownText));
+            } catch (final Exception e) {
+                LOGGER.log(Level.WARN, "Markdown by [marked] failed, falls back to [flexmark] [" + e.getMessage() + "]");
+            }
+        }
+
+        final com.vladsch.flexmark.ast.Node document = PARSER.parse(markdownText);
+
+        // External links and headings are processed by the attribute provider during rendering, anchors in raw HTML
+        // are processed after rendering
+        final JSONArray toc = new JSONArray();
+        TOC.set(toc);
+        try {
+            final String html = rewriteImages(rewriteRawAnchors(RENDERER.render(document)));
+
+            return new JSONObject().put("data", wrap(html)).put("raw", StringUtils.trim(html)).put("toc", toc);
+        } finally {
+            TOC.remove();
+        }
+    }
+
+    /**
+     * Post-processes the specified HTML rendered by marked, wraps it with a paragraph, opens external links in
+     * new windows and assigns heading ids for the table of contents.
+     * <p>
+     * The HTML is rewritten in one pass over the anchor and heading start tags, no DOM is built.
+     * </p>
+     *
+     * @param html the specified rendered HTML
+     * @return processed value, see {@link #render(String)}
+     */
+    private static JSONObject postProcess(final String html) {
+        final JSONArray toc = new JSONArray();
+        final StringBuilder ret = new StringBuilder(html.length() + 64);
+        int pos = 0;
+        while (true) {
+            final int tagStart = nextTag(html, pos);
+            if (0 > tagStart) {
+                break;
+            }
+
+            final int tagEnd = html.indexOf('>', tagStart);
+            if (0 > tagEnd) {
+                break;
+            }
+
+            final String tag = html.substring(tagStart, tagEnd);
+            String attrs = "";
+            if ('a' == Character.toLowerCase(tag.charAt(1))) {
+                if (isExternal(getAttr(tag, "href")) && null == getAttr(tag, "target")) {
+                    attrs = " target=\"_blank\"";
+                }
+            } else {
+                final String tagName = tag.substring(1, 3).toLowerCase();
+                String id = getAttr(tag, "id");
+                if (StringUtils.isBlank(id)) {
+                    id = "b3_solo_" + tagName + "_" + toc.length();
+                    attrs = " id=\"" + id + "\"";
+                }
+
+                int textEnd = html.indexOf("</" + tagName, tagEnd);
+                if (0 > textEnd) {
+                    textEnd = html.length();
+                }
+                final String text = stripTags(html.substring(tagEnd + 1, textEnd));
+                toc.put(new JSONObject().put("level", tagName).put("id", id).put("text", text));
+            }
+
+            final int insert = '/' == html.charAt(tagEnd - 1) ? tagEnd - 1 : tagEnd;
+            ret.append(html, pos, insert).append(attrs);
+            pos = insert;
+        }
+        ret.append(html, pos, html.length());
+
+        final String raw = StringUtils.trim(rewriteImages(ret.toString()));
+
+        return new JSONObject().put("data", wrap(raw)).put("raw", raw).put("toc", toc);
+    }
+
+    /**
+     * Opens the external links of the specified HTML in new windows. The anchors rendered from markdown links have
+     * been processed by the attribute provider, this is for the anchors in raw (inline or block) HTML.
+     *
+     * @param html the specified HTML
+     * @return rewritten HTML
+     */
+    private static String rewriteRawAnchors(final String html) {
+        final StringBuilder ret = new StringBuilder(html.length() + 64);
+        int pos = 0;
+        while (true) {
+            final int tagStart = StringUtils.indexOfIgnoreCase(html, "<a", pos);
+            if (0 > tagStart) {
+                break;
+            }
+
+            final int tagEnd = html.indexOf('>', tagStart);
+            if (0 > tagEnd) {
+                break;
+            }
+
+            if (tagStart + 2 == tagEnd || !Character.isWhitespace(html.charAt(tagStart + 2))) {
+                ret.append(html, pos, tagStart + 2);
+                pos = tagStart + 2;
+
+                continue;
+            }
+
+            final String tag = html.substring(tagStart, tagEnd);
+            final String href = getAttr(tag, "href");
+            final String attrs = null != href && isExternal(href) && null == getAttr(tag, "target")
+                    ? " target=\"_blank\"" : "";
+
+            final int insert = '/' == html.charAt(tagEnd - 1) ? tagEnd - 1 : tagEnd;
+            ret.append(html, pos, insert).append(attrs);
+            pos = insert;
+        }
+        ret.append(html, pos, html.length());
+
+        return ret.toString();
+    }
+
+    /**
+     * Rewrites the image tags of the specified HTML for responsive and lazy loading.
+     * <p>
+     * Adds {@code loading="lazy"} to every image. For local upload images (see {@link ImageVariants#getImage(String)}),
+     * adds the intrinsic width and height (if the image has no size nor style specified) to reserve the layout space,
+     * and the srcset of resized variants.
+     * </p>
+     *
+     * @param html the specified HTML
+     * @return rewritten HTML
+     */
+    private static String rewriteImages(final String html) {
+        final StringBuilder ret = new StringBuilder(html.length() + 64);
+        int pos = 0;
+        while (true) {
+            final int tagStart = StringUtils.indexOfIgnoreCase(html, "<img", pos);
+            if (0 > tagStart) {
+                break;
+            }
+
+            final int tagEnd = html.indexOf('>', tagStart);
+            if (0 > tagEnd) {
+                break;
+            }
+
+            if (tagStart + 4 == tagEnd || !Character.isWhitespace(html.charAt(tagStart + 4))) {
+                ret.append(html, pos, tagStart + 4);
+                pos = tagStart + 4;
+
+                continue;
+            }
+
+            final String tag = html.substring(tagStart, tagEnd);
+            final StringBuilder attrs = new StringBuilder();
+            if (null == getAttr(tag, "loading")) {
+                attrs.append(" loading=\"lazy\"");
+            }
+
+            final JSONObject image = ImageVariants.getImage(getAttr(tag, "src"));
+            if (null != image) {
+                if (null == getAttr(tag, "width") && null == getAttr(tag, "height") && null == getAttr(tag, "style")) {
+                    attrs.append(" width=\"").append(image.optInt(ImageVariants.WIDTH)).append("\" height=\"").
+                            append(image.optInt(ImageVariants.HEIGHT)).append("\" style=\"height: auto\"");
+                }
+
+                final String srcset = image.optString(ImageVariants.SRCSET);
+                if (StringUtils.isNotBlank(srcset) && null == getAttr(tag, "srcset")) {
+                    attrs.append(" srcset=\"").append(srcset).append('"');
+                }
+            }
+
+            final int insert = '/' == html.charAt(tagEnd - 1) ? tagEnd - 1 : tagEnd;
+            ret.append(html, pos, insert).append(attrs);
+            pos = insert;
+        }
+        ret.append(html, pos, html.length());
+
+        return ret.toString();
+    }
+
+    /**
+     * Wraps the specified HTML with a paragraph if it does not start with a paragraph.
+     *
+     * @param html the specified HTML
+     * @return wrapped HTML
+     */
+    private static String wrap(final String html) {
+        final String ret = StringUtils.trim(html);
+        if (StringUtils.startsWith(ret, "<p>")) {
+            return ret;
+        }
+
+        return "<p>" + ret + "</p>";
+    }
+
+    /**
+     * Finds the next anchor or heading (h1 - h5) start tag from the specified position of the specified HTML.
+     *
+     * @param html the specified HTML
+     * @param from the specified position
+     * @return index of the start tag, returns {@code -1} if not found
+     */
+    private static int nextTag(final String html, final int from) {
+        int ret = from;
+        while (true) {
+            ret = html.indexOf('<', ret);
+            if (0 > ret || ret + 2 >= html.length()) {
+                return -1;
+            }
+
+            final char c = Character.toLowerCase(html.charAt(ret + 1));
+            final char next = html.charAt(ret + 2);
+            if ('a' == c && Character.isWhitespace(next)) {
+                return ret;
+            }
+
+            if ('h' == c && '1' <= next && '5' >= next && ret + 3 < html.length()
+                    && ('>' == html.charAt(ret + 3) || Character.isWhitespace(html.charAt(ret + 3)))) {
+                return ret;
+            }
+
+            ret++;
+        }
+    }
+
+    /**
+     * Removes tags from the specified HTML fragment.
+     *
+     * @param html the specified HTML fragment
+     * @return text (still escaped)
+     */
+    private static String stripTags(final String html) {
+        final StringBuilder ret = new StringBuilder(html.length());
+        boolean inTag = false;
+        for (int i = 0; i < html.length(); i++) {
+            final char c = html.charAt(i);
+            if ('<' == c) {
+                inTag = true;
+            } else if ('>' == c) {
+                inTag = false;
+            } else if (!inTag) {
+                ret.append(c);
+            }
+        }
+
+        return ret.toString().trim();
+    }
+
+    /**
+     * Gets the value of the attribute specified by the given name in the specified start tag.
+     *
+     * @param tag  the specified start tag, for example &lt;a href="xxx"
+     * @param name the specified attribute name
+     * @return attribute value, returns {@code null} if not found
+     */
+    private static String getAttr(final String tag, final String name) {
+        final String lowerTag = tag.toLowerCase();
+        int idx = 0;
+        while (true) {
+            idx = lowerTag.indexOf(name, idx);
+            if (0 > idx) {
+                return null;
+            }
+
+            final int end = idx + name.length();
+            if (!Character.isWhitespace(lowerTag.charAt(idx - 1)) || end >= lowerTag.length()
+                    || ('=' != lowerTag.charAt(end) && !Character.isWhitespace(lowerTag.charAt(end)))) {
+                idx = end;
+
+                continue;
+            }
+
+            int valueStart = lowerTag.indexOf('=', end);
+            if (0 > valueStart) {
+                return "";
+            }
+            valueStart++;
+            while (valueStart < tag.length() && Character.isWhitespace(tag.charAt(valueStart))) {
+                valueStart++;
+            }
+            if (valueStart >= tag.length()) {
+                return "";
+            }
+
+            final char quote = tag.charAt(valueStart);
+            if ('"' == quote || '\'' == quote) {
+                final int valueEnd = tag.indexOf(quote, valueStart + 1);
+
+                return tag.substring(valueStart + 1, 0 > valueEnd ? tag.length() : valueEnd);
+            }
+
+            int valueEnd = valueStart;
+            while (valueEnd < tag.length() && !Character.isWhitespace(tag.charAt(valueEnd))) {
+                valueEnd++;
+            }
+
+            return tag.substring(valueStart, valueEnd);
+        }
+    }
+
+    /**
+     * Whether the specified link is an external link which should be opened in a new window.
+     *
+     * @param href the specified link
+     * @return {@code true} if it is external, returns {@code false} otherwise
+     */
+    private static boolean isExternal(final String href) {
+        return !StringUtils.startsWithIgnoreCase(href, Latkes.getServePath());
+    }
+
+    /**
+     * Attribute provider opens external links in new windows and assigns heading ids for the table of contents
+     * during rendering.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.1.0.0, Oct 19, 2026
+     * @since 2.9.3
+     */
+    private static final class RenderAttributeProvider implements AttributeProvider {
+
+        @Override
+        public void setAttributes(final com.vladsch.flexmark.ast.Node node, final AttributablePart part,
+                                  final Attributes attributes) {
+            if (node instanceof Heading && AttributablePart.NODE == part) {
+                final Heading heading = (Heading) node;
+                final JSONArray toc = TOC.get();
+                if (null == toc || 5 < heading.getLevel()) {
+                    return;
+                }
+
+                final String tagName = "h" + heading.getLevel();
+                String id = attributes.getValue("id");
+                if (StringUtils.isBlank(id)) {
+                    id = "b3_solo_" + tagName + "_" + toc.length();
+                    attributes.replaceValue("id", id);
+                }
+
+                final String text = new TextCollectingVisitor().collectAndGetText(heading);
+                toc.put(new JSONObject().put("level", tagName).put("id", id).put("text", StringUtils.replaceEach(
+                        StringUtils.trim(text), new String[]{"&", "<", ">", "\""}, new String[]{"&amp;", "&lt;", "&gt;", "&quot;"})));
+
+                return;
+            }
+
+            if (AttributablePart.LINK != part || !(node instanceof Link || node instanceof AutoLink)) {
+                return;
+            }
+
+            if (isExternal(attributes.getValue("href"))) {
+                attributes.replaceValue("target", "_blank");
+            }
+        }
+    }
+
     /**
      * Gets HTML for the specified markdown text.
      *
@@ -266,15 +820,14 @@ public final class Markdowns {
     }
 
     /**
-     * Puts the specified HTML into cache.
+     * Puts the specified rendered value into cache, the cache key is the hash of the markdown text so a new version
+     * of the content gets a new entry.
      *
      * @param markdownText the specified markdown text
-     * @param html         the specified HTML
+     * @param value        the specified rendered value, see {@link #render(String)}
      */
-    private static void putHTML(final String markdownText, final String html) {
+    private static void putValue(final String markdownText, final JSONObject value) {
         final String hash = DigestUtils.md5Hex(markdownText);
-        final JSONObject value = new JSONObject();
-        value.put("data", html);
         MD_CACHE.put(hash, value);
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.util;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.json.JSONArray;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <a href="https://github.com/chjj/marked">marked</a> engine client.
+ * <p>
+ * Requests are made over persistent connections: the number of concurrent requests is bounded by the pool size, and
+ * each response (error responses included) is fully read and closed without disconnecting, so the JDK keeps the
+ * connections alive and reuses them for the subsequent requests. The availability of the engine is probed in
+ * background, retrying with backoff while it is not available, so class loading is never blocked by the probe.
+ * </p>
+ * <p>
+ * Batch mode renders many documents in one round trip: POST a JSON array of markdown texts to "/batch", the engine
+ * responds a JSON array of HTML in the same order. Batch mode is used only if the engine passes the batch probe.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class MarkedEngine {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(MarkedEngine.class);
+
+    /**
+     * Pool size, should not exceed the JDK keep-alive cache size (http.maxConnections, 5 by default).
+     */
+    private static final int POOL_SIZE = 4;
+
+    /**
+     * Connect timeout in milliseconds.
+     */
+    private static final int CONNECT_TIMEOUT = 500;
+
+    /**
+     * Read timeout in milliseconds.
+     */
+    private static final int READ_TIMEOUT = 2000;
+
+    /**
+     * Min probe retry interval in milliseconds.
+     */
+    private static final long MIN_PROBE_INTERVAL = 1000 * 10;
+
+    /**
+     * Max probe retry interval in milliseconds.
+     */
+    private static final long MAX_PROBE_INTERVAL = 1000 * 60 * 10;
+
+    /**
+     * Probe text.
+     */
+    private static final String PROBE_TEXT = "Solo 大法好";
+
+    /**
+     * Connection permits.
+     */
+    private static final Semaphore CONNECTIONS = new Semaphore(POOL_SIZE);
+
+    /**
+     * Prober.
+     */
+    private static final ScheduledExecutorService PROBER = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread ret = new Thread(r, "MarkedProbe");
+        ret.setDaemon(true);
+
+        return ret;
+    });
+
+    /**
+     * Whether a probe is scheduled.
+     */
+    private static final AtomicBoolean PROBING = new AtomicBoolean();
+
+    /**
+     * Engine serve path.
+     */
+    private static final String ENGINE_URL = "http://localhost:8250";
+
+    /**
+     * Whether the engine is available.
+     */
+    private static volatile boolean available;
+
+    /**
+     * Whether the engine supports batch mode.
+     */
+    private static volatile boolean batchAvailable;
+
+    static {
+        probeAsync(0);
+    }
+
+    /**
+     * Private constructor.
+     */
+    private MarkedEngine() {
+    }
+
+    /**
+     * Whether the engine is available.
+     *
+     * @return {@code true} if it is available, returns {@code false} otherwise
+     */
+    public static boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Whether the engine supports batch mode.
+     *
+     * @return {@code true} if it supports, returns {@code false} otherwise
+     */
+    public static boolean isBatchAvailable() {
+        return available && batchAvailable;
+    }
+
+    /**
+     * Renders the specified markdown text.
+     *
+     * @param markdownText the specified markdown text
+     * @return HTML
+     * @throws IOException if the engine failed, the engine will be marked as unavailable and probed in background
+     */
+    public static String render(final String markdownText) throws IOException {
+        try {
+            return post(ENGINE_URL, "text/plain", markdownText);
+        } catch (final IOException e) {
+            markUnavailable(e);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Renders the specified markdown texts in one round trip.
+     *
+     * @param markdownTexts the specified markdown texts
+     * @return HTML list in the same order of the specified markdown texts
+     * @throws IOException if the engine failed, the engine will be marked as unavailable and probed in background
+     */
+    public static List<String> render(final List<String> markdownTexts) throws IOException {
+        try {
+            final String body = post(ENGINE_URL + "/batch", "application/json", new JSONArray(markdownTexts).toString());
+            final JSONArray htmls = new JSONArray(body);
+            if (htmls.length() != markdownTexts.size()) {
+                throw new IOException("Batch rendered [" + htmls.length() + "] documents, expected [" + markdownTexts.size() + "]");
+            }
+
+            final List<String> ret = new ArrayList<>(htmls.length());
+            for (int i = 0; i < htmls.length(); i++) {
+                ret.add(htmls.optString(i));
+            }
+
+            return ret;
+        } catch (final IOException e) {
+            markUnavailable(e);
+
+            throw e;
+        } catch (final Exception e) {
+            // Malformed response, falls back to single rendering
+            batchAvailable = false;
+
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Posts the specified body to the specified URL over a persistent connection.
+     *
+     * @param url         the specified URL
+     * @param contentType the specified content type
+     * @param body        the specified body
+     * @return response body
+     * @throws IOException io exception
+     */
+    private static String post(final String url, final String contentType, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        CONNECTIONS.acquireUninterruptibly();
+        try {
+            final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(CONNECT_TIMEOUT);
+            conn.setReadTimeout(READ_TIMEOUT);
+            conn.setDoOutput(true);
+            conn.setRequestMethod("POST");
+            conn.setRequestProperty("Connection", "keep-alive");
+            conn.setRequestProperty("Content-Type", contentType + ";charset=UTF-8");
+            conn.setFixedLengthStreamingMode(bytes.length);
+
+            try (final OutputStream outputStream = conn.getOutputStream()) {
+                outputStream.write(bytes);
+            }
+
+            final int statusCode = conn.getResponseCode();
+            if (HttpURLConnection.HTTP_OK != statusCode) {
+                // Consumes the error body so the connection could be reused
+                try (final InputStream errorStream = conn.getErrorStream()) {
+                    if (null != errorStream) {
+                        IOUtils.toByteArray(errorStream);
+                    }
+                }
+
+                throw new IOException("Marked engine responded [" + statusCode + "]");
+            }
+
+            try (final InputStream inputStream = conn.getInputStream()) {
+                return IOUtils.toString(inputStream, "UTF-8");
+            }
+        } finally {
+            CONNECTIONS.release();
+        }
+    }
+
+    /**
+     * Marks the engine unavailable and probes it in background.
+     *
+     * @param e the failure
+     */
+    private static void markUnavailable(final IOException e) {
+        if (available) {
+            LOGGER.log(Level.WARN, "[marked] is not available [" + e.getMessage() + "], uses built-in [flexmark] until it recovers");
+        }
+        available = false;
+        probeAsync(MIN_PROBE_INTERVAL);
+    }
+
+    /**
+     * Probes the engine in background after the specified delay, does nothing if a probe is scheduled already.
+     *
+     * @param delay the specified delay in milliseconds
+     */
+    private static void probeAsync(final long delay) {
+        if (!PROBING.compareAndSet(false, true)) {
+            return;
+        }
+
+        PROBER.schedule(() -> probe(MIN_PROBE_INTERVAL), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Probes the engine, schedules a retry with the specified interval (doubled on the next failure) if it is not
+     * available.
+     *
+     * @param interval the specified retry interval in milliseconds
+     */
+    private static void probe(final long interval) {
+        try {
+            final String html = post(ENGINE_URL, "text/plain", PROBE_TEXT);
+            available = StringUtils.contains(html, "<p>" + PROBE_TEXT + "</p>");
+        } catch (final Exception e) {
+            available = false;
+        }
+
+        if (!available) {
+            if (MIN_PROBE_INTERVAL == interval) {
+                LOGGER.log(Level.INFO, "[marked] is not available, uses built-in [flexmark] for markdown processing. " +
+                        "Please reads FAQ section in user guide (https://hacpai.com/article/1492881378588) for more details.");
+            } else {
+                LOGGER.log(Level.DEBUG, "[marked] is not available, probes it again in [{0}ms]", interval);
+            }
+            PROBER.schedule(() -> probe(Math.min(interval * 2, MAX_PROBE_INTERVAL)), interval, TimeUnit.MILLISECONDS);
+
+            return;
+        }
+
+        try {
+            final List<String> texts = new ArrayList<>();
+            texts.add(PROBE_TEXT);
+            texts.add(PROBE_TEXT);
+            final JSONArray htmls = new JSONArray(post(ENGINE_URL + "/batch", "application/json", new JSONArray(texts).toString()));
+            batchAvailable = 2 == htmls.length() && StringUtils.contains(htmls.optString(1), "<p>" + PROBE_TEXT + "</p>");
+        } catch (final Exception e) {
+            batchAvailable = false;
+        }
+
+        PROBING.set(false);
+        LOGGER.log(Level.INFO, "[marked] is available, uses it for markdown processing [batch={0}]", batchAvailable);
+    }
+}
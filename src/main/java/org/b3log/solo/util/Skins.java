@@ -17,7 +17,11 @@
  */
 package org.b3log.solo.util;
 
+import freemarker.cache.SoftCacheStorage;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
 import freemarker.template.TemplateExceptionHandler;
+import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.LatkeBeanManager;
@@ -27,7 +31,6 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.LangPropsServiceImpl;
 import org.b3log.latke.service.ServiceException;
-import org.b3log.latke.util.Locales;
 import org.b3log.latke.util.Requests;
 import org.b3log.latke.util.Stopwatchs;
 import org.b3log.latke.util.Strings;
@@ -41,12 +44,13 @@ import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Skin utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.5.9, Jul 31, 2018
+ * @version 1.3.0.0, Oct 19, 2026
  * @since 0.3.1
  */
 public final class Skins {
@@ -57,9 +61,23 @@ public final class Skins {
     private static final Logger LOGGER = Logger.getLogger(Skins.class);
 
     /**
-     * Properties map.
+     * Skin directory names, loaded by {@link #reloadSkins()}.
      */
-    private static final Map<String, Map<String, String>> LANG_MAP = new HashMap<>();
+    private static volatile Set<String> skinDirNames;
+
+    /**
+     * Skin language configurations, &lt;"skinDirName.localeString", langs&gt;, loaded by {@link #reloadSkins()}.
+     */
+    private static volatile Map<String, Map<String, String>> skinLangs;
+
+    /**
+     * Template configurations of skins, &lt;skinDirName, configuration&gt;.
+     * <p>
+     * Each skin has its own configuration (and template cache) cloned from {@link Templates#MAIN_CFG}, so a request
+     * never switches the template loading directory of a configuration shared with the other requests.
+     * </p>
+     */
+    private static final Map<String, Configuration> TEMPLATE_CFGS = new ConcurrentHashMap<>();
 
     /**
      * Private default constructor.
@@ -70,6 +88,10 @@ public final class Skins {
     /**
      * Fills the specified data model with the current skink's (WebRoot/skins/${skinName}/lang/lang_xx_XX.properties)
      * and core language (WebRoot/WEB-INF/classes/lang_xx_XX.properties) configurations.
+     * <p>
+     * The configurations are added as shared layers of the data model instead of being copied into it, see
+     * {@link LayeredHashModel} for more details.
+     * </p>
      *
      * @param localeString       the specified locale string
      * @param currentSkinDirName the specified current skin directory name
@@ -82,45 +104,20 @@ public final class Skins {
 
         try {
             final String langName = currentSkinDirName + "." + localeString;
-            Map<String, String> langs = LANG_MAP.get(langName);
-
+            final Map<String, String> langs = getSkinLangs().get(langName);
             if (null == langs) {
-                LANG_MAP.clear(); // Collect unused skin languages
-
-                LOGGER.log(Level.DEBUG, "Loading skin [dirName={0}, locale={1}]", currentSkinDirName, localeString);
-                langs = new HashMap<String, String>();
-
-                final String language = Locales.getLanguage(localeString);
-                final String country = Locales.getCountry(localeString);
-
-                final ServletContext servletContext = SoloServletListener.getServletContext();
-                final InputStream inputStream = servletContext.getResourceAsStream(
-                        "/skins/" + currentSkinDirName + "/lang/lang_" + language + '_' + country + ".properties");
+                LOGGER.log(Level.ERROR, "Not found skin langs [dirName={0}, locale={1}]", currentSkinDirName, localeString);
 
-                final Properties props = new Properties();
-
-                props.load(inputStream);
-                final Set<Object> keys = props.keySet();
-
-                for (final Object key : keys) {
-                    langs.put((String) key, props.getProperty((String) key));
-                }
-
-                LANG_MAP.put(langName, langs);
-                LOGGER.log(Level.DEBUG, "Loaded skin[dirName={0}, locale={1}, keyCount={2}]",
-                        currentSkinDirName, localeString, langs.size());
+                throw new ServiceException("Not found skin langs [" + langName + "]");
             }
 
-            dataModel.putAll(langs); // Fills the current skin's language configurations
+            LayeredHashModel.addLayer(dataModel, langs); // Fills the current skin's language configurations
 
             // Fills the core language configurations
             final LatkeBeanManager beanManager = Lifecycle.getBeanManager();
             final LangPropsService langPropsService = beanManager.getReference(LangPropsServiceImpl.class);
 
-            dataModel.putAll(langPropsService.getAll(Latkes.getLocale()));
-        } catch (final IOException e) {
-            LOGGER.log(Level.ERROR, "Fills skin langs failed", e);
-            throw new ServiceException(e);
+            LayeredHashModel.addLayer(dataModel, langPropsService.getAll(Latkes.getLocale()));
         } finally {
             Stopwatchs.end();
         }
@@ -142,6 +139,88 @@ public final class Skins {
         Templates.MOBILE_CFG.setServletContextForTemplateLoading(servletContext, "/skins/" + Solos.MOBILE_SKIN);
         Templates.MOBILE_CFG.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
         Templates.MOBILE_CFG.setLogTemplateExceptions(false);
+
+        clearTemplateCfgs();
+    }
+
+    /**
+     * Gets the template specified by the given name of the skin specified by the given directory name.
+     *
+     * @param skinDirName  the given skin directory name, uses the configured skin if it is {@code null}
+     * @param templateName the given template name
+     * @return template, returns {@code null} if not found
+     */
+    public static Template getTemplate(final String skinDirName, final String templateName) {
+        try {
+            if (null == skinDirName) {
+                return Templates.MAIN_CFG.getTemplate(templateName);
+            }
+
+            return TEMPLATE_CFGS.computeIfAbsent(skinDirName, Skins::newTemplateCfg).getTemplate(templateName);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Clears the template configurations of skins, they are cloned again with the current settings (time zone for
+     * example) of {@link Templates#MAIN_CFG} and {@link Templates#MOBILE_CFG} on demand.
+     */
+    public static void clearTemplateCfgs() {
+        TEMPLATE_CFGS.clear();
+    }
+
+    /**
+     * Creates a template configuration for the skin specified by the given directory name.
+     *
+     * @param skinDirName the given skin directory name
+     * @return template configuration
+     */
+    private static Configuration newTemplateCfg(final String skinDirName) {
+        final Configuration base = Solos.MOBILE_SKIN.equals(skinDirName) ? Templates.MOBILE_CFG : Templates.MAIN_CFG;
+        final Configuration ret = (Configuration) base.clone();
+        ret.setCacheStorage(new SoftCacheStorage()); // A clone shares the cache storage, which is not keyed by skin
+        ret.setServletContextForTemplateLoading(SoloServletListener.getServletContext(), "/skins/" + skinDirName);
+
+        return ret;
+    }
+
+    /**
+     * Reloads skins. Scans the /skins/ directory for skin directory names, and loads all language configurations
+     * (/skins/${skinDirName}/lang/lang_xx_XX.properties) of each skin.
+     * <p>
+     * Skins are loaded eagerly at startup and reloaded only when skins change (loading skins, updating preference),
+     * the loaded skins are immutable and shared by all requests.
+     * </p>
+     */
+    public static synchronized void reloadSkins() {
+        Stopwatchs.start("Reload Skins");
+
+        try {
+            final ServletContext servletContext = SoloServletListener.getServletContext();
+            final Set<String> dirNames = new HashSet<>();
+            final Map<String, Map<String, String>> langs = new HashMap<>();
+
+            final Set<String> resourcePaths = servletContext.getResourcePaths("/skins");
+            if (null != resourcePaths) {
+                for (final String path : resourcePaths) {
+                    final String dirName = path.substring("/skins".length() + 1, path.length() - 1);
+                    if (dirName.startsWith(".")) {
+                        continue;
+                    }
+
+                    dirNames.add(dirName);
+                    langs.putAll(loadLangs(servletContext, dirName));
+                }
+            }
+
+            skinDirNames = Collections.unmodifiableSet(dirNames);
+            skinLangs = Collections.unmodifiableMap(langs);
+
+            LOGGER.log(Level.DEBUG, "Loaded skins [dirNames={0}, langCount={1}]", dirNames, langs.size());
+        } finally {
+            Stopwatchs.end();
+        }
     }
 
     /**
@@ -154,22 +233,72 @@ public final class Skins {
      *     <b>classic</b>/
      * </pre>.
      *
+     * The scanning result is cached, see {@link #reloadSkins()} for more details.
+     *
      * @return a set of skin name, returns an empty set if not found
      */
     public static Set<String> getSkinDirNames() {
-        final Set<String> ret = new HashSet<>();
+        Set<String> ret = skinDirNames;
+        if (null == ret) {
+            reloadSkins();
+            ret = skinDirNames;
+        }
 
-        final ServletContext servletContext = SoloServletListener.getServletContext();
-        final Set<String> resourcePaths = servletContext.getResourcePaths("/skins");
+        return ret;
+    }
 
-        for (final String path : resourcePaths) {
-            final String dirName = path.substring("/skins".length() + 1, path.length() - 1);
+    /**
+     * Gets all skin language configurations.
+     *
+     * @return skin language configurations, &lt;"skinDirName.localeString", langs&gt;
+     */
+    private static Map<String, Map<String, String>> getSkinLangs() {
+        Map<String, Map<String, String>> ret = skinLangs;
+        if (null == ret) {
+            reloadSkins();
+            ret = skinLangs;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Loads all language configurations of the specified skin.
+     *
+     * @param servletContext the specified servlet context
+     * @param skinDirName    the specified skin directory name
+     * @return language configurations, &lt;"skinDirName.localeString", langs&gt;, returns an empty map if not found
+     */
+    private static Map<String, Map<String, String>> loadLangs(final ServletContext servletContext, final String skinDirName) {
+        final Map<String, Map<String, String>> ret = new HashMap<>();
 
-            if (dirName.startsWith(".")) {
+        final Set<String> langPaths = servletContext.getResourcePaths("/skins/" + skinDirName + "/lang/");
+        if (null == langPaths) {
+            return ret;
+        }
+
+        for (final String langPath : langPaths) {
+            final String fileName = StringUtils.substringAfterLast(langPath, "/");
+            if (!fileName.startsWith("lang_") || !fileName.endsWith(".properties")) {
                 continue;
             }
 
-            ret.add(dirName);
+            final String localeString = StringUtils.substringBetween(fileName, "lang_", ".properties");
+            final Properties props = new Properties();
+            try (final InputStream inputStream = servletContext.getResourceAsStream(langPath)) {
+                props.load(inputStream);
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Loads skin langs [path=" + langPath + "] failed", e);
+
+                continue;
+            }
+
+            final Map<String, String> langs = new HashMap<>();
+            for (final String key : props.stringPropertyNames()) {
+                langs.put(key, props.getProperty(key));
+            }
+
+            ret.put(skinDirName + "." + localeString, Collections.unmodifiableMap(langs));
         }
 
         return ret;
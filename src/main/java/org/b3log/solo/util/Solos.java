@@ -19,14 +19,19 @@ package org.b3log.solo.util;
 
 import org.apache.commons.lang.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Solo utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, Jul 31, 2018
+ * @version 1.2.0.0, Oct 19, 2026
  * @since 2.8.0
  */
 public final class Solos {
@@ -61,6 +66,11 @@ public final class Solos {
      */
     public static final String MOBILE_SKIN;
 
+    /**
+     * Widths of the image variants generated for local uploads, ascending, empty if disabled.
+     */
+    public static final List<Integer> IMAGE_VARIANT_WIDTHS;
+
     static {
         ResourceBundle solo;
         try {
@@ -86,6 +96,20 @@ public final class Solos {
             // ignored
         }
         MOBILE_SKIN = mobileSkin;
+
+        String imageVariantWidths = "320,640,1280";
+        try {
+            imageVariantWidths = solo.getString("imageVariantWidths");
+        } catch (final Exception e) {
+            // ignored
+        }
+        final Set<Integer> widths = new TreeSet<>();
+        for (final String width : StringUtils.split(imageVariantWidths, ", ")) {
+            if (StringUtils.isNumeric(width) && 6 > width.length() && 0 < Integer.parseInt(width)) {
+                widths.add(Integer.valueOf(width));
+            }
+        }
+        IMAGE_VARIANT_WIDTHS = Collections.unmodifiableList(new ArrayList<>(widths));
     }
 
     /**
@@ -0,0 +1,296 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.util;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.solo.SoloServletListener;
+
+import javax.servlet.ServletContext;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Static asset (CSS, JavaScript) utilities, fingerprints and precompresses static assets.
+ * <p>
+ * The URL of an asset is fingerprinted with the hash of its content (/js/common.min.js to /js/common.min.${hash}.js),
+ * so the fingerprinted URL never changes its content and could be cached by browsers forever. An asset is loaded,
+ * hashed and gzipped with the best compression once on its first reference and served from memory by
+ * {@link org.b3log.solo.filter.StaticAssetFilter}. A Brotli compressed file (${asset}.br) shipped beside an asset is
+ * served to the browsers accepting Brotli, unless it is older than the asset (the asset was edited without
+ * recompressing it).
+ * </p>
+ * <p>
+ * Assets are loaded once in production mode, reloaded on modification in development mode.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class StaticAssets {
+
+    /**
+     * Fingerprinted path pattern, ${name}.${hash}.${suffix}.
+     */
+    public static final Pattern FINGERPRINTED_PATTERN = Pattern.compile("^(.+)\\.([0-9a-f]{10})\\.(css|js)$");
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(StaticAssets.class);
+
+    /**
+     * Hash length.
+     */
+    private static final int HASH_LENGTH = 10;
+
+    /**
+     * Loaded assets, &lt;path, asset&gt;.
+     */
+    private static final Map<String, Asset> ASSETS = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor.
+     */
+    private StaticAssets() {
+    }
+
+    /**
+     * Gets the fingerprinted path of the specified asset path.
+     *
+     * @param path the specified asset path, for example "/js/common.min.js"
+     * @return fingerprinted path, for example "/js/common.min.0123456789.js", returns the specified path with the static
+     * resource version query if the asset could not be fingerprinted
+     */
+    public static String getPath(final String path) {
+        final Asset asset = getAsset(path);
+        if (null == asset) {
+            return path + "?" + Latkes.getStaticResourceVersion();
+        }
+
+        return StringUtils.substringBeforeLast(path, ".") + "." + asset.hash + "." + StringUtils.substringAfterLast(path, ".");
+    }
+
+    /**
+     * Gets the asset of the specified path.
+     *
+     * @param path the specified path, for example "/js/common.min.js"
+     * @return asset, returns {@code null} if not found or not a CSS or JavaScript file
+     */
+    public static Asset getAsset(final String path) {
+        if (!StringUtils.endsWith(path, ".css") && !StringUtils.endsWith(path, ".js") || StringUtils.contains(path, "..")) {
+            return null;
+        }
+
+        Asset ret = ASSETS.get(path);
+        final boolean production = Latkes.RuntimeMode.PRODUCTION == Latkes.getRuntimeMode();
+        if (null != ret && (production || ret.lastModified == getLastModified(path)
+                && ret.brotliLastModified == getLastModified(path + ".br"))) {
+            return ret;
+        }
+
+        ret = load(path);
+        if (null != ret) {
+            ASSETS.put(path, ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Loads the asset of the specified path.
+     *
+     * @param path the specified path
+     * @return asset, returns {@code null} if not found or failed
+     */
+    private static Asset load(final String path) {
+        final ServletContext servletContext = SoloServletListener.getServletContext();
+        final long lastModified = getLastModified(path);
+        final long brotliLastModified = getLastModified(path + ".br");
+        try (final InputStream input = servletContext.getResourceAsStream(path)) {
+            if (null == input) {
+                return null;
+            }
+
+            final byte[] content = read(input);
+            final byte[] gzip = gzip(content);
+            byte[] brotli = null;
+            if (0 < brotliLastModified && brotliLastModified < lastModified) {
+                LOGGER.log(Level.WARN, "Ignored stale Brotli compressed static asset [{0}.br], recompress it", path);
+            } else {
+                try (final InputStream brotliInput = servletContext.getResourceAsStream(path + ".br")) {
+                    if (null != brotliInput) {
+                        brotli = read(brotliInput);
+                    }
+                }
+            }
+
+            final String hash = DigestUtils.md5Hex(content).substring(0, HASH_LENGTH);
+            LOGGER.log(Level.DEBUG, "Loaded static asset [path={0}, hash={1}, size={2}, gzip={3}, brotli={4}]",
+                    path, hash, content.length, gzip.length, null == brotli ? 0 : brotli.length);
+
+            return new Asset(hash, lastModified, brotliLastModified, content, gzip.length < content.length ? gzip : null, brotli);
+        } catch (final IOException e) {
+            LOGGER.log(Level.ERROR, "Loads static asset [" + path + "] failed", e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Gets the last modified time of the asset file of the specified path.
+     *
+     * @param path the specified path
+     * @return last modified time, returns {@code 0} if the asset is not a file (in a packed war for example) or does
+     * not exist
+     */
+    private static long getLastModified(final String path) {
+        final String realPath = SoloServletListener.getServletContext().getRealPath(path);
+        if (null == realPath) {
+            return 0;
+        }
+
+        return new File(realPath).lastModified();
+    }
+
+    /**
+     * Reads all bytes from the specified input stream.
+     *
+     * @param input the specified input stream
+     * @return bytes
+     * @throws IOException io exception
+     */
+    private static byte[] read(final InputStream input) throws IOException {
+        final ByteArrayOutputStream ret = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int n;
+        while (-1 != (n = input.read(buffer))) {
+            ret.write(buffer, 0, n);
+        }
+
+        return ret.toByteArray();
+    }
+
+    /**
+     * Compresses the specified content with gzip in the best compression level.
+     *
+     * @param content the specified content
+     * @return compressed content
+     * @throws IOException io exception
+     */
+    private static byte[] gzip(final byte[] content) throws IOException {
+        final ByteArrayOutputStream ret = new ByteArrayOutputStream(content.length / 3 + 64);
+        try (final GZIPOutputStream output = new GZIPOutputStream(ret) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            output.write(content);
+        }
+
+        return ret.toByteArray();
+    }
+
+    /**
+     * Parses the specified fingerprinted path.
+     *
+     * @param path the specified fingerprinted path, for example "/js/common.min.0123456789.js"
+     * @return {@code [path, hash]}, for example {@code ["/js/common.min.js", "0123456789"]}, returns {@code null} if the
+     * specified path is not fingerprinted
+     */
+    public static String[] parseFingerprinted(final String path) {
+        final Matcher matcher = FINGERPRINTED_PATTERN.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        return new String[]{matcher.group(1) + "." + matcher.group(3), matcher.group(2)};
+    }
+
+    /**
+     * Static asset.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.1, Oct 19, 2026
+     * @since 2.9.3
+     */
+    public static final class Asset {
+
+        /**
+         * Content hash.
+         */
+        public final String hash;
+
+        /**
+         * Last modified time of the asset file.
+         */
+        private final long lastModified;
+
+        /**
+         * Last modified time of the Brotli compressed file.
+         */
+        private final long brotliLastModified;
+
+        /**
+         * Content.
+         */
+        public final byte[] content;
+
+        /**
+         * Gzip compressed content, {@code null} if compressing does not make it smaller.
+         */
+        public final byte[] gzip;
+
+        /**
+         * Brotli compressed content, {@code null} if not shipped.
+         */
+        public final byte[] brotli;
+
+        /**
+         * Constructs an asset with the specified arguments.
+         *
+         * @param hash               the specified content hash
+         * @param lastModified       the specified last modified time
+         * @param brotliLastModified the specified last modified time of the Brotli compressed file
+         * @param content            the specified content
+         * @param gzip               the specified gzip compressed content
+         * @param brotli             the specified Brotli compressed content
+         */
+        private Asset(final String hash, final long lastModified, final long brotliLastModified, final byte[] content,
+                      final byte[] gzip, final byte[] brotli) {
+            this.hash = hash;
+            this.lastModified = lastModified;
+            this.brotliLastModified = brotliLastModified;
+            this.content = content;
+            this.gzip = gzip;
+            this.brotli = brotli;
+        }
+    }
+}
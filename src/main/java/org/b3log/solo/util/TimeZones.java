@@ -25,7 +25,7 @@ import java.util.TimeZone;
  * Time zone utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.6, Jan 5, 2014
+ * @version 1.0.0.7, Oct 19, 2026
  */
 public final class TimeZones {
 
@@ -39,6 +39,7 @@ public final class TimeZones {
 
         Templates.MAIN_CFG.setTimeZone(timeZone);
         Templates.MOBILE_CFG.setTimeZone(timeZone);
+        Skins.clearTemplateCfgs();
     }
 
     /**
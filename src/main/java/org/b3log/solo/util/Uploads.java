@@ -0,0 +1,391 @@
+/*
+ * Solo - A small and beautiful blogging system written in Java.
+ * Copyright (c) 2010-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.solo.util;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Local upload file utilities.
+ * <p>
+ * Uploads are stored content-addressed: the file name of an upload (a blob) is the SHA-256 of its content plus the
+ * suffix, so identical uploads share one file and one immutable URL. The blobs referenced by nothing are swept by
+ * {@link org.b3log.solo.service.UploadMgmtService#gc()}.
+ * </p>
+ * <p>
+ * Metadata (ETag, last modified time and length) of upload files is precomputed and stored in a sidecar index file
+ * (${uploadDir}/.index.json), so serving a file does not read or hash its content. Metadata of a file not in the index
+ * (uploaded by an old version for example) or modified after indexed is computed on the first request and stored.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.2.0.2, Oct 19, 2026
+ * @since 2.9.3
+ */
+public final class Uploads {
+
+    /**
+     * Key of ETag.
+     */
+    public static final String ETAG = "etag";
+
+    /**
+     * Key of last modified time.
+     */
+    public static final String LAST_MODIFIED = "lastModified";
+
+    /**
+     * Key of length.
+     */
+    public static final String LENGTH = "length";
+
+    /**
+     * Key of reference count, counted by the last garbage collection.
+     */
+    public static final String REF_COUNT = "refCount";
+
+    /**
+     * Blob name pattern.
+     */
+    public static final Pattern BLOB_NAME_PATTERN = Pattern.compile("[0-9a-f]{64}\\.[A-Za-z0-9]+");
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Uploads.class);
+
+    /**
+     * Index file name.
+     */
+    private static final String INDEX_FILE_NAME = ".index.json";
+
+    /**
+     * Index, &lt;fileName, metadata&gt;.
+     */
+    private static final Map<String, JSONObject> INDEX = new ConcurrentHashMap<>();
+
+    static {
+        loadIndex();
+    }
+
+    /**
+     * Private constructor.
+     */
+    private Uploads() {
+    }
+
+    /**
+     * Gets an upload file by the specified name.
+     *
+     * @param name the specified name, for example "e9d1dcd0b3d84b7b8a4b5c2a3b4c5d6e_image.png"
+     * @return upload file, returns {@code null} if not found or the name is not of an upload file (hidden files or
+     * files out of the upload directory)
+     */
+    public static File getFile(final String name) {
+        if (StringUtils.isBlank(Solos.UPLOAD_DIR_PATH) || StringUtils.isBlank(name)
+                || name.startsWith(".") || StringUtils.contains(name, "/.") || StringUtils.contains(name, "\\")) {
+            return null;
+        }
+
+        final File ret = new File(Solos.UPLOAD_DIR_PATH, name);
+        try {
+            final String dir = new File(Solos.UPLOAD_DIR_PATH).getCanonicalPath() + File.separator;
+            if (!ret.getCanonicalPath().startsWith(dir) || !ret.isFile()) {
+                return null;
+            }
+        } catch (final IOException e) {
+            return null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Stores the specified input as a blob, hashes the content while it streams into a temporary file, and then moves
+     * the temporary file to the blob, or drops it if the blob exists already.
+     *
+     * @param input  the specified input
+     * @param suffix the specified suffix, for example "png"
+     * @return blob name, for example "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.png"
+     * @throws IOException io exception
+     */
+    public static String store(final InputStream input, final String suffix) throws IOException {
+        final MessageDigest sha256 = DigestUtils.getSha256Digest();
+        final MessageDigest md5 = DigestUtils.getMd5Digest();
+        final File tmpFile = new File(Solos.UPLOAD_DIR_PATH, ".upload-" + UUID.randomUUID().toString() + ".tmp");
+        try {
+            try (final OutputStream output = new FileOutputStream(tmpFile);
+                 final InputStream in = new DigestInputStream(new DigestInputStream(input, sha256), md5)) {
+                IOUtils.copy(in, output);
+            }
+
+            String ext = StringUtils.defaultString(suffix).replaceAll("\\W", "");
+            if (StringUtils.isBlank(ext)) {
+                ext = "bin";
+            }
+            final String ret = Hex.encodeHexString(sha256.digest()) + "." + ext;
+            final File blob = new File(Solos.UPLOAD_DIR_PATH, ret);
+            synchronized (Uploads.class) {
+                if (blob.isFile() && blob.length() == tmpFile.length()) {
+                    // Touches the blob to keep it from the garbage collection before the new reference is saved
+                    blob.setLastModified(System.currentTimeMillis());
+                    LOGGER.log(Level.DEBUG, "Deduplicated upload [blob={0}]", ret);
+                } else {
+                    Files.move(tmpFile.toPath(), blob.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+
+                putMeta(ret, blob, Hex.encodeHexString(md5.digest()));
+            }
+
+            return ret;
+        } finally {
+            if (tmpFile.exists() && !tmpFile.delete()) {
+                LOGGER.log(Level.WARN, "Deletes temporary upload file [{0}] failed", tmpFile.getPath());
+            }
+        }
+    }
+
+    /**
+     * Gets all blob names.
+     *
+     * @return blob names, returns an empty set if not found
+     */
+    public static Set<String> getBlobNames() {
+        final Set<String> ret = new HashSet<>();
+        final String[] names = new File(Solos.UPLOAD_DIR_PATH).list();
+        if (null == names) {
+            return ret;
+        }
+
+        for (final String name : names) {
+            if (BLOB_NAME_PATTERN.matcher(name).matches()) {
+                ret.add(name);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Sets the reference counts of blobs, the blobs not in the specified reference counts are set to 0.
+     * <p>
+     * The metadata is mutated under the same lock as {@link #saveIndex()} which serializes it.
+     * </p>
+     *
+     * @param refCounts the specified reference counts, &lt;blobName, count&gt;
+     */
+    public static synchronized void setRefCounts(final Map<String, Integer> refCounts) {
+        for (final Map.Entry<String, JSONObject> entry : INDEX.entrySet()) {
+            final String name = entry.getKey();
+            if (!BLOB_NAME_PATTERN.matcher(name).matches()) {
+                continue;
+            }
+
+            final Integer count = refCounts.get(name);
+            entry.getValue().put(REF_COUNT, null == count ? 0 : count);
+        }
+
+        saveIndex();
+    }
+
+    /**
+     * Deletes the specified blob if it has not been modified (touched by a deduplicated upload) since the specified
+     * time. The time is checked under the same lock as the touch, so a blob just returned to an upload is never
+     * deleted.
+     *
+     * @param name           the specified blob name
+     * @param modifiedBefore the specified time
+     * @return {@code true} if deleted, returns {@code false} otherwise
+     */
+    public static synchronized boolean deleteBlob(final String name, final long modifiedBefore) {
+        if (!BLOB_NAME_PATTERN.matcher(name).matches()) {
+            return false;
+        }
+
+        final File blob = new File(Solos.UPLOAD_DIR_PATH, name);
+        if (blob.lastModified() >= modifiedBefore) {
+            return false;
+        }
+
+        final boolean ret = blob.delete();
+        if (ret) {
+            INDEX.remove(name);
+            saveIndex();
+            deleteVariants(name);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets metadata of the specified upload file.
+     *
+     * @param name the specified upload file name
+     * @param file the specified upload file
+     * @return metadata, for example,
+     * <pre>
+     * {
+     *     "etag": "", // MD5 of the file content
+     *     "lastModified": long,
+     *     "length": long,
+     *     "width": int, // optional, displayed width of an image
+     *     "height": int // optional, displayed height of an image
+     * }
+     * </pre>
+     * @throws IOException io exception
+     */
+    public static JSONObject getMeta(final String name, final File file) throws IOException {
+        final JSONObject ret = INDEX.get(name);
+        if (null != ret && ret.optLong(LENGTH) == file.length() && ret.optLong(LAST_MODIFIED) == file.lastModified()) {
+            return ret;
+        }
+
+        final String md5;
+        try (final InputStream inputStream = new FileInputStream(file)) {
+            md5 = DigestUtils.md5Hex(inputStream);
+        }
+
+        return putMeta(name, file, md5);
+    }
+
+    /**
+     * Puts metadata of the specified upload file into the index.
+     *
+     * @param name the specified upload file name
+     * @param file the specified upload file
+     * @param md5  MD5 of the file content
+     * @return metadata, see {@link #getMeta(String, File)} for details
+     */
+    public static JSONObject putMeta(final String name, final File file, final String md5) {
+        final JSONObject ret = new JSONObject();
+        ret.put(ETAG, md5);
+        ret.put(LAST_MODIFIED, file.lastModified());
+        ret.put(LENGTH, file.length());
+
+        INDEX.put(name, ret);
+        saveIndex();
+
+        return ret;
+    }
+
+    /**
+     * Puts the displayed dimension of the specified upload image into its metadata, under the same lock as
+     * {@link #saveIndex()} which serializes the metadata.
+     *
+     * @param name   the specified upload file name
+     * @param width  the specified width
+     * @param height the specified height
+     */
+    public static synchronized void putDimension(final String name, final int width, final int height) {
+        final JSONObject meta = INDEX.get(name);
+        if (null == meta) {
+            return;
+        }
+
+        meta.put(ImageVariants.WIDTH, width);
+        meta.put(ImageVariants.HEIGHT, height);
+        saveIndex();
+    }
+
+    /**
+     * Deletes the generated image variants of the specified upload file.
+     *
+     * @param name the specified upload file name
+     */
+    private static void deleteVariants(final String name) {
+        final File dir = new File(Solos.UPLOAD_DIR_PATH, ImageVariants.VARIANTS_DIR + File.separator + name);
+        final File[] variants = dir.listFiles();
+        if (null == variants) {
+            return;
+        }
+
+        for (final File variant : variants) {
+            if (!variant.delete()) {
+                LOGGER.log(Level.WARN, "Deletes image variant [{0}] failed", variant.getPath());
+            }
+        }
+        if (!dir.delete()) {
+            LOGGER.log(Level.WARN, "Deletes image variants dir [{0}] failed", dir.getPath());
+        }
+    }
+
+    /**
+     * Loads the index from the index file.
+     */
+    private static void loadIndex() {
+        if (StringUtils.isBlank(Solos.UPLOAD_DIR_PATH)) {
+            return;
+        }
+
+        final File indexFile = new File(Solos.UPLOAD_DIR_PATH, INDEX_FILE_NAME);
+        if (!indexFile.isFile()) {
+            return;
+        }
+
+        try {
+            final JSONObject index = new JSONObject(new String(Files.readAllBytes(indexFile.toPath()), StandardCharsets.UTF_8));
+            final Iterator<String> names = index.keys();
+            while (names.hasNext()) {
+                final String name = names.next();
+                INDEX.put(name, index.getJSONObject(name));
+            }
+
+            LOGGER.log(Level.DEBUG, "Loaded upload index [size={0}]", INDEX.size());
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARN, "Loads upload index failed, metadata will be recomputed", e);
+        }
+    }
+
+    /**
+     * Saves the index into the index file, writes a temporary file and then replaces the index file with it.
+     */
+    private static synchronized void saveIndex() {
+        final File indexFile = new File(Solos.UPLOAD_DIR_PATH, INDEX_FILE_NAME);
+        final File tmpFile = new File(Solos.UPLOAD_DIR_PATH, INDEX_FILE_NAME + ".tmp");
+        try {
+            Files.write(tmpFile.toPath(), new JSONObject(INDEX).toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARN, "Saves upload index failed", e);
+        }
+    }
+}
@@ -29,10 +29,10 @@
         <meta http-equiv="Window-target" content="_top">
         <meta name="robots" content="none" />
         <title>${blogTitle} - ${adminConsoleLabel}</title>
-        <link type="text/css" rel="stylesheet" href="${staticServePath}/css/default-base${miniPostfix}.css?${staticResourceVersion}" />
-        <link type="text/css" rel="stylesheet" href="${staticServePath}/css/default-admin${miniPostfix}.css?${staticResourceVersion}" />
-        <link type="text/css" rel="stylesheet" href="${staticServePath}/js/lib/CodeMirrorEditor/codemirror.min.css?${staticResourceVersion}" />
-        <link type="text/css" rel="stylesheet" href="${staticServePath}/js/lib/highlight.js-9.6.0/styles/github.css?${staticResourceVersion}" />
+        <link type="text/css" rel="stylesheet" href="${staticServePath}${staticAsset('/css/default-base${miniPostfix}.css')}" />
+        <link type="text/css" rel="stylesheet" href="${staticServePath}${staticAsset('/css/default-admin${miniPostfix}.css')}" />
+        <link type="text/css" rel="stylesheet" href="${staticServePath}${staticAsset('/js/lib/CodeMirrorEditor/codemirror.min.css')}" />
+        <link type="text/css" rel="stylesheet" href="${staticServePath}${staticAsset('/js/lib/highlight.js-9.6.0/styles/github.css')}" />
         <link rel="icon" type="image/png" href="${staticServePath}/favicon.png" />
         <link rel="manifest" href="${servePath}/manifest.json">
     </head>
@@ -195,7 +195,7 @@
         <script src="${staticServePath}/js/admin/main.js"></script>
         <script src="${staticServePath}/js/admin/about.js"></script>
         <#else>
-        <script src="${staticServePath}/js/admin/latkeAdmin${miniPostfix}.js?${staticResourceVersion}"></script>
+        <script src="${staticServePath}${staticAsset('/js/admin/latkeAdmin${miniPostfix}.js')}"></script>
         </#if>
         <#include "admin-label.ftl">
         ${plugins}
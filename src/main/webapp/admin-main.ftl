@@ -17,6 +17,40 @@
     along with this program.  If not, see <https://www.gnu.org/licenses/>.
 
 -->
+<div class="module-panel">
+    <div class="module-header">
+        <h2>${uniqueVisitorLabel}</h2>
+    </div>
+    <div class="module-body padding12 fn__flex">
+        <table class="left" style="margin-right: 40px">
+            <tr><th>${uniqueVisitorDailyLabel}</th><th></th></tr>
+            <#list uniqueVisitorsDaily as item>
+            <tr><td>${item.period}</td><td>${item.count?c}</td></tr>
+            </#list>
+        </table>
+        <table class="left">
+            <tr><th>${uniqueVisitorMonthlyLabel}</th><th></th></tr>
+            <#list uniqueVisitorsMonthly as item>
+            <tr><td>${item.period}</td><td>${item.count?c}</td></tr>
+            </#list>
+        </table>
+    </div>
+</div>
+<#if failedMails?size != 0>
+<div class="module-panel">
+    <div class="module-header">
+        <h2>${failedMailLabel}</h2>
+    </div>
+    <div class="module-body padding12">
+        <table>
+            <tr><th>${failedMailTimeLabel}</th><th>${failedMailToLabel}</th><th>${failedMailSubjectLabel}</th><th>${failedMailErrorLabel}</th></tr>
+            <#list failedMails as item>
+            <tr><td>${item.time}</td><td>${item.to?html}</td><td>${item.subject?html}</td><td>${item.error?html}</td></tr>
+            </#list>
+        </table>
+    </div>
+</div>
+</#if>
 <div id="mainPanel1"></div>
 <div id="mainPanel2"></div>
 ${plugins}
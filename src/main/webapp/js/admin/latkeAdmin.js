@@ -868,15 +868,36 @@ admin.editors.CodeMirror = {
         return false;
       }
 
+      var preview = cm.markdownPreview || {version: -1, blocks: []};
+      cm.markdownPreview = preview;
       $.ajax({
         url: latkeConfig.servePath + '/console/markdown/2html',
         type: "POST",
         cache: false,
         data: {
-          markdownText: cm.getValue()
+          markdownText: cm.getValue(),
+          incremental: true,
+          previewId: conf.id,
+          previewVersion: preview.version
         },
         success: function (result, textStatus) {
-          $('#' + conf.id).parent().find('.CodeMirror-preview').html(result.html);
+          if (!result.blocks) {
+            // empty text or failed, the next request renders the full document
+            preview.version = -1;
+            preview.blocks = [];
+            $('#' + conf.id).parent().find('.CodeMirror-preview').html(result.html || '');
+            return;
+          }
+
+          // applies the patch of the changed blocks
+          if (result.full) {
+            preview.blocks = result.blocks;
+          } else {
+            Array.prototype.splice.apply(preview.blocks,
+              [result.start, result.deleteCount].concat(result.blocks));
+          }
+          preview.version = result.version;
+          $('#' + conf.id).parent().find('.CodeMirror-preview').html(preview.blocks.join(''));
           Util.parseMarkdown('content-reset');
           hljs.initHighlighting.called = false;
           hljs.initHighlighting();
@@ -25,7 +25,7 @@
     <meta name="viewport" content="initial-scale=1.0,user-scalable=no,maximum-scale=1" media="(device-height: 568px)">
     <title>${keyword} - ${blogTitle}${searchLabel}</title>
     <link type="text/css" rel="stylesheet"
-          href="${staticServePath}/css/default-init${miniPostfix}.css?${staticResourceVersion}" charset="utf-8"/>
+          href="${staticServePath}${staticAsset('/css/default-init${miniPostfix}.css')}" charset="utf-8"/>
     <link rel="icon" type="image/png" href="${staticServePath}/favicon.png"/>
     <link rel="apple-touch-icon" href="${staticServePath}/favicon.png">
 </head>
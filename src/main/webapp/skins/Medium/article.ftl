@@ -220,12 +220,12 @@
         <#if pjax><!---- pjax {#pjaxArticle} end ----></#if>
 </div>
 <script type="text/javascript" src="${staticServePath}/js/lib/compress/pjax.min.js" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/js/common${miniPostfix}.js?${staticResourceVersion}"
+<script type="text/javascript" src="${staticServePath}${staticAsset('/js/common${miniPostfix}.js')}"
         charset="utf-8"></script>
 <script type="text/javascript"
         src="${staticServePath}/skins/${skinDirName}/js/jquery.qrcode${miniPostfix}.js"></script>
 <script type="text/javascript"
-        src="${staticServePath}/skins/${skinDirName}/js/common${miniPostfix}.js?${staticResourceVersion}"
+        src="${staticServePath}${staticAsset('/skins/${skinDirName}/js/common${miniPostfix}.js')}"
         charset="utf-8"></script>
 <script type="text/javascript">
     var latkeConfig = {
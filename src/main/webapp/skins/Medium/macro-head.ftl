@@ -28,7 +28,7 @@
 <meta name="revised" content="${blogTitle?html}, ${year}" />
 <meta name="copyright" content="B3log" />
 <meta http-equiv="Window-target" content="_top" />
-<link type="text/css" rel="stylesheet" href="${staticServePath}/skins/${skinDirName}/css/base${miniPostfix}.css?${staticResourceVersion}" charset="utf-8" />
+<link type="text/css" rel="stylesheet" href="${staticServePath}${staticAsset('/skins/${skinDirName}/css/base${miniPostfix}.css')}" charset="utf-8" />
 <link href="${servePath}/blog-articles-rss.do" title="RSS" type="application/rss+xml" rel="alternate" />
 <link rel="icon" type="image/png" href="${servePath}/favicon.png" />
 <link rel="manifest" href="${servePath}/manifest.json">
@@ -29,7 +29,7 @@
         by <a rel="friend" href="http://vanessa.b3log.org" target="_blank">Vanessa</a></p>
 </div>
 <script type="text/javascript" src="${staticServePath}/js/lib/jquery/jquery.min.js" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/js/common${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
+<script type="text/javascript" src="${staticServePath}${staticAsset('/js/common${miniPostfix}.js')}" charset="utf-8"></script>
 <script type="text/javascript">
     var latkeConfig = {
         "servePath": "${servePath}",
@@ -80,7 +80,7 @@
 </#macro>
 
 <#macro comment_script oId>
-<script type="text/javascript" src="${staticServePath}/js/page${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
+<script type="text/javascript" src="${staticServePath}${staticAsset('/js/page${miniPostfix}.js')}" charset="utf-8"></script>
 <script type="text/javascript">
         Page.prototype.submitComment = function(commentId, state) {
             if (!state) {
@@ -28,7 +28,7 @@
 <meta name="revised" content="${blogTitle?html}, ${year}" />
 <meta name="viewport" content="width=device-width, initial-scale=1.0, maximum-scale=2.0, user-scalable=yes" />
 <meta http-equiv="Window-target" content="_top" />
-<link type="text/css" rel="stylesheet" href="${staticServePath}/skins/${skinDirName}/themes/default/style.css?${staticResourceVersion}" charset="utf-8" />
+<link type="text/css" rel="stylesheet" href="${staticServePath}${staticAsset('/skins/${skinDirName}/themes/default/style.css')}" charset="utf-8" />
 <link rel="manifest" href="${servePath}/manifest.json">
 <link rel="search" type="application/opensearchdescription+xml" title="${title}" href="/opensearch.xml">
 <style type="text/css">
@@ -65,9 +65,9 @@ overflow: hidden;
 </style>
 <link href="${servePath}/blog-articles-rss.do" title="RSS" type="application/rss+xml" rel="alternate" />
 <link rel="icon" type="image/png" href="${servePath}/favicon.png" />
-<script type='text/javascript' src='${staticServePath}/skins/${skinDirName}/js/l10n${miniPostfix}.js?${staticResourceVersion}'></script>
+<script type='text/javascript' src='${staticServePath}${staticAsset("/skins/${skinDirName}/js/l10n${miniPostfix}.js")}'></script>
 <script type="text/javascript" src="${staticServePath}/js/lib/jquery/jquery.min.js" charset="utf-8"></script>
-<script type='text/javascript' src='${staticServePath}/skins/${skinDirName}/themes/core/core.js?${staticResourceVersion}'></script>
+<script type='text/javascript' src='${staticServePath}${staticAsset("/skins/${skinDirName}/themes/core/core.js")}'></script>
 <script type="text/javascript">
 	// Hides the addressbar on non-post pages
 	function hideURLbar() { window.scrollTo(0,1); }
@@ -49,8 +49,8 @@
 
 
 <script type="text/javascript" src="${staticServePath}/js/lib/jquery/jquery.min.js" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/js/common${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
-<script type="text/javascript" src="${staticServePath}/skins/${skinDirName}/js/${skinDirName}${miniPostfix}.js?${staticResourceVersion}" charset="utf-8"></script>
+<script type="text/javascript" src="${staticServePath}${staticAsset('/js/common${miniPostfix}.js')}" charset="utf-8"></script>
+<script type="text/javascript" src="${staticServePath}${staticAsset('/skins/${skinDirName}/js/${skinDirName}${miniPostfix}.js')}" charset="utf-8"></script>
 <script type="text/javascript">
     var latkeConfig = {
         "servePath": "${servePath}",